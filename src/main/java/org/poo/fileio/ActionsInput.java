@@ -9,6 +9,7 @@ public final class ActionsInput {
     private int playerIdx;
     private int x;
     private int y;
+    private int timeBudget;
 
     public ActionsInput() {
     }
@@ -77,6 +78,14 @@ public final class ActionsInput {
         this.y = y;
     }
 
+    public int getTimeBudget() {
+        return timeBudget;
+    }
+
+    public void setTimeBudget(final int timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
     @Override
     public String toString() {
         return "ActionsInput{"
@@ -96,6 +105,8 @@ public final class ActionsInput {
                 + x
                 + ", y="
                 + y
+                + ", timeBudget="
+                + timeBudget
                 + '}';
     }
 }
@@ -0,0 +1,38 @@
+package org.poo.fileio;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+/**
+ * Output sink that collects every result node in an in-memory {@link ArrayNode}.
+ */
+public final class ArrayOutputSink implements OutputSink {
+    private final ArrayNode output;
+
+    /**
+     * Constructs a sink appending to the given array.
+     *
+     * @param output the array the nodes are added to
+     */
+    public ArrayOutputSink(final ArrayNode output) {
+        this.output = output;
+    }
+
+    @Override
+    public void add(final JsonNode node) {
+        output.add(node);
+    }
+
+    /**
+     * Gets the array holding the collected nodes.
+     *
+     * @return the output array
+     */
+    public ArrayNode getOutput() {
+        return output;
+    }
+
+    @Override
+    public void close() {
+    }
+}
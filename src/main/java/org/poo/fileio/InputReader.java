@@ -0,0 +1,196 @@
+package org.poo.fileio;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+/**
+ * Streaming reader for input files. Only the decks are kept in memory; games and their
+ * actions are handed out one at a time as the file is parsed, so a file's size does not
+ * bound the heap. The decks are expected before the games, like in every test file; if
+ * a file lists them afterwards, the games are buffered until the decks are read.
+ */
+public final class InputReader implements Closeable {
+    private static final TypeReference<ArrayList<GameInput>> GAMES_TYPE =
+            new TypeReference<>() { };
+    private static final TypeReference<ArrayList<ActionsInput>> ACTIONS_TYPE =
+            new TypeReference<>() { };
+
+    private final JsonParser parser;
+    private DecksInput playerOneDecks;
+    private DecksInput playerTwoDecks;
+
+    private boolean inGames;
+    private boolean inGame;
+    private boolean inActions;
+    private Iterator<GameInput> bufferedGames;
+    private Iterator<ActionsInput> bufferedActions;
+
+    /**
+     * Opens the input file and reads everything up to the first game.
+     *
+     * @param file the input file
+     * @throws IOException in case of exceptions to reading
+     */
+    public InputReader(final File file) throws IOException {
+        parser = new ObjectMapper().createParser(file);
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Input file does not contain an object: " + file);
+        }
+        readHeader();
+    }
+
+    /**
+     * Reads the root fields until the games array is reached, or until the end of the
+     * root object if the decks come after the games.
+     *
+     * @throws IOException in case of exceptions to reading
+     */
+    private void readHeader() throws IOException {
+        ArrayList<GameInput> games = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "playerOneDecks" -> playerOneDecks = parser.readValueAs(DecksInput.class);
+                case "playerTwoDecks" -> playerTwoDecks = parser.readValueAs(DecksInput.class);
+                case "games" -> {
+                    if (playerOneDecks != null && playerTwoDecks != null) {
+                        inGames = true;
+                        return;
+                    }
+                    games = parser.readValueAs(GAMES_TYPE);
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (games != null) {
+            bufferedGames = games.iterator();
+        }
+    }
+
+    /**
+     * Moves to the next game, skipping whatever is left of the current one.
+     *
+     * @return the starting configuration of the next game, or {@code null} if there are
+     *         no games left
+     * @throws IOException in case of exceptions to reading
+     */
+    public StartGameInput nextGame() throws IOException {
+        finishGame();
+
+        if (bufferedGames != null) {
+            if (!bufferedGames.hasNext()) {
+                return null;
+            }
+            GameInput gameInput = bufferedGames.next();
+            bufferedActions = gameInput.getActions() == null ? null
+                    : gameInput.getActions().iterator();
+            return gameInput.getStartGame();
+        }
+
+        if (!inGames) {
+            return null;
+        }
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            inGames = false;
+            return null;
+        }
+
+        inGame = true;
+        StartGameInput startGame = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (field.equals("startGame")) {
+                startGame = parser.readValueAs(StartGameInput.class);
+            } else if (field.equals("actions") && startGame != null
+                    && parser.currentToken() == JsonToken.START_ARRAY) {
+                inActions = true;
+                return startGame;
+            } else if (field.equals("actions")) {
+                ArrayList<ActionsInput> actions = parser.readValueAs(ACTIONS_TYPE);
+                bufferedActions = actions == null ? null : actions.iterator();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        inGame = false;
+        return startGame;
+    }
+
+    /**
+     * Reads the next action of the current game.
+     *
+     * @return the next action, or {@code null} if the current game has no actions left
+     * @throws IOException in case of exceptions to reading
+     */
+    public ActionsInput nextAction() throws IOException {
+        if (bufferedActions != null) {
+            if (bufferedActions.hasNext()) {
+                return bufferedActions.next();
+            }
+            bufferedActions = null;
+            return null;
+        }
+
+        if (!inActions) {
+            return null;
+        }
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            inActions = false;
+            return null;
+        }
+        return parser.readValueAs(ActionsInput.class);
+    }
+
+    /**
+     * Skips the unread actions and the remaining fields of the current game.
+     *
+     * @throws IOException in case of exceptions to reading
+     */
+    private void finishGame() throws IOException {
+        ActionsInput skipped = nextAction();
+        while (skipped != null) {
+            skipped = nextAction();
+        }
+        if (!inGame) {
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        inGame = false;
+    }
+
+    /**
+     * Gets the decks of the first player.
+     *
+     * @return the decks of player one
+     */
+    public DecksInput getPlayerOneDecks() {
+        return playerOneDecks;
+    }
+
+    /**
+     * Gets the decks of the second player.
+     *
+     * @return the decks of player two
+     */
+    public DecksInput getPlayerTwoDecks() {
+        return playerTwoDecks;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,29 @@
+package org.poo.fileio;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination for the result nodes produced by the game. Each command hands its node to
+ * the sink as soon as it finishes; the sink decides whether to keep it in memory or to
+ * write it out right away.
+ */
+public interface OutputSink extends Closeable {
+    /**
+     * Appends a result node to the output.
+     *
+     * @param node the node produced by a command
+     * @throws java.io.UncheckedIOException if the node could not be written
+     */
+    void add(JsonNode node);
+
+    /**
+     * Finishes the output. Nodes may no longer be added afterwards.
+     *
+     * @throws IOException in case of exceptions to writing
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,52 @@
+package org.poo.fileio;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Output sink that writes every result node to a file as soon as it is added, instead of
+ * keeping the whole output in memory. The file is written with the default pretty printer,
+ * so it is byte-identical to serializing the equivalent {@code ArrayNode} at the end.
+ */
+public final class StreamingOutputSink implements OutputSink {
+    private final JsonGenerator generator;
+
+    /**
+     * Opens the output file and writes the start of the result array.
+     *
+     * @param file the output file
+     * @throws IOException in case of exceptions to writing
+     */
+    public StreamingOutputSink(final File file) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        generator = objectMapper.writerWithDefaultPrettyPrinter()
+                .createGenerator(file, JsonEncoding.UTF8);
+        generator.writeStartArray();
+    }
+
+    @Override
+    public void add(final JsonNode node) {
+        try {
+            generator.writeTree(node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            generator.writeEndArray();
+        } finally {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.poo.main;
+
+import org.poo.checker.CheckerConstants;
+import org.poo.main.GameMechanics.ShuffleCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every input file from the tests directory through {@link Main#action(String, String)}
+ * on a bounded pool of worker threads. Each file is still processed by its own
+ * {@link Game} instance, so the written output is identical to the sequential run.
+ */
+public final class BatchRunner {
+    private static final double MILLIS_PER_SECOND = 1000.0;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final int GAMES_IN_FLIGHT_PER_WORKER = 2;
+
+    private final int workers;
+    private final int maxInFlight;
+    private final int gameWorkers;
+
+    /**
+     * Constructs a {@code BatchRunner} with the given pool configuration.
+     *
+     * @param workers     the number of worker threads used to process files
+     * @param maxInFlight the maximum number of files submitted but not yet finished
+     * @param gameWorkers the number of threads playing the games inside a file, or
+     *                    {@code 0} to play them sequentially
+     */
+    public BatchRunner(final int workers, final int maxInFlight, final int gameWorkers) {
+        if (workers < 1 || maxInFlight < 1 || gameWorkers < 0) {
+            throw new IllegalArgumentException("Invalid batch pool configuration");
+        }
+        this.workers = workers;
+        this.maxInFlight = maxInFlight;
+        this.gameWorkers = gameWorkers;
+    }
+
+    /**
+     * Entry point for the batch mode.
+     * Usage: {@code BatchRunner [workers] [maxInFlight] [gameWorkers]}. The worker count
+     * defaults to the number of available processors, the in-flight cap defaults to twice
+     * the workers and the games inside a file are played sequentially unless
+     * {@code gameWorkers} is given, in which case each file plays at most twice the game
+     * workers ahead of its written output.
+     *
+     * @param args from command line
+     * @throws IOException if any file failed, so the process exits with a non-zero status
+     */
+    public static void main(final String[] args) throws IOException {
+        int workers = args.length > 0 ? Integer.parseInt(args[0])
+                : Runtime.getRuntime().availableProcessors();
+        int maxInFlight = args.length > 1 ? Integer.parseInt(args[1]) : 2 * workers;
+        int gameWorkers = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+        new BatchRunner(workers, maxInFlight, gameWorkers).run();
+    }
+
+    /**
+     * Recreates the result directory, processes every input file in parallel and
+     * prints the total wall time and throughput once all files are done.
+     *
+     * @return the number of files that were processed
+     * @throws IOException if any of the files could not be read, written or played; the
+     *                     other files are still processed and each failure is attached
+     *                     as a suppressed exception
+     */
+    public int run() throws IOException {
+        File directory = new File(CheckerConstants.TESTS_PATH);
+        Path path = Paths.get(CheckerConstants.RESULT_PATH);
+
+        if (Files.exists(path)) {
+            File resultFile = new File(String.valueOf(path));
+            for (File file : Objects.requireNonNull(resultFile.listFiles())) {
+                file.delete();
+            }
+            resultFile.delete();
+        }
+        Files.createDirectories(path);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        ExecutorService gamePool = gameWorkers > 0
+                ? Executors.newFixedThreadPool(gameWorkers) : null;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Queue<Exception> failures = new ConcurrentLinkedQueue<>();
+        AtomicInteger processed = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try {
+            for (File file : Objects.requireNonNull(directory.listFiles())) {
+                String filepath = CheckerConstants.OUT_PATH + file.getName();
+                if (!new File(filepath).createNewFile()) {
+                    continue;
+                }
+
+                inFlight.acquireUninterruptibly();
+                pool.execute(() -> {
+                    try {
+                        if (gamePool == null) {
+                            Main.action(file.getName(), filepath);
+                        } else {
+                            Main.action(file.getName(), filepath, gamePool,
+                                    GAMES_IN_FLIGHT_PER_WORKER * gameWorkers);
+                        }
+                        processed.incrementAndGet();
+                    } catch (IOException | RuntimeException e) {
+                        failures.add(new IOException("Could not process " + file.getName(), e));
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            pool.shutdown();
+            awaitPool(pool);
+            if (gamePool != null) {
+                gamePool.shutdown();
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - start) / NANOS_PER_MILLI;
+
+        int files = processed.get();
+        double filesPerSecond = elapsedMillis == 0 ? files
+                : files * MILLIS_PER_SECOND / elapsedMillis;
+        System.out.printf("Processed %d files in %d ms (%.1f files/s) using %d workers%n",
+                files, elapsedMillis, filesPerSecond, workers);
+        System.out.printf("Shuffle cache: %d hits, %d misses%n",
+                ShuffleCache.getHits(), ShuffleCache.getMisses());
+
+        if (!failures.isEmpty()) {
+            IOException failure = new IOException("Input files that failed: " + failures.size());
+            for (Exception cause : failures) {
+                failure.addSuppressed(cause);
+            }
+            throw failure;
+        }
+        return files;
+    }
+
+    /**
+     * Blocks until every submitted file has been processed.
+     *
+     * @param pool the already shut down worker pool
+     */
+    private static void awaitPool(final ExecutorService pool) {
+        boolean interrupted = false;
+        while (!pool.isTerminated()) {
+            try {
+                pool.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,52 +5,44 @@ import java.util.List;
 /**
  * Represents a card with various attributes such as name, mana cost, attack damage,
  * health points, description, and colors. This class is used in card-based games to
- * encapsulate the properties of a single card.
+ * encapsulate the properties of a single card. The static data is shared through a
+ * {@link CardDefinition}; a card only holds its current attack damage and health points.
  */
 public class Card {
-    private String name;
-    private int manaCost;
+    private final CardDefinition definition;
     private int attackDamage;
     private int healthPoints;
-    private String description;
-    private List<String> colors;
 
     /**
-     * Constructs a new {@code Card} instance with the specified attributes.
+     * Constructs a new {@code Card} instance of the given type.
      *
-     * @param name         the name of the card
-     * @param manaCost     the mana cost required to use the card
+     * @param definition   the shared static data of the card
      * @param attackDamage the attack damage value of the card
      * @param healthPoints the health points of the card
-     * @param description  the description or lore of the card
-     * @param colors       a list of colors associated with the card
      */
-    public Card(final String name, final int manaCost, final int attackDamage,
-                final int healthPoints, final String description, final List<String> colors) {
-        this.name = name;
-        this.manaCost = manaCost;
+    public Card(final CardDefinition definition, final int attackDamage,
+                final int healthPoints) {
+        this.definition = definition;
         this.attackDamage = attackDamage;
         this.healthPoints = healthPoints;
-        this.description = description;
-        this.colors = colors;
     }
 
     /**
-     * Gets the name of the card.
+     * Gets the shared static data of the card.
      *
-     * @return the name of the card
+     * @return the definition of the card
      */
-    public String getName() {
-        return name;
+    public CardDefinition getDefinition() {
+        return definition;
     }
 
     /**
-     * Sets the name of the card.
+     * Gets the name of the card.
      *
-     * @param name the new name of the card
+     * @return the name of the card
      */
-    public void setName(final String name) {
-        this.name = name;
+    public String getName() {
+        return getDefinition().getName();
     }
 
     /**
@@ -59,16 +51,7 @@ public class Card {
      * @return the mana cost of the card
      */
     public int getManaCost() {
-        return manaCost;
-    }
-
-    /**
-     * Sets the mana cost of the card.
-     *
-     * @param manaCost the new mana cost of the card
-     */
-    public void setManaCost(final int manaCost) {
-        this.manaCost = manaCost;
+        return getDefinition().getManaCost();
     }
 
     /**
@@ -113,16 +96,7 @@ public class Card {
      * @return the description of the card
      */
     public String getDescription() {
-        return description;
-    }
-
-    /**
-     * Sets the description or lore of the card.
-     *
-     * @param description the new description of the card
-     */
-    public void setDescription(final String description) {
-        this.description = description;
+        return getDefinition().getDescription();
     }
 
     /**
@@ -131,15 +105,6 @@ public class Card {
      * @return the list of colors associated with the card
      */
     public List<String> getColors() {
-        return colors;
-    }
-
-    /**
-     * Sets the list of colors associated with the card.
-     *
-     * @param colors the new list of colors associated with the card
-     */
-    public void setColors(final List<String> colors) {
-        this.colors = colors;
+        return getDefinition().getColors();
     }
 }
@@ -0,0 +1,138 @@
+package org.poo.main.Cards;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The table of every card of the game and its special traits: tanks, druids and cards
+ * with an ability. It is the only place that knows card names; a new card only needs a
+ * line here. Cards missing from the table are plain minions.
+ *
+ * <p>Each card of the table also has an index, its position in the names of the table
+ * sorted, so a card can be encoded the same way in every run whatever order the cards
+ * are first seen in.</p>
+ */
+public final class CardCatalog {
+    private static final Entry PLAIN = new Entry(false, false, null, null);
+
+    private static final Map<String, Entry> ENTRIES = Map.ofEntries(
+            Map.entry("Sentinel", PLAIN),
+            Map.entry("Berserker", PLAIN),
+            Map.entry("Goliath", new Entry(true, false, null, null)),
+            Map.entry("Warden", new Entry(true, false, null, null)),
+            Map.entry("The Ripper", new Entry(false, true, MinionEffect.WEAK_KNEES, null)),
+            Map.entry("Miraj", new Entry(false, true, MinionEffect.SKYJACK, null)),
+            Map.entry("The Cursed One", new Entry(false, false, MinionEffect.SHAPESHIFT, null)),
+            Map.entry("Disciple", new Entry(false, false, MinionEffect.GODS_PLAN, null)),
+            Map.entry("Lord Royce", new Entry(false, false, null, HeroEffect.SUB_ZERO)),
+            Map.entry("Empress Thorina", new Entry(false, false, null, HeroEffect.LOW_BLOW)),
+            Map.entry("King Mudface", new Entry(false, false, null, HeroEffect.EARTH_BORN)),
+            Map.entry("General Kocioraw",
+                    new Entry(false, false, null, HeroEffect.BLOOD_THIRST)));
+
+    private static final Map<String, Integer> INDICES = indexNames();
+
+    private CardCatalog() {
+        throw new UnsupportedOperationException("This class is static");
+    }
+
+    /**
+     * Looks up the traits of a card.
+     *
+     * @param name the name of the card
+     * @return the entry of the card, never {@code null}
+     */
+    public static Entry lookup(final String name) {
+        return ENTRIES.getOrDefault(name, PLAIN);
+    }
+
+    /**
+     * Gets the stable index of a card: the position of its name in the sorted names of
+     * the table.
+     *
+     * @param name the name of the card
+     * @return the index, from 0 to {@link #size()} - 1, or {@link #size()} for every card
+     *         missing from the table
+     */
+    public static int indexOf(final String name) {
+        return INDICES.getOrDefault(name, ENTRIES.size());
+    }
+
+    /**
+     * Gets the number of cards in the table.
+     *
+     * @return the number of names with an index of their own
+     */
+    public static int size() {
+        return ENTRIES.size();
+    }
+
+    /**
+     * Numbers the names of the table in sorted order.
+     *
+     * @return the index of every name
+     */
+    private static Map<String, Integer> indexNames() {
+        List<String> names = ENTRIES.keySet().stream().sorted().toList();
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            indices.put(names.get(i), i);
+        }
+        return Map.copyOf(indices);
+    }
+
+    /**
+     * The traits of a single card.
+     */
+    public static final class Entry {
+        private final boolean isTank;
+        private final boolean isDruid;
+        private final MinionEffect minionEffect;
+        private final HeroEffect heroEffect;
+
+        Entry(final boolean isTank, final boolean isDruid, final MinionEffect minionEffect,
+              final HeroEffect heroEffect) {
+            this.isTank = isTank;
+            this.isDruid = isDruid;
+            this.minionEffect = minionEffect;
+            this.heroEffect = heroEffect;
+        }
+
+        /**
+         * Checks if the card is a tank.
+         *
+         * @return {@code true} if the card is a tank; {@code false} otherwise
+         */
+        public boolean isTank() {
+            return isTank;
+        }
+
+        /**
+         * Checks if the card is a druid.
+         *
+         * @return {@code true} if the card is a druid; {@code false} otherwise
+         */
+        public boolean isDruid() {
+            return isDruid;
+        }
+
+        /**
+         * Gets the ability of the card as a minion.
+         *
+         * @return the minion ability, or {@code null} if the card has none
+         */
+        public MinionEffect getMinionEffect() {
+            return minionEffect;
+        }
+
+        /**
+         * Gets the ability of the card as a hero.
+         *
+         * @return the hero ability, or {@code null} if the card has none
+         */
+        public HeroEffect getHeroEffect() {
+            return heroEffect;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package org.poo.main.Cards;
+
+import org.poo.fileio.CardInput;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the static data of a card type: its name, base stats, description, colors, the
+ * tank and druid flags and its ability, linked from the {@link CardCatalog}. Definitions
+ * are immutable and interned, so every {@link Card} of the same type, in every game,
+ * shares a single instance and only keeps its own mutable state.
+ */
+public final class CardDefinition {
+    private static final Map<String, CardDefinition> BY_NAME = new ConcurrentHashMap<>();
+    private static final Map<CardDefinition, CardDefinition> VARIANTS =
+            new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final int INITIAL_BY_ID_CAPACITY = 64;
+    private static final Object REGISTER_LOCK = new Object();
+
+    /**
+     * The interned definitions indexed by id. Only replaced under {@link #REGISTER_LOCK},
+     * and written again after every registration, so a reader that sees an id in the
+     * table also sees its definition.
+     */
+    private static volatile CardDefinition[] byIdTable =
+            new CardDefinition[INITIAL_BY_ID_CAPACITY];
+
+    private final int id;
+    private final int catalogIndex;
+    private final String name;
+    private final int manaCost;
+    private final int attackDamage;
+    private final int healthPoints;
+    private final String description;
+    private final List<String> colors;
+    private final boolean isTank;
+    private final boolean isDruid;
+    private final MinionEffect minionEffect;
+    private final HeroEffect heroEffect;
+
+    private CardDefinition(final int id, final String name, final int manaCost,
+                           final int attackDamage, final int healthPoints,
+                           final String description, final List<String> colors) {
+        this.id = id;
+        this.name = name;
+        this.manaCost = manaCost;
+        this.attackDamage = attackDamage;
+        this.healthPoints = healthPoints;
+        this.description = description;
+        this.colors = colors == null ? List.of() : List.copyOf(colors);
+
+        catalogIndex = CardCatalog.indexOf(name);
+        CardCatalog.Entry entry = CardCatalog.lookup(name);
+        isTank = entry.isTank();
+        isDruid = entry.isDruid();
+        minionEffect = entry.getMinionEffect();
+        heroEffect = entry.getHeroEffect();
+    }
+
+    /**
+     * Gets the shared definition of the card described by the input.
+     *
+     * @param cardInput the card as read from the input
+     * @return the interned definition
+     */
+    public static CardDefinition of(final CardInput cardInput) {
+        return of(cardInput.getName(), cardInput.getMana(), cardInput.getAttackDamage(),
+                cardInput.getHealth(), cardInput.getDescription(), cardInput.getColors());
+    }
+
+    /**
+     * Gets the shared definition of a card type, creating it on first use.
+     * Definitions are interned by name; a card that reuses a known name with different
+     * static data gets its own definition.
+     *
+     * @param name         the name of the card
+     * @param manaCost     the mana cost of the card
+     * @param attackDamage the base attack damage of the card
+     * @param healthPoints the base health points of the card
+     * @param description  the description or lore of the card
+     * @param colors       the colors associated with the card
+     * @return the interned definition
+     */
+    public static CardDefinition of(final String name, final int manaCost,
+                                    final int attackDamage, final int healthPoints,
+                                    final String description, final List<String> colors) {
+        CardDefinition known = BY_NAME.get(name);
+        if (known != null && known.matches(manaCost, attackDamage, healthPoints,
+                description, colors)) {
+            return known;
+        }
+
+        CardDefinition candidate = new CardDefinition(-1, name, manaCost, attackDamage,
+                healthPoints, description, colors);
+        CardDefinition interned = VARIANTS.computeIfAbsent(candidate,
+                key -> register(key.withId(NEXT_ID.getAndIncrement())));
+        if (known == null) {
+            BY_NAME.putIfAbsent(name, interned);
+        }
+        return interned;
+    }
+
+    /**
+     * Finds the interned definition of the card described by the input, without interning
+     * it if it is new, so looking up untrusted cards cannot grow the tables of definitions.
+     *
+     * @param cardInput the card as read from the input
+     * @return the interned definition, or {@code null} if no card has been interned with
+     *         that static data
+     */
+    public static CardDefinition find(final CardInput cardInput) {
+        String name = cardInput.getName();
+        if (name == null) {
+            return null;
+        }
+        CardDefinition known = BY_NAME.get(name);
+        if (known != null && known.matches(cardInput.getMana(), cardInput.getAttackDamage(),
+                cardInput.getHealth(), cardInput.getDescription(), cardInput.getColors())) {
+            return known;
+        }
+        return VARIANTS.get(new CardDefinition(-1, name, cardInput.getMana(),
+                cardInput.getAttackDamage(), cardInput.getHealth(),
+                cardInput.getDescription(), cardInput.getColors()));
+    }
+
+    /**
+     * Gets an interned definition by its identifier.
+     *
+     * @param id the identifier of the definition
+     * @return the definition
+     * @throws IllegalArgumentException if no definition has that identifier
+     */
+    public static CardDefinition byId(final int id) {
+        CardDefinition[] table = byIdTable;
+        CardDefinition definition = id >= 0 && id < table.length ? table[id] : null;
+        if (definition == null) {
+            throw new IllegalArgumentException("Unknown card definition " + id);
+        }
+        return definition;
+    }
+
+    /**
+     * Makes an interned definition reachable by its identifier.
+     *
+     * @param definition the interned definition
+     * @return the definition
+     */
+    private static CardDefinition register(final CardDefinition definition) {
+        synchronized (REGISTER_LOCK) {
+            CardDefinition[] table = byIdTable;
+            if (definition.id >= table.length) {
+                table = Arrays.copyOf(table, Math.max(2 * table.length, definition.id + 1));
+            }
+            table[definition.id] = definition;
+            byIdTable = table;
+        }
+        return definition;
+    }
+
+    /**
+     * Copies this definition with its final identifier.
+     *
+     * @param newId the identifier of the interned definition
+     * @return the copy
+     */
+    private CardDefinition withId(final int newId) {
+        return new CardDefinition(newId, name.intern(), manaCost, attackDamage, healthPoints,
+                description == null ? null : description.intern(), colors);
+    }
+
+    /**
+     * Checks if this definition holds the given static data.
+     */
+    private boolean matches(final int otherManaCost, final int otherAttackDamage,
+                            final int otherHealthPoints, final String otherDescription,
+                            final List<String> otherColors) {
+        return manaCost == otherManaCost
+                && attackDamage == otherAttackDamage
+                && healthPoints == otherHealthPoints
+                && Objects.equals(description, otherDescription)
+                && colors.equals(otherColors == null ? List.of() : otherColors);
+    }
+
+    /**
+     * Gets the identifier of the definition, unique for the lifetime of the process.
+     *
+     * @return the definition identifier
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the index of the card in the {@link CardCatalog}, the same in every run. Cards
+     * that only differ in their static data share it.
+     *
+     * @return the catalog index
+     */
+    public int getCatalogIndex() {
+        return catalogIndex;
+    }
+
+    /**
+     * Gets the name of the card.
+     *
+     * @return the name of the card
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the mana cost of the card.
+     *
+     * @return the mana cost of the card
+     */
+    public int getManaCost() {
+        return manaCost;
+    }
+
+    /**
+     * Gets the attack damage the card starts with.
+     *
+     * @return the base attack damage
+     */
+    public int getAttackDamage() {
+        return attackDamage;
+    }
+
+    /**
+     * Gets the health points the card starts with.
+     *
+     * @return the base health points
+     */
+    public int getHealthPoints() {
+        return healthPoints;
+    }
+
+    /**
+     * Gets the description or lore of the card.
+     *
+     * @return the description of the card
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the colors associated with the card.
+     *
+     * @return an unmodifiable list of colors
+     */
+    public List<String> getColors() {
+        return colors;
+    }
+
+    /**
+     * Checks if cards of this type are tanks.
+     *
+     * @return {@code true} if the card is a tank; {@code false} otherwise
+     */
+    public boolean isTank() {
+        return isTank;
+    }
+
+    /**
+     * Checks if cards of this type are druids.
+     *
+     * @return {@code true} if the card is a druid; {@code false} otherwise
+     */
+    public boolean isDruid() {
+        return isDruid;
+    }
+
+    /**
+     * Gets the ability of the card when played as a minion.
+     *
+     * @return the minion ability, or {@code null} if the card has none
+     */
+    public MinionEffect getMinionEffect() {
+        return minionEffect;
+    }
+
+    /**
+     * Gets the ability of the card when played as a hero.
+     *
+     * @return the hero ability, or {@code null} if the card has none
+     */
+    public HeroEffect getHeroEffect() {
+        return heroEffect;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CardDefinition other)) {
+            return false;
+        }
+        return name.equals(other.name)
+                && other.matches(manaCost, attackDamage, healthPoints, description, colors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, manaCost, attackDamage, healthPoints, description, colors);
+    }
+}
@@ -1,92 +1,96 @@
 package org.poo.main.Cards;
 
 import org.poo.main.GameMechanics.Board;
-
-import java.util.List;
+import org.poo.main.GameMechanics.Journal;
+import org.poo.main.GameMechanics.Journaled;
+import org.poo.main.GameMechanics.Zobrist;
 
 /**
  * Represents a hero card in a card-based game. Heroes extend the {@link Card} class
  * and possess unique abilities that can impact the board state or other cards.
  * This class includes functionality for setting and using hero abilities, as well as
  * tracking whether the hero has attacked during a turn.
+ * Changes to the health and to the attack state are recorded in the game's {@link Journal}.
  */
-public class Hero extends Card {
-    private int ability;
+public class Hero extends Card implements Journaled {
+    private static final int HEALTH = 0;
+    private static final int HAS_ATTACKED = 1;
+
     private boolean hasAttacked;
+    private final Journal journal;
+
+    /**
+     * Constructs a {@code Hero} instance of the given type.
+     * The hero's ability comes from the shared definition.
+     *
+     * @param definition   the shared static data of the hero
+     * @param healthPoints the health points of the hero
+     */
+    public Hero(final CardDefinition definition, final int healthPoints) {
+        this(definition, healthPoints, new Journal());
+    }
 
     /**
-     * Constructs a {@code Hero} instance with the specified attributes.
-     * The hero's ability is determined based on their name.
+     * Constructs a {@code Hero} instance of the given type, recording its changes in the
+     * given journal.
      *
-     * @param name         the name of the hero
-     * @param manaCost     the mana cost required to use the hero
+     * @param definition   the shared static data of the hero
      * @param healthPoints the health points of the hero
-     * @param description  the description or lore of the hero
-     * @param colors       a list of colors associated with the hero
+     * @param journal      the journal of the game the hero belongs to
      */
-    public Hero(final String name, final int manaCost, final int healthPoints,
-                final String description, final List<String> colors) {
-        super(name, manaCost, 0, healthPoints, description, colors);
-        setAbility(name);
+    public Hero(final CardDefinition definition, final int healthPoints,
+                final Journal journal) {
+        super(definition, 0, healthPoints);
         hasAttacked = false;
+        this.journal = journal;
     }
 
     /**
-     * Assigns an ability to the hero based on their name.
+     * Constructs a copy of a hero, recording its changes in the given journal.
      *
-     * @param name the name of the hero
+     * @param other   the hero to copy
+     * @param journal the journal of the game the copy belongs to
      */
-    private void setAbility(final String name) {
-        switch (name) {
-            case "Lord Royce":
-                this.ability = MagicNumbers.LORD_ROYCE_ID;
-                break;
-            case "Empress Thorina":
-                this.ability = MagicNumbers.EMP_THORINA_ID;
-                break;
-            case "King Mudface":
-                this.ability = MagicNumbers.KING_MUDFACE_ID;
-                break;
-            case "General Kocioraw":
-                this.ability = MagicNumbers.GEN_KOCIRAW_ID;
-                break;
-            default:
-                break;
-        }
+    public Hero(final Hero other, final Journal journal) {
+        this(other.getDefinition(), other.getHealthPoints(), journal);
+        hasAttacked = other.hasAttacked;
+    }
+
+    /**
+     * Sets the health points of the hero.
+     *
+     * @param healthPoints the new health points of the hero
+     */
+    @Override
+    public void setHealthPoints(final int healthPoints) {
+        journal.record(this, HEALTH, getHealthPoints(), 0, 0, null);
+        super.setHealthPoints(healthPoints);
     }
 
     /**
      * Uses the hero's ability on a specific row of minions.
-     * The effect of the ability depends on the hero's type:
-     * <ul>
-     *     <li>Lord Royce freezes all cards in the row.</li>
-     *     <li>Empress Thorina destroys the card with the highest health in the row.</li>
-     *     <li>King Mudface boosts the health of all cards in the row.</li>
-     *     <li>General Kocioraw boosts the attack of all cards in the row.</li>
-     * </ul>
+     * Heroes without an ability leave the row untouched.
      *
      * @param board       the board where the ability is applied
-     * @param affectedRow the row of minions affected by the ability
+     * @param affectedRow the index of the row affected by the ability
      */
-    public void useAbility(final Board board, final Minion[] affectedRow) {
-        switch (ability) {
-            case MagicNumbers.LORD_ROYCE_ID:
-                board.freezeAllCards(affectedRow);
-                break;
-            case MagicNumbers.EMP_THORINA_ID:
-                board.destroyHighestHealthCard(affectedRow);
-                break;
-            case MagicNumbers.KING_MUDFACE_ID:
-                board.boostHealth(affectedRow);
-                break;
-            case MagicNumbers.GEN_KOCIRAW_ID:
-                board.boostAttack(affectedRow);
-                break;
-            default:
-                break;
+    public void useAbility(final Board board, final int affectedRow) {
+        HeroEffect effect = getEffect();
+        if (effect != null) {
+            effect.apply(board, affectedRow);
         }
     }
 
+    /**
+     * Gets the ability of the hero.
+     *
+     * @return the ability shared by all heroes of this type, or {@code null} if the hero
+     *         has none
+     */
+    public HeroEffect getEffect() {
+        return getDefinition().getHeroEffect();
+    }
+
     /**
      * Checks if the hero has attacked during the current turn.
      *
@@ -102,6 +106,32 @@ public class Hero extends Card {
      * @param hasAttacked {@code true} if the hero has attacked; {@code false} otherwise
      */
     public void setHasAttacked(final boolean hasAttacked) {
+        journal.record(this, HAS_ATTACKED, this.hasAttacked ? 1 : 0, 0, 0, null);
         this.hasAttacked = hasAttacked;
     }
+
+    /**
+     * Gets the part of the game's Zobrist hash that covers the hero. The hero only has
+     * three features, so the keys are combined when asked for.
+     *
+     * @return the hash of the type, health and attack state of the hero
+     */
+    public long getHash() {
+        return Zobrist.key(Zobrist.HERO_TYPE, 0, getDefinition().getId())
+                ^ Zobrist.key(Zobrist.HERO_HEALTH, 0, getHealthPoints())
+                ^ Zobrist.key(Zobrist.HERO_ATTACKED, 0, hasAttacked ? 1 : 0);
+    }
+
+    /**
+     * Reverts a change recorded by this hero.
+     */
+    @Override
+    public void undo(final int kind, final int first, final int second, final int third,
+                     final Object object) {
+        switch (kind) {
+            case HEALTH -> super.setHealthPoints(first);
+            case HAS_ATTACKED -> hasAttacked = first != 0;
+            default -> { }
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package org.poo.main.Cards;
+
+import org.poo.main.GameMechanics.Board;
+
+/**
+ * The ability of a hero, described as data. A hero ability acts on a whole row, either
+ * an allied or an enemy one, and is a combination of freezing the row, destroying its
+ * healthiest minion and boosting the health or the attack of every minion on it.
+ * Abilities are built once, when the {@link CardCatalog} is loaded, and linked from the
+ * definition of every hero that has them.
+ */
+public final class HeroEffect {
+    /**
+     * "Sub-Zero": freezes every minion on an enemy row.
+     */
+    public static final HeroEffect SUB_ZERO = new HeroEffect(false, true, false, false, false);
+    /**
+     * "Low Blow": destroys the minion with the most health on an enemy row.
+     */
+    public static final HeroEffect LOW_BLOW = new HeroEffect(false, false, true, false, false);
+    /**
+     * "Earth Born": increases the health of every minion on an allied row by 1.
+     */
+    public static final HeroEffect EARTH_BORN = new HeroEffect(true, false, false, true, false);
+    /**
+     * "Blood Thirst": increases the attack of every minion on an allied row by 1.
+     */
+    public static final HeroEffect BLOOD_THIRST =
+            new HeroEffect(true, false, false, false, true);
+
+    private final boolean targetsAllies;
+    private final boolean freezes;
+    private final boolean destroysHealthiest;
+    private final boolean boostsHealth;
+    private final boolean boostsAttack;
+
+    /**
+     * Constructs a {@code HeroEffect} out of its steps.
+     *
+     * @param targetsAllies      {@code true} if the ability is cast on allied rows
+     * @param freezes            {@code true} if every minion on the row gets frozen
+     * @param destroysHealthiest {@code true} if the minion with the most health is destroyed
+     * @param boostsHealth       {@code true} if every minion on the row gains 1 health
+     * @param boostsAttack       {@code true} if every minion on the row gains 1 attack
+     */
+    public HeroEffect(final boolean targetsAllies, final boolean freezes,
+                      final boolean destroysHealthiest, final boolean boostsHealth,
+                      final boolean boostsAttack) {
+        this.targetsAllies = targetsAllies;
+        this.freezes = freezes;
+        this.destroysHealthiest = destroysHealthiest;
+        this.boostsHealth = boostsHealth;
+        this.boostsAttack = boostsAttack;
+    }
+
+    /**
+     * Applies the ability on a row of the board.
+     *
+     * @param board       the board where the ability is applied
+     * @param affectedRow the index of the row affected by the ability
+     */
+    public void apply(final Board board, final int affectedRow) {
+        if (freezes) {
+            board.freezeAllCards(affectedRow);
+        }
+        if (destroysHealthiest) {
+            board.destroyHighestHealthCard(affectedRow);
+        }
+        if (boostsHealth) {
+            board.boostHealth(affectedRow);
+        }
+        if (boostsAttack) {
+            board.boostAttack(affectedRow);
+        }
+    }
+
+    /**
+     * Checks if the ability is cast on allied rows rather than on enemy ones.
+     *
+     * @return {@code true} if the ability targets allies; {@code false} otherwise
+     */
+    public boolean targetsAllies() {
+        return targetsAllies;
+    }
+}
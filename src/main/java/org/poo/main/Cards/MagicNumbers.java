@@ -5,10 +5,6 @@ public final class MagicNumbers {
     public static final int TABLE_ROWS = 4;
     public static final int MAX_MANA = 10;
 
-    public static final int LORD_ROYCE_ID = 1;
-    public static final int EMP_THORINA_ID = 2;
-    public static final int KING_MUDFACE_ID = 3;
-    public static final int GEN_KOCIRAW_ID = 4;
     public static final int STARTING_HELO_HP = 30;
 
     public static final int BACK_ROW_1_ID = 0;
@@ -1,99 +1,45 @@
 package org.poo.main.Cards;
 
-import java.util.List;
-import java.util.Objects;
-
 /**
  * Represents a minion card in a card-based game. Minions extend the {@link Card} class
  * and include additional attributes and abilities unique to minion cards.
- * This class provides functionality for specific minion abilities,
- * as well as states like being frozen, attacked, or tank/druid classification.
+ * This class tracks states like being frozen or attacked; the tank/druid classification
+ * and the ability come from the shared definition.
  */
 public class Minion extends Card {
     private boolean isFrozen;
     private boolean isAttacked;
     private boolean hasAttacked;
-    private boolean isTank;
-    private boolean isDruid;
 
     /**
-     * Constructs a {@code Minion} instance with the specified attributes.
-     * Certain attributes like tank or druid status are determined based on the minion's name.
+     * Constructs a {@code Minion} instance of the given type, with its base stats.
+     * Attributes like tank or druid status and the ability come from the shared definition.
      *
-     * @param name         the name of the minion
-     * @param manaCost     the mana cost required to use the minion
-     * @param attackDamage the attack damage of the minion
-     * @param healthPoints the health points of the minion
-     * @param description  the description or lore of the minion
-     * @param colors       a list of colors associated with the minion
+     * @param definition the shared static data of the minion
      */
-    public Minion(final String name, final int manaCost, final int attackDamage,
-                  final int healthPoints, final String description, final List<String> colors) {
-        super(name, manaCost, attackDamage, healthPoints, description, colors);
+    public Minion(final CardDefinition definition) {
+        super(definition, definition.getAttackDamage(), definition.getHealthPoints());
         isFrozen = false;
         isAttacked = false;
         hasAttacked = false;
-
-        isTank = name.equals("Goliath") || name.equals("Warden");
-        isDruid = name.equals("The Ripper") || name.equals("Miraj");
-    }
-
-    /**
-     * Reduces the attack damage of the target minion by 2.
-     * This ability is only available to minions named "The Ripper."
-     *
-     * @param target the target minion whose attack damage is to be reduced
-     */
-    public void weakKnees(final Minion target) {
-        if (Objects.equals(this.getName(), "The Ripper")) {
-            int newAttack = Math.max(0, target.getAttackDamage() - 2);
-            target.setAttackDamage(newAttack);
-        }
     }
 
     /**
-     * Swaps health points between this minion and the target minion.
-     * This ability is only available to minions named "Miraj."
-     *
-     * @param target the target minion to swap health with
+     * Constructs a {@code Minion} whose type and state are kept elsewhere, such as a slot
+     * of the board. Subclasses override every accessor.
      */
-    public void skyjack(final Minion target) {
-        if (Objects.equals(this.getName(), "Miraj")) {
-            int tempHealth = this.getHealthPoints();
-            this.setHealthPoints(target.getHealthPoints());
-            target.setHealthPoints(tempHealth);
-        }
-    }
-
-    /**
-     * Swaps the attack damage and health points of the target minion.
-     * If the resulting attack damage is 0, the target's health points are set to 0.
-     * This ability is only available to minions named "The Cursed One."
-     *
-     * @param target the target minion to transform
-     */
-    public void shapeshift(final Minion target) {
-        if (Objects.equals(this.getName(), "The Cursed One")) {
-            int tempAttack = target.getAttackDamage();
-            target.setAttackDamage(target.getHealthPoints());
-            target.setHealthPoints(tempAttack);
-
-            if (target.getAttackDamage() == 0) {
-                target.setHealthPoints(0);
-            }
-        }
+    protected Minion() {
+        super(null, 0, 0);
     }
 
     /**
-     * Increases the health points of the target minion by 2.
-     * This ability is only available to minions named "Disciple."
+     * Gets the ability of the minion.
      *
-     * @param target the target minion to heal
+     * @return the ability shared by all minions of this type, or {@code null} if the
+     *         minion has none
      */
-    public void godsPlan(final Minion target) {
-        if (Objects.equals(this.getName(), "Disciple")) {
-            target.setHealthPoints(target.getHealthPoints() + 2);
-        }
+    public MinionEffect getEffect() {
+        return getDefinition().getMinionEffect();
     }
 
     /**
@@ -156,7 +102,7 @@ public class Minion extends Card {
      * @return {@code true} if the minion is a tank; {@code false} otherwise
      */
     public boolean getTank() {
-        return isTank;
+        return getDefinition().isTank();
     }
 
     /**
@@ -165,7 +111,7 @@ public class Minion extends Card {
      * @return {@code true} if the minion is a druid; {@code false} otherwise
      */
     public boolean getDruid() {
-        return isDruid;
+        return getDefinition().isDruid();
     }
 
 }
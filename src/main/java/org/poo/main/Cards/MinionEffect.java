@@ -0,0 +1,91 @@
+package org.poo.main.Cards;
+
+/**
+ * The ability of a minion, described as data. Every ability is a combination of the same
+ * few steps, applied in order to the target: change its attack, change its health, swap
+ * its health with the caster's and swap its own attack and health. Abilities are
+ * built once, when the {@link CardCatalog} is loaded, and linked from the definition of
+ * every card that has them.
+ */
+public final class MinionEffect {
+    /**
+     * "Weak Knees": reduces the attack damage of an enemy minion by 2.
+     */
+    public static final MinionEffect WEAK_KNEES = new MinionEffect(false, -2, 0, false, false);
+    /**
+     * "Skyjack": swaps the health points of the caster and of an enemy minion.
+     */
+    public static final MinionEffect SKYJACK = new MinionEffect(false, 0, 0, true, false);
+    /**
+     * "Shapeshift": swaps the attack damage and the health points of an enemy minion.
+     */
+    public static final MinionEffect SHAPESHIFT = new MinionEffect(false, 0, 0, false, true);
+    /**
+     * "God's Plan": increases the health points of an allied minion by 2.
+     */
+    public static final MinionEffect GODS_PLAN = new MinionEffect(true, 0, 2, false, false);
+
+    private final boolean targetsAllies;
+    private final int attackDelta;
+    private final int healthDelta;
+    private final boolean swapsHealth;
+    private final boolean swapsStats;
+
+    /**
+     * Constructs a {@code MinionEffect} out of its steps.
+     *
+     * @param targetsAllies {@code true} if the ability is cast on allied minions
+     * @param attackDelta   the change of the target's attack damage, never below 0
+     * @param healthDelta   the change of the target's health points
+     * @param swapsHealth   {@code true} if the caster and the target swap health points
+     * @param swapsStats    {@code true} if the target swaps its attack damage and health
+     *                      points; a target left without attack damage dies
+     */
+    public MinionEffect(final boolean targetsAllies, final int attackDelta,
+                        final int healthDelta, final boolean swapsHealth,
+                        final boolean swapsStats) {
+        this.targetsAllies = targetsAllies;
+        this.attackDelta = attackDelta;
+        this.healthDelta = healthDelta;
+        this.swapsHealth = swapsHealth;
+        this.swapsStats = swapsStats;
+    }
+
+    /**
+     * Applies the ability of the caster on the target.
+     *
+     * @param caster the minion using the ability
+     * @param target the minion the ability is used on
+     */
+    public void apply(final Minion caster, final Minion target) {
+        if (attackDelta != 0) {
+            target.setAttackDamage(Math.max(0, target.getAttackDamage() + attackDelta));
+        }
+        if (healthDelta != 0) {
+            target.setHealthPoints(target.getHealthPoints() + healthDelta);
+        }
+        if (swapsHealth) {
+            int tempHealth = caster.getHealthPoints();
+            caster.setHealthPoints(target.getHealthPoints());
+            target.setHealthPoints(tempHealth);
+        }
+        if (swapsStats) {
+            int tempAttack = target.getAttackDamage();
+            target.setAttackDamage(target.getHealthPoints());
+            target.setHealthPoints(tempAttack);
+
+            if (target.getAttackDamage() == 0) {
+                target.setHealthPoints(0);
+            }
+        }
+    }
+
+    /**
+     * Checks if the ability is cast on allied minions rather than on enemy ones.
+     *
+     * @return {@code true} if the ability targets allies; {@code false} otherwise
+     */
+    public boolean targetsAllies() {
+        return targetsAllies;
+    }
+}
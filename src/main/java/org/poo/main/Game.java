@@ -6,49 +6,92 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.fileio.*;
 import org.poo.main.Cards.*;
 import org.poo.main.GameMechanics.*;
+import org.poo.main.Search.AlphaBetaResult;
+import org.poo.main.Search.AlphaBetaSearch;
+import org.poo.main.Search.EndgameResult;
+import org.poo.main.Search.EndgameSolver;
+import org.poo.main.Search.TranspositionTable;
+import org.poo.main.Search.WeightedEvaluator;
+
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Objects;
 
 /**
  * The Game class manages the overall logic and state of the card game,
  * including players, board state, rounds, turns, and game actions.
+ * Every change made while playing a game can be recorded in the game's {@link Journal},
+ * so that lookahead can play actions on this instance and undo them afterwards.
  */
-public class Game {
+public class Game implements Journaled {
+    private static final int TURN_STATE = 0;
+    private static final int TOTAL_GAMES = 1;
+    private static final int DEFAULT_SUGGEST_BUDGET = 100;
+    private static final int SUGGEST_TABLE_CAPACITY = 1 << 18;
+    private static final int DEFAULT_SOLVE_BUDGET = 1000;
+
+    private final Journal journal = new Journal();
     private Player[] player = new Player[2];
     private int currentPlayer;
     private Board board;
     private int round;
     private int turn;
     private int totalGames;
+    private boolean started;
+    private AlphaBetaSearch searcher;
+    private EndgameSolver solver;
+    private SpectatorView spectators;
 
     /**
      * Initializes players, board, and other game variables.
      */
     public Game() {
-        player[0] = new Player();
-        player[1] = new Player();
+        player[0] = new Player(journal);
+        player[1] = new Player(journal);
         player[0].setMana(0);
         player[1].setMana(0);
-        this.board = new Board();
+        this.board = new Board(journal);
         this.currentPlayer = 0;
         this.round = 0;
         this.turn = 0;
     }
 
+    /**
+     * Constructs a copy of the current state of a game, with a journal of its own that is
+     * not recording. The copy can be played and undone without touching the original, so
+     * every search thread works on one.
+     *
+     * @param other the game to copy.
+     */
+    public Game(final Game other) {
+        player[0] = new Player(other.player[0], journal);
+        player[1] = new Player(other.player[1], journal);
+        this.board = new Board(other.board, journal);
+        this.currentPlayer = other.currentPlayer;
+        this.round = other.round;
+        this.turn = other.turn;
+        this.totalGames = other.totalGames;
+        this.started = other.started;
+    }
+
     /**
      * Starts a new game by resetting the game state, initializing player decks and heroes,
-     * and setting the starting player and first round.
+     * and setting the starting player and first round. The game only counts as started
+     * once this returns; if it throws, {@link #isStarted()} is {@code false} until the next
+     * game starts.
      *
-     * @param inputData      The input data containing player deck information.
+     * @param playerOneDecks The decks available to player one.
+     * @param playerTwoDecks The decks available to player two.
      * @param startGameInput The starting configurations for the game.
      */
-    private void startGame(final Input inputData, final StartGameInput startGameInput) {
+    public void startGame(final DecksInput playerOneDecks, final DecksInput playerTwoDecks,
+                          final StartGameInput startGameInput) {
+        started = false;
         resetGame();
-        player[0].setDeck(inputData.getPlayerOneDecks(), startGameInput.getPlayerOneDeckIdx(),
+        player[0].setDeck(playerOneDecks, startGameInput.getPlayerOneDeckIdx(),
                 startGameInput.getShuffleSeed());
         player[0].setHero(startGameInput.getPlayerOneHero());
 
-        player[1].setDeck(inputData.getPlayerTwoDecks(), startGameInput.getPlayerTwoDeckIdx(),
+        player[1].setDeck(playerTwoDecks, startGameInput.getPlayerTwoDeckIdx(),
                 startGameInput.getShuffleSeed());
         player[1].setHero(startGameInput.getPlayerTwoHero());
 
@@ -56,41 +99,116 @@ public class Game {
         turn = 0;
         round = 0;
         startRound();
+        publishToSpectators();
+        started = true;
     }
 
     /**
      * Executes the game logic, processing a sequence of actions provided as input.
+     * The actions are decoded into an {@link ActionProgram} before the game starts; the
+     * program is built again every time the game is played.
      *
      * @param inputData The input data containing player and game configurations.
      * @param output    The JSON output node for recording game results and errors.
      * @param gameInput The sequence of actions to execute during the game.
      */
-    public void playGame(final Input inputData, final ArrayNode output, final GameInput gameInput) {
-        startGame(inputData, gameInput.getStartGame());
-
-        ArrayList<ActionsInput> actions = gameInput.getActions();
-        for (ActionsInput action : actions) {
-            String command = action.getCommand();
-            switch (command) {
-                case "getPlayerDeck" -> getPlayerDeck(output, action);
-                case "getPlayerHero" -> getPlayerHero(output, action);
-                case "getPlayerTurn" -> getPlayerTurn(output, action);
-                case "getCardsInHand" -> getCardsInHand(output, action);
-                case "endPlayerTurn" -> endPlayerTurn();
-                case "getPlayerMana" -> getPlayerMana(output, action);
-                case "getCardsOnTable" -> getCardsOnTable(output, action);
-                case "placeCard" -> placeCard(output, action);
-                case "cardUsesAttack" -> attackCard(output, action);
-                case "cardUsesAbility" -> cardUseAbility(output, action);
-                case "useAttackHero" -> useAttackHero(output, action);
-                case "useHeroAbility" -> useHeroAbility(output, action);
-                case "getCardAtPosition" -> getCardAtPosition(output, action);
-                case "getFrozenCardsOnTable" -> getFrozenCardsOnTable(output, action);
-                case "getTotalGamesPlayed" -> getTotalGamesPlayed(output, action);
-                case "getPlayerOneWins" -> getPlayerOneWins(output, action);
-                case "getPlayerTwoWins" -> getPlayerTwoWins(output, action);
-                default -> { }
-            }
+    public void playGame(final Input inputData, final OutputSink output,
+                         final GameInput gameInput) {
+        startGame(inputData.getPlayerOneDecks(), inputData.getPlayerTwoDecks(),
+                gameInput.getStartGame());
+
+        for (Instruction instruction : new ActionProgram(gameInput.getActions())
+                .getInstructions()) {
+            execute(output, instruction);
+        }
+    }
+
+    /**
+     * Executes the game logic for the current game of a streaming reader, pulling
+     * the actions one at a time.
+     *
+     * @param reader         The reader positioned on the game to play.
+     * @param output         The JSON output node for recording game results and errors.
+     * @param startGameInput The starting configurations for the game.
+     * @throws IOException in case of exceptions to reading
+     */
+    public void playGame(final InputReader reader, final OutputSink output,
+                         final StartGameInput startGameInput) throws IOException {
+        startGame(reader.getPlayerOneDecks(), reader.getPlayerTwoDecks(), startGameInput);
+
+        ActionsInput action = reader.nextAction();
+        while (action != null) {
+            playAction(output, action);
+            action = reader.nextAction();
+        }
+    }
+
+    /**
+     * Decodes and executes a single action of the current game.
+     *
+     * @param output The JSON output node for recording game results and errors.
+     * @param action The action to execute.
+     */
+    public void playAction(final OutputSink output, final ActionsInput action) {
+        execute(output, new Instruction(action));
+    }
+
+    /**
+     * Executes a single decoded action of the current game.
+     *
+     * @param output The JSON output node for recording game results and errors.
+     * @param action The instruction to execute.
+     */
+    public void execute(final OutputSink output, final Instruction action) {
+        switch (action.getOpcode()) {
+            case GET_PLAYER_DECK -> getPlayerDeck(output, action);
+            case GET_PLAYER_HERO -> getPlayerHero(output, action);
+            case GET_PLAYER_TURN -> getPlayerTurn(output, action);
+            case GET_CARDS_IN_HAND -> getCardsInHand(output, action);
+            case END_PLAYER_TURN -> endPlayerTurn();
+            case GET_PLAYER_MANA -> getPlayerMana(output, action);
+            case GET_CARDS_ON_TABLE -> getCardsOnTable(output, action);
+            case PLACE_CARD -> placeCard(output, action);
+            case CARD_USES_ATTACK -> attackCard(output, action);
+            case CARD_USES_ABILITY -> cardUseAbility(output, action);
+            case USE_ATTACK_HERO -> useAttackHero(output, action);
+            case USE_HERO_ABILITY -> useHeroAbility(output, action);
+            case GET_CARD_AT_POSITION -> getCardAtPosition(output, action);
+            case GET_FROZEN_CARDS_ON_TABLE -> getFrozenCardsOnTable(output, action);
+            case GET_TOTAL_GAMES_PLAYED -> getTotalGamesPlayed(output, action);
+            case GET_PLAYER_ONE_WINS -> getPlayerOneWins(output, action);
+            case GET_PLAYER_TWO_WINS -> getPlayerTwoWins(output, action);
+            case SUGGEST_MOVE -> suggestMove(output, action);
+            case SOLVE_ENDGAME -> solveEndgame(output, action);
+            default -> { }
+        }
+        if (action.getOpcode().changesState()) {
+            publishToSpectators();
+        }
+    }
+
+    /**
+     * Gets the view spectator threads read the board and the heroes from, creating it on
+     * the first call. From then on the state is published to it after every game started,
+     * command that changes the game and move applied. Call this on the thread playing the
+     * game, before sharing the view.
+     *
+     * @return the view
+     */
+    public SpectatorView watch() {
+        if (spectators == null) {
+            spectators = new SpectatorView();
+            spectators.publish(player, board);
+        }
+        return spectators;
+    }
+
+    /**
+     * Publishes the state to the spectators, if any are watching.
+     */
+    private void publishToSpectators() {
+        if (spectators != null) {
+            spectators.publish(player, board);
         }
     }
 
@@ -100,10 +218,10 @@ public class Game {
      * @param output The JSON output node for storing the result.
      * @param action The action containing the player index.
      */
-    private void getPlayerDeck(final ArrayNode output, final ActionsInput action) {
+    private void getPlayerDeck(final OutputSink output, final Instruction action) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
-        actionNode.put("command", action.getCommand());
+        actionNode.put("command", action.getOpcode().getCommand());
         actionNode.put("playerIdx", action.getPlayerIdx());
         ArrayNode arrayNode = player[action.getPlayerIdx() - 1].printDeck();
         actionNode.set("output", arrayNode);
@@ -117,10 +235,10 @@ public class Game {
      * @param output The JSON output node for storing the result.
      * @param action The action containing the player index.
      */
-    private void getPlayerHero(final ArrayNode output, final ActionsInput action) {
+    private void getPlayerHero(final OutputSink output, final Instruction action) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
-        actionNode.put("command", action.getCommand());
+        actionNode.put("command", action.getOpcode().getCommand());
         actionNode.put("playerIdx", action.getPlayerIdx());
         ObjectNode heroNode = player[action.getPlayerIdx() - 1].getHero();
         actionNode.set("output", heroNode);
@@ -133,10 +251,10 @@ public class Game {
      * @param output The JSON output node for storing the result.
      * @param action The action containing the command details.
      */
-    private void getPlayerTurn(final ArrayNode output, final ActionsInput action) {
+    private void getPlayerTurn(final OutputSink output, final Instruction action) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
-        actionNode.put("command", action.getCommand());
+        actionNode.put("command", action.getOpcode().getCommand());
         actionNode.put("output", currentPlayer + 1);
         output.add(actionNode);
     }
@@ -148,10 +266,10 @@ public class Game {
      * @param output the JSON array to which the hand information will be added.
      * @param action the action input containing the player's index and command.
      */
-    private void getCardsInHand(final ArrayNode output, final ActionsInput action) {
+    private void getCardsInHand(final OutputSink output, final Instruction action) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
-        actionNode.put("command", action.getCommand());
+        actionNode.put("command", action.getOpcode().getCommand());
         actionNode.put("playerIdx", action.getPlayerIdx());
 
         ArrayList<Minion> hand = player[action.getPlayerIdx() - 1].getHand();
@@ -185,10 +303,10 @@ public class Game {
      * @param output the JSON array to which the player's mana information will be added.
      * @param action the action input containing the player's index and command.
      */
-    private void getPlayerMana(final ArrayNode output, final ActionsInput action) {
+    private void getPlayerMana(final OutputSink output, final Instruction action) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
-        actionNode.put("command", action.getCommand());
+        actionNode.put("command", action.getOpcode().getCommand());
 
         int playerMana = player[action.getPlayerIdx() - 1].getMana();
         actionNode.put("output", playerMana);
@@ -204,24 +322,15 @@ public class Game {
      * @param output the JSON array to which the board state will be added.
      * @param action the action input containing the command.
      */
-    private void getCardsOnTable(final ArrayNode output, final ActionsInput action) {
+    private void getCardsOnTable(final OutputSink output, final Instruction action) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
-        actionNode.put("command", action.getCommand());
+        actionNode.put("command", action.getOpcode().getCommand());
 
         ArrayNode cardsOnTable = objectMapper.createArrayNode();
         for (int i = 0; i < MagicNumbers.TABLE_ROWS; i++) {
-            Minion[] row;
+            Minion[] row = board.getRow(i);
             ArrayNode rowArray = objectMapper.createArrayNode();
-            if (i == 0) {
-                row = board.getBackRow1();
-            } else if (i == 1) {
-                row = board.getFrontRow1();
-            } else if (i == 2) {
-                row = board.getFrontRow2();
-            } else {
-                row = board.getBackRow2();
-            }
 
             for (Minion card : row) {
                 if (card != null) {
@@ -259,44 +368,72 @@ public class Game {
      * @param action the action input containing the hand index of the card to
      *               place and the command details.
      */
-    public void placeCard(final ArrayNode output, final ActionsInput action) {
+    public void placeCard(final OutputSink output, final Instruction action) {
         if (ErrorHandler.placeErrorHandler(output, action, player, currentPlayer, board)) {
             return;
         }
-        ObjectMapper objectMapper = new ObjectMapper();
-        ObjectNode actionNode = objectMapper.createObjectNode();
-        actionNode.put("command", action.getCommand());
+        placeCard(action.getHandIdx());
+    }
 
-        int handIdx = action.getHandIdx();
+    /**
+     * Places a card from the current player's hand onto the board, without checking the
+     * move. Tanks and druids go on the front row, the others on the back row.
+     *
+     * @param handIdx the index of the card in the current player's hand.
+     */
+    private void placeCard(final int handIdx) {
         Minion cardToPlace = player[currentPlayer].getCardFromHand(handIdx);
+        int rowIdx = MoveGenerator.getPlacementRow(cardToPlace, currentPlayer);
 
-        int rowIdx;
-        if (currentPlayer == 0) {
-            if (player[currentPlayer].getCardFromHand(handIdx).getTank()
-                    || player[currentPlayer].getCardFromHand(handIdx).getDruid()) {
-                rowIdx = MagicNumbers.FRONT_ROW_2_ID;
-            } else {
-                rowIdx = MagicNumbers.BACK_ROW_2_ID;
-            }
-        } else {
-            if (player[currentPlayer].getCardFromHand(handIdx).getTank()
-                    || player[currentPlayer].getCardFromHand(handIdx).getDruid()) {
-                rowIdx = MagicNumbers.FRONT_ROW_1_ID;
-            } else {
-                rowIdx = MagicNumbers.BACK_ROW_1_ID;
-            }
-        }
-
-        if (board.isRowFull(rowIdx)) {
-            actionNode.put("error", "Cannot place card on table since row is full");
-            output.add(actionNode);
-            return;
-        }
         board.addCardToRow(currentPlayer, rowIdx, cardToPlace);
         player[currentPlayer].useMana(cardToPlace.getManaCost());
         player[currentPlayer].removeCardFromHand(handIdx);
     }
 
+    /**
+     * Lists the legal moves of the current player, encoded with {@link Move}.
+     *
+     * @param moves the buffer the moves are written to, at least
+     *              {@link MoveGenerator#getCapacity(int)} long.
+     * @return the number of moves written.
+     */
+    public int generateMoves(final int[] moves) {
+        return MoveGenerator.generate(board, player, currentPlayer, moves);
+    }
+
+    /**
+     * Gets the buffer size {@link #generateMoves(int[])} needs in the current state.
+     *
+     * @return the largest number of moves the current player can have.
+     */
+    public int getMoveCapacity() {
+        return MoveGenerator.getCapacity(player[currentPlayer].getHand().size());
+    }
+
+    /**
+     * Plays a legal move of the current player, as listed by {@link #generateMoves(int[])}.
+     * The move is not checked and nothing is written to any output, so this is the fast
+     * path for bots and search; {@link #execute(OutputSink, Instruction)} with
+     * {@code new Instruction(move)} plays the same move through the full rules.
+     *
+     * @param move the move to play.
+     */
+    public void applyMove(final int move) {
+        switch (Move.getKind(move)) {
+            case Move.END_TURN -> endPlayerTurn();
+            case Move.PLACE_CARD -> placeCard(Move.getHandIdx(move));
+            case Move.CARD_ATTACK -> attackCard(Move.getAttackerX(move), Move.getAttackerY(move),
+                    Move.getAttackedX(move), Move.getAttackedY(move));
+            case Move.CARD_ABILITY -> cardUseAbility(Move.getAttackerX(move),
+                    Move.getAttackerY(move), Move.getAttackedX(move), Move.getAttackedY(move));
+            case Move.ATTACK_HERO -> useAttackHero(Move.getAttackerX(move),
+                    Move.getAttackerY(move));
+            case Move.HERO_ABILITY -> useHeroAbility(Move.getAffectedRow(move));
+            default -> { }
+        }
+        publishToSpectators();
+    }
+
     /**
      * Retrieves the card at a specific position on the board and adds its details to the output.
      * If no card is found at the given position, an appropriate message is added to the output.
@@ -305,14 +442,14 @@ public class Game {
      * @param action the action input containing the position coordinates (x, y) and
      *               the command details.
      */
-    public void getCardAtPosition(final ArrayNode output, final ActionsInput action) {
+    public void getCardAtPosition(final OutputSink output, final Instruction action) {
         if (ErrorHandler.getCardAtPositionErrorHandler(output, action, board)) {
             return;
         }
 
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
-        actionNode.put("command", action.getCommand());
+        actionNode.put("command", action.getOpcode().getCommand());
 
         int x = action.getX();
         int y = action.getY();
@@ -357,21 +494,27 @@ public class Game {
      * @param action the action input containing the attacker and attacked card coordinates,
      *               as well as the command details.
      */
-    public void attackCard(final ArrayNode output, final ActionsInput action) {
+    public void attackCard(final OutputSink output, final Instruction action) {
         if (ErrorHandler.carduseAttackOrAbilityErrorHandler(output, action, board, currentPlayer)) {
             return;
         }
 
-        Coordinates attackerCoords = action.getCardAttacker();
-        Coordinates attackedCoords = action.getCardAttacked();
-
-        Minion cardAttacker = board.getCardFromRow(attackerCoords.getX(), attackerCoords.getY());
-        Minion cardAttacked = board.getCardFromRow(attackedCoords.getX(), attackedCoords.getY());
+        attackCard(action.getAttackerX(), action.getAttackerY(),
+                action.getAttackedX(), action.getAttackedY());
+    }
 
-        if (cardAttacker == null || cardAttacked == null) {
-            System.out.println("Invalid cards involved in attack.");
-            return;
-        }
+    /**
+     * Executes an attack by a card against another card, without checking the move.
+     *
+     * @param attackerX the row of the attacker.
+     * @param attackerY the column of the attacker.
+     * @param attackedX the row of the attacked card.
+     * @param attackedY the column of the attacked card.
+     */
+    private void attackCard(final int attackerX, final int attackerY,
+                            final int attackedX, final int attackedY) {
+        Minion cardAttacker = board.getCardFromRow(attackerX, attackerY);
+        Minion cardAttacked = board.getCardFromRow(attackedX, attackedY);
 
         int attackDamage = cardAttacker.getAttackDamage();
         cardAttacked.setHealthPoints(cardAttacked.getHealthPoints() - attackDamage);
@@ -379,15 +522,14 @@ public class Game {
         cardAttacker.setHasAttacked(true);
 
         if (cardAttacked.getHealthPoints() <= 0) {
-            board.removeCardFromRow(board.getRowForPlayer(1 - currentPlayer,
-                                    attackedCoords.getX()), attackedCoords.getY());
+            board.removeCardFromRow(attackedX, attackedY);
         }
     }
 
     /**
      * Executes the ability of a card at the specified attacker coordinates on the card
      * at the attacked coordinates.
-     * Handles specific abilities based on the attacking card's name.
+     * The ability comes from the definition of the attacking card.
      * Marks the attacking card as having attacked. If the attacked card's health drops to 0,
      * it is removed from the board.
      *
@@ -395,45 +537,41 @@ public class Game {
      * @param action the action input containing the attacker and attacked card coordinates,
      *               as well as the command details.
      */
-    public void cardUseAbility(final ArrayNode output, final ActionsInput action) {
+    public void cardUseAbility(final OutputSink output, final Instruction action) {
         if (ErrorHandler.carduseAttackOrAbilityErrorHandler(output, action, board, currentPlayer)) {
             return;
         }
 
-        Coordinates attackerCoords = action.getCardAttacker();
-        Coordinates attackedCoords = action.getCardAttacked();
+        cardUseAbility(action.getAttackerX(), action.getAttackerY(),
+                action.getAttackedX(), action.getAttackedY());
+    }
 
-        Minion cardAttacker = board.getCardFromRow(attackerCoords.getX(), attackerCoords.getY());
-        Minion cardAttacked = board.getCardFromRow(attackedCoords.getX(), attackedCoords.getY());
+    /**
+     * Executes the ability of a card on another card, without checking the move.
+     * Cards without an ability do nothing. The card is marked before a dead target is
+     * removed, since the removal shifts the cards of its row into new slots.
+     *
+     * @param attackerX the row of the card using the ability.
+     * @param attackerY the column of the card using the ability.
+     * @param attackedX the row of the target.
+     * @param attackedY the column of the target.
+     */
+    private void cardUseAbility(final int attackerX, final int attackerY,
+                                final int attackedX, final int attackedY) {
+        Minion cardAttacker = board.getCardFromRow(attackerX, attackerY);
+        Minion cardAttacked = board.getCardFromRow(attackedX, attackedY);
 
-        if (Objects.equals(cardAttacker.getName(), "Disciple")) {
-            cardAttacker.godsPlan(cardAttacked);
-            cardAttacker.setHasAttacked(true);
+        MinionEffect effect = cardAttacker.getEffect();
+        if (effect == null) {
             return;
         }
+        effect.apply(cardAttacker, cardAttacked);
 
-        switch (cardAttacker.getName()) {
-            case "The Ripper":
-                cardAttacker.weakKnees(cardAttacked);
-                break;
-
-            case "Miraj":
-                cardAttacker.skyjack(cardAttacked);
-                break;
-
-            case "The Cursed One":
-                cardAttacker.shapeshift(cardAttacked);
-
-                if (cardAttacked.getHealthPoints() <= 0) {
-                    board.removeCardFromRow(board.getRowForPlayer(1 - currentPlayer,
-                            attackedCoords.getX()), attackedCoords.getY());
-                }
-                break;
+        cardAttacker.setHasAttacked(true);
 
-            default:
-                return;
+        if (cardAttacked.getHealthPoints() <= 0) {
+            board.removeCardFromRow(attackedX, attackedY);
         }
-        cardAttacker.setHasAttacked(true);
     }
 
     /**
@@ -447,20 +585,32 @@ public class Game {
      * @param action the action input containing the attacker's coordinates and
      *               the command details.
      */
-    public void useAttackHero(final ArrayNode output, final ActionsInput action) {
+    public void useAttackHero(final OutputSink output, final Instruction action) {
         if (ErrorHandler.cardAttackHeroErrorHandler(output, action, board)) {
             return;
         }
 
-        Coordinates attackerCoords = action.getCardAttacker();
-        Minion cardAttacker = board.getCardFromRow(attackerCoords.getX(), attackerCoords.getY());
-
-        if (cardAttacker == null) {
-            System.out.println("Invalid card attacker at position: "
-                    + attackerCoords.getX() + " " + attackerCoords.getY());
-            return;
+        if (useAttackHero(action.getAttackerX(), action.getAttackerY())) {
+            String message = currentPlayer == 0
+                    ? "Player one killed the enemy hero."
+                    : "Player two killed the enemy hero.";
+            ObjectMapper objectMapper = new ObjectMapper();
+            ObjectNode resultNode = objectMapper.createObjectNode();
+            resultNode.put("gameEnded", message);
+            output.add(resultNode);
         }
+    }
 
+    /**
+     * Executes an attack by a card on the enemy hero, without checking the move.
+     * If the hero dies, the game and the win are counted.
+     *
+     * @param attackerX the row of the attacker.
+     * @param attackerY the column of the attacker.
+     * @return {@code true} if the attack killed the enemy hero.
+     */
+    private boolean useAttackHero(final int attackerX, final int attackerY) {
+        Minion cardAttacker = board.getCardFromRow(attackerX, attackerY);
         Hero enemyHero = player[1 - currentPlayer].getHeroNormal();
 
         int attackDamage = cardAttacker.getAttackDamage();
@@ -469,51 +619,39 @@ public class Game {
         cardAttacker.setHasAttacked(true);
 
         if (enemyHero.getHealthPoints() <= 0) {
-            String message = currentPlayer == 0
-                    ? "Player one killed the enemy hero."
-                    : "Player two killed the enemy hero.";
-            ObjectMapper objectMapper = new ObjectMapper();
-            ObjectNode resultNode = objectMapper.createObjectNode();
-            resultNode.put("gameEnded", message);
-            output.add(resultNode);
+            journal.record(this, TOTAL_GAMES, totalGames, 0, 0, null);
             totalGames++;
             player[currentPlayer].setGamesWon(player[currentPlayer].getGamesWon() + 1);
-
+            return true;
         }
+        return false;
     }
 
     /**
      * Activates the current player's hero ability on the specified row.
      * Adjusts mana cost and marks the hero as having used its ability.
-     * The affected row is determined based on the hero's name and ability type.
+     * The affected row is allied or enemy depending on the hero's ability.
      *
      * @param output the JSON array to which any errors or status updates will be added.
      * @param action the action input containing the affected row and the command details.
      */
-    private void useHeroAbility(final ArrayNode output, final ActionsInput action) {
+    private void useHeroAbility(final OutputSink output, final Instruction action) {
         if (ErrorHandler.heroUseAbilityErrorHandler(output, action, player, currentPlayer, board)) {
             return;
         }
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        ObjectNode actionNode = objectMapper.createObjectNode();
-
-        String command = action.getCommand();
-        int affectedRow = action.getAffectedRow();
-        actionNode.put("command", command);
-        actionNode.put("affectedRow", affectedRow);
+        useHeroAbility(action.getAffectedRow());
+    }
 
+    /**
+     * Activates the current player's hero ability on a row, without checking the move.
+     *
+     * @param affectedRow the index of the row.
+     */
+    private void useHeroAbility(final int affectedRow) {
         Hero hero = player[currentPlayer].getHeroNormal();
 
-        Minion[] row = null;
-        if (hero.getName().equals("General Kocioraw") || hero.getName().equals("King Mudface")) {
-            row = board.getRowForPlayer(currentPlayer, affectedRow);
-        } else if (hero.getName().equals("Lord Royce")
-                   || hero.getName().equals("Empress Thorina")) {
-            row = board.getRowForPlayer(1 - currentPlayer, affectedRow);
-        }
-
-        hero.useAbility(board, row);
+        hero.useAbility(board, affectedRow);
         hero.setHasAttacked(true);
         player[currentPlayer].setMana(player[currentPlayer].getMana() - hero.getManaCost());
     }
@@ -526,39 +664,28 @@ public class Game {
      * @param output the JSON array to which the frozen cards data will be added.
      * @param action the action input containing the command details.
      */
-    public void getFrozenCardsOnTable(final ArrayNode output, final ActionsInput action) {
+    public void getFrozenCardsOnTable(final OutputSink output, final Instruction action) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
 
-        String command = action.getCommand();
+        String command = action.getOpcode().getCommand();
         actionNode.put("command", command);
 
         ArrayNode frozenCards = objectMapper.createArrayNode();
 
-        Minion[][] rows = {
-                board.getBackRow1(),
-                board.getFrontRow1(),
-                board.getFrontRow2(),
-                board.getBackRow2()
-        };
-
-        for (Minion[] row : rows) {
-            for (Minion card : row) {
-                if (card != null && card.isFrozen()) {
-                    ObjectNode frozenCard = objectMapper.createObjectNode();
-                    frozenCard.put("attackDamage", card.getAttackDamage());
-                    ArrayNode colorsNode = objectMapper.createArrayNode();
-                    for (String color : card.getColors()) {
-                        colorsNode.add(color);
-                    }
-                    frozenCard.set("colors", colorsNode);
-                    frozenCard.put("description", card.getDescription());
-                    frozenCard.put("health", card.getHealthPoints());
-                    frozenCard.put("mana", card.getManaCost());
-                    frozenCard.put("name", card.getName());
-                    frozenCards.add(frozenCard);
-                }
+        for (Minion card : board.getFrozenCards()) {
+            ObjectNode frozenCard = objectMapper.createObjectNode();
+            frozenCard.put("attackDamage", card.getAttackDamage());
+            ArrayNode colorsNode = objectMapper.createArrayNode();
+            for (String color : card.getColors()) {
+                colorsNode.add(color);
             }
+            frozenCard.set("colors", colorsNode);
+            frozenCard.put("description", card.getDescription());
+            frozenCard.put("health", card.getHealthPoints());
+            frozenCard.put("mana", card.getManaCost());
+            frozenCard.put("name", card.getName());
+            frozenCards.add(frozenCard);
         }
 
         actionNode.set("output", frozenCards);
@@ -571,10 +698,10 @@ public class Game {
      * @param output the JSON array to which the total games count will be added.
      * @param action the action input containing the command details.
      */
-    private void getTotalGamesPlayed(final ArrayNode output, final ActionsInput action) {
+    private void getTotalGamesPlayed(final OutputSink output, final Instruction action) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
-        actionNode.put("command", action.getCommand());
+        actionNode.put("command", action.getOpcode().getCommand());
         actionNode.put("output", getTotalGames());
         output.add(actionNode);
     }
@@ -585,10 +712,10 @@ public class Game {
      * @param output the JSON array to which Player One's win count will be added.
      * @param action the action input containing the command details.
      */
-    private void getPlayerOneWins(final ArrayNode output, final ActionsInput action) {
+    private void getPlayerOneWins(final OutputSink output, final Instruction action) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
-        actionNode.put("command", action.getCommand());
+        actionNode.put("command", action.getOpcode().getCommand());
         actionNode.put("output", player[0].getGamesWon());
         output.add(actionNode);
     }
@@ -599,14 +726,109 @@ public class Game {
      * @param output the JSON array to which Player Two's win count will be added.
      * @param action the action input containing the command details.
      */
-    private void getPlayerTwoWins(final ArrayNode output, final ActionsInput action) {
+    private void getPlayerTwoWins(final OutputSink output, final Instruction action) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
-        actionNode.put("command", action.getCommand());
+        actionNode.put("command", action.getOpcode().getCommand());
         actionNode.put("output", player[1].getGamesWon());
         output.add(actionNode);
     }
 
+    /**
+     * Searches the best move for the current player within the time budget of the action
+     * (100 ms if none is given) and adds it to the output JSON, written as the action
+     * that would play it, with its score, the depth reached and the search speed.
+     * The game is not changed.
+     *
+     * @param output the JSON array to which the suggestion will be added.
+     * @param action the action input containing the time budget and the command details.
+     */
+    private void suggestMove(final OutputSink output, final Instruction action) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode actionNode = objectMapper.createObjectNode();
+        actionNode.put("command", action.getOpcode().getCommand());
+
+        if (getWinner() != -1) {
+            actionNode.put("error", "The game is over.");
+            output.add(actionNode);
+            return;
+        }
+        if (searcher == null) {
+            searcher = new AlphaBetaSearch(SuggestTable.TABLE, new WeightedEvaluator());
+        }
+        int budget = action.getTimeBudget() > 0 ? action.getTimeBudget()
+                : DEFAULT_SUGGEST_BUDGET;
+        AlphaBetaResult result = searcher.search(this, budget);
+
+        Instruction suggestion = new Instruction(result.getBestMove());
+        ObjectNode moveNode = objectMapper.createObjectNode();
+        moveNode.put("command", suggestion.getOpcode().getCommand());
+        switch (suggestion.getOpcode()) {
+            case PLACE_CARD -> moveNode.put("handIdx", suggestion.getHandIdx());
+            case USE_HERO_ABILITY -> moveNode.put("affectedRow", suggestion.getAffectedRow());
+            default -> { }
+        }
+        if (suggestion.hasAttacker()) {
+            ObjectNode attackerNode = objectMapper.createObjectNode();
+            attackerNode.put("x", suggestion.getAttackerX());
+            attackerNode.put("y", suggestion.getAttackerY());
+            moveNode.set("cardAttacker", attackerNode);
+        }
+        if (suggestion.hasAttacked()) {
+            ObjectNode attackedNode = objectMapper.createObjectNode();
+            attackedNode.put("x", suggestion.getAttackedX());
+            attackedNode.put("y", suggestion.getAttackedY());
+            moveNode.set("cardAttacked", attackedNode);
+        }
+
+        actionNode.put("timeBudget", budget);
+        actionNode.set("output", moveNode);
+        actionNode.put("score", result.getScore());
+        actionNode.put("depth", result.getDepth());
+        actionNode.put("nodesPerSecond", result.getNodesPerSecond());
+        output.add(actionNode);
+    }
+
+    /**
+     * Solves the endgame exactly, once both decks are empty, within the time budget of
+     * the action (1000 ms if none is given), and adds the player who forces a win and the
+     * number of moves to it to the output JSON. If no forced win is found within the
+     * budget, the depth proven to hold none is written instead. The game is not changed.
+     *
+     * @param output the JSON array to which the result will be added.
+     * @param action the action input containing the time budget and the command details.
+     */
+    private void solveEndgame(final OutputSink output, final Instruction action) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode actionNode = objectMapper.createObjectNode();
+        actionNode.put("command", action.getOpcode().getCommand());
+
+        if (!EndgameSolver.isEndgame(this)) {
+            actionNode.put("error", "The decks are not empty.");
+            output.add(actionNode);
+            return;
+        }
+        if (solver == null) {
+            solver = new EndgameSolver();
+        }
+        int budget = action.getTimeBudget() > 0 ? action.getTimeBudget()
+                : DEFAULT_SOLVE_BUDGET;
+        EndgameResult result = solver.solve(this, budget, EndgameSolver.MAX_DEPTH);
+
+        actionNode.put("timeBudget", budget);
+        if (result.isSolved()) {
+            ObjectNode resultNode = objectMapper.createObjectNode();
+            resultNode.put("winner", result.getWinner() + 1);
+            resultNode.put("distance", result.getDistance());
+            actionNode.set("output", resultNode);
+        } else {
+            actionNode.put("output", "No forced win within " + result.getDepth() + " moves.");
+        }
+        actionNode.put("depth", result.getDepth());
+        actionNode.put("nodesPerSecond", result.getNodesPerSecond());
+        output.add(actionNode);
+    }
+
     /**
      * Starts a new round of the game. Resets attack statuses for all cards and heroes,
      * draws new cards for both players, adds mana based on the round, and
@@ -643,6 +865,7 @@ public class Game {
      * Outputs the current player's turn start message.
      */
     private void endPlayerTurn() {
+        journal.record(this, TURN_STATE, currentPlayer, turn, round, null);
         turn++;
         board.unfreezeAll(currentPlayer);
         currentPlayer = 1 - currentPlayer;
@@ -656,13 +879,58 @@ public class Game {
      * to prepare for a new game.
      */
     private void resetGame() {
-        board = new Board();
+        journal.clear();
+        board.clear();
         player[0].resetPlayer();
         player[1].resetPlayer();
         currentPlayer = 0;
         turn = 0;
     }
 
+    /**
+     * Retrieves a player of the current game.
+     *
+     * @param playerIdx the index of the player (0 or 1).
+     * @return the player.
+     */
+    public Player getPlayer(final int playerIdx) {
+        return player[playerIdx];
+    }
+
+    /**
+     * Retrieves the board of the current game.
+     *
+     * @return the board.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Retrieves the index of the player to act.
+     *
+     * @return the current player (0 or 1).
+     */
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Finds the winner of the current game, if it is over.
+     *
+     * @return the index of the player whose enemy hero is dead (0 or 1), or -1 if both
+     *         heroes are alive.
+     */
+    public int getWinner() {
+        if (player[1].getHeroNormal().getHealthPoints() <= 0) {
+            return 0;
+        }
+        if (player[0].getHeroNormal().getHealthPoints() <= 0) {
+            return 1;
+        }
+        return -1;
+    }
+
     /**
      * Retrieves the current turn number.
      *
@@ -672,15 +940,80 @@ public class Game {
         return this.turn;
     }
 
+    /**
+     * Retrieves the current round number.
+     *
+     * @return the current round number.
+     */
+    public int getRound() {
+        return this.round;
+    }
+
     /**
      * Sets the current turn number to a specified value.
      *
      * @param turn the turn number to set.
      */
     public void setTurn(final int turn) {
+        journal.record(this, TURN_STATE, currentPlayer, this.turn, round, null);
         this.turn = turn;
     }
 
+    /**
+     * Gets the journal the changes of this game are recorded in. Recording is off unless
+     * started on the journal; it is cleared whenever a new game starts.
+     *
+     * @return the journal of the game.
+     */
+    public Journal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Gets the Zobrist hash of the state of the current game: the board, the hands, the
+     * cards left in the decks, the mana, the heroes, the current player, the turn and the
+     * round. The board and the players keep their parts up to date as they change, so
+     * this takes constant time. Two states with the same hash are the same state, up to
+     * a collision chance of about one in 2^64 per pair.
+     *
+     * @return the hash of the current state
+     */
+    public long getHash() {
+        return board.getHash()
+                ^ player[0].getHash()
+                ^ Zobrist.forSecondPlayer(player[1].getHash())
+                ^ Zobrist.key(Zobrist.CURRENT_PLAYER, 0, currentPlayer)
+                ^ Zobrist.key(Zobrist.TURN, 0, turn)
+                ^ Zobrist.key(Zobrist.ROUND, 0, round);
+    }
+
+    /**
+     * Reverts a change recorded by this game.
+     */
+    @Override
+    public void undo(final int kind, final int first, final int second, final int third,
+                     final Object object) {
+        switch (kind) {
+            case TURN_STATE -> {
+                currentPlayer = first;
+                turn = second;
+                round = third;
+            }
+            case TOTAL_GAMES -> totalGames = first;
+            default -> { }
+        }
+    }
+
+    /**
+     * Checks if a game was started and its setup went through.
+     *
+     * @return {@code true} if the last {@code startGame} returned; {@code false} before the
+     *         first game or after a setup that failed
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
     /**
      * Retrieves the total number of games played.
      *
@@ -689,4 +1022,23 @@ public class Game {
     public int getTotalGames() {
         return this.totalGames;
     }
+
+    /**
+     * Retrieves the number of games won by a player.
+     *
+     * @param playerIdx the index of the player (0 or 1).
+     * @return the games won by that player.
+     */
+    public int getPlayerWins(final int playerIdx) {
+        return player[playerIdx].getGamesWon();
+    }
+
+    /**
+     * Holds the transposition table the searchers of all the games share, made the first
+     * time a move is suggested, so every game does not keep a table of its own.
+     */
+    private static final class SuggestTable {
+        private static final TranspositionTable TABLE =
+                new TranspositionTable(SUGGEST_TABLE_CAPACITY);
+    }
 }
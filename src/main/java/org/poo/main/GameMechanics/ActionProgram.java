@@ -0,0 +1,34 @@
+package org.poo.main.GameMechanics;
+
+import org.poo.fileio.ActionsInput;
+
+import java.util.List;
+
+/**
+ * The actions of a game decoded into {@link Instruction}s, once before the game is played
+ * instead of on every action.
+ */
+public final class ActionProgram {
+    private final Instruction[] instructions;
+
+    /**
+     * Decodes a list of actions.
+     *
+     * @param actions the actions to decode
+     */
+    public ActionProgram(final List<ActionsInput> actions) {
+        instructions = new Instruction[actions.size()];
+        for (int i = 0; i < instructions.length; i++) {
+            instructions[i] = new Instruction(actions.get(i));
+        }
+    }
+
+    /**
+     * Gets the decoded instructions in execution order.
+     *
+     * @return the instructions of the program
+     */
+    public Instruction[] getInstructions() {
+        return instructions;
+    }
+}
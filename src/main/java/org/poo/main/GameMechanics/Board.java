@@ -2,27 +2,163 @@ package org.poo.main.GameMechanics;
 
 import org.poo.main.Cards.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents the game board where players' cards (minions) are placed and interact.
  * The board consists of four rows:
  *     Front row 1 and back row 1 for Player 1.
  *     Front row 2 and back row 2 for Player 2.
  * Provides methods to manipulate rows and cards, such as adding, removing, and applying effects.
+ *
+ * <p>The state of the placed cards is kept in primitive form: a card type, attack damage
+ * and health points array indexed by slot ({@code row * ROW_LENGTH + column}), and one
+ * bitmask per flag (occupied, tank, frozen, has attacked, was attacked) with the same bit
+ * per slot. The {@code Minion}s handed out by the board are views on their slot, so every
+ * change made through them ends up here, and is recorded in the game's {@link Journal}
+ * when it is recording.</p>
+ *
+ * <p>The board also keeps its part of the {@link Zobrist} hash of the game: the keys of
+ * the type, attack and health of every placed card, and of the occupied, frozen, has
+ * attacked and was attacked masks. Every write to the arrays or the masks, including the
+ * ones made when undoing, removes the old keys and adds the new ones.</p>
  */
-public class Board {
-    private Minion[] frontRow1;
-    private Minion[] frontRow2;
-    private Minion[] backRow1;
-    private Minion[] backRow2;
+public class Board implements Journaled {
+    private static final int SLOTS = MagicNumbers.TABLE_ROWS * MagicNumbers.ROW_LENGTH;
+    private static final int ROW_MASK = (1 << MagicNumbers.ROW_LENGTH) - 1;
+    private static final int PLAYER_ONE_ROWS = rowMask(MagicNumbers.FRONT_ROW_2_ID)
+            | rowMask(MagicNumbers.BACK_ROW_2_ID);
+    private static final int PLAYER_TWO_ROWS = rowMask(MagicNumbers.BACK_ROW_1_ID)
+            | rowMask(MagicNumbers.FRONT_ROW_1_ID);
+
+    private static final int ATTACK = 0;
+    private static final int HEALTH = 1;
+    private static final int ADD = 2;
+    private static final int REMOVE = 3;
+    private static final int OCCUPIED = 4;
+    private static final int TANKS = 5;
+    private static final int FROZEN = 6;
+    private static final int HAS_ATTACKED = 7;
+    private static final int WAS_ATTACKED = 8;
+
+    private final CardDefinition[] definitions;
+    private final int[] attackDamage;
+    private final int[] healthPoints;
+    private int occupied;
+    private int tanks;
+    private int frozen;
+    private int hasAttacked;
+    private int wasAttacked;
+    private long hash;
+
+    private final PlacedMinion[] views;
+    private final Minion[][] rows;
+    private final Journal journal;
 
     /**
-     * Constructs a new {@code Board} with all rows initialized to empty arrays of {@code Minion}.
+     * Constructs a new, empty {@code Board} with a journal of its own.
      */
     public Board() {
-        frontRow1 = new Minion[MagicNumbers.ROW_LENGTH];
-        frontRow2 = new Minion[MagicNumbers.ROW_LENGTH];
-        backRow1 = new Minion[MagicNumbers.ROW_LENGTH];
-        backRow2 = new Minion[MagicNumbers.ROW_LENGTH];
+        this(new Journal());
+    }
+
+    /**
+     * Constructs a new, empty {@code Board} that records its changes in the given journal.
+     *
+     * @param journal the journal of the game the board belongs to
+     */
+    public Board(final Journal journal) {
+        this.journal = journal;
+        definitions = new CardDefinition[SLOTS];
+        attackDamage = new int[SLOTS];
+        healthPoints = new int[SLOTS];
+        views = new PlacedMinion[SLOTS];
+        for (int slot = 0; slot < SLOTS; slot++) {
+            views[slot] = new PlacedMinion(slot);
+        }
+        rows = new Minion[MagicNumbers.TABLE_ROWS][MagicNumbers.ROW_LENGTH];
+        hash = flagsKey();
+    }
+
+    /**
+     * Constructs a copy of a board, recording its changes in the given journal.
+     *
+     * @param other   the board to copy
+     * @param journal the journal of the game the copy belongs to
+     */
+    public Board(final Board other, final Journal journal) {
+        this(journal);
+        System.arraycopy(other.definitions, 0, definitions, 0, SLOTS);
+        System.arraycopy(other.attackDamage, 0, attackDamage, 0, SLOTS);
+        System.arraycopy(other.healthPoints, 0, healthPoints, 0, SLOTS);
+        occupied = other.occupied;
+        tanks = other.tanks;
+        frozen = other.frozen;
+        hasAttacked = other.hasAttacked;
+        wasAttacked = other.wasAttacked;
+        hash = other.hash;
+        for (int row = 0; row < MagicNumbers.TABLE_ROWS; row++) {
+            refreshRow(row);
+        }
+    }
+
+    /**
+     * Removes every card from the board.
+     */
+    public void clear() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            definitions[slot] = null;
+        }
+        occupied = 0;
+        tanks = 0;
+        frozen = 0;
+        hasAttacked = 0;
+        wasAttacked = 0;
+        hash = flagsKey();
+        for (int row = 0; row < MagicNumbers.TABLE_ROWS; row++) {
+            refreshRow(row);
+        }
+    }
+
+    /**
+     * Gets the part of the game's Zobrist hash that covers the board.
+     *
+     * @return the hash of the placed cards and of their flags
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the slot of a position on the board.
+     *
+     * @param x the index of the row (0-3)
+     * @param y the index of the position in the row (0-4)
+     * @return the slot index
+     */
+    private static int slot(final int x, final int y) {
+        return x * MagicNumbers.ROW_LENGTH + y;
+    }
+
+    /**
+     * Gets the bits of every slot of a row.
+     *
+     * @param x the index of the row (0-3)
+     * @return the mask of the row
+     */
+    private static int rowMask(final int x) {
+        return ROW_MASK << (x * MagicNumbers.ROW_LENGTH);
+    }
+
+    /**
+     * Checks if a row index is on the board.
+     *
+     * @param x the index of the row
+     * @return {@code true} if the row exists; {@code false} otherwise
+     */
+    private static boolean isRow(final int x) {
+        return x >= 0 && x < MagicNumbers.TABLE_ROWS;
     }
 
     /**
@@ -33,61 +169,37 @@ public class Board {
      * @return the {@code Minion} at the specified position, or {@code null} if invalid
      */
     public Minion getCardFromRow(final int x, final int y) {
-        Minion[] row;
-        switch (x) {
-            case MagicNumbers.BACK_ROW_1_ID:
-                row = backRow1;
-                break;
-            case MagicNumbers.FRONT_ROW_1_ID:
-                row = frontRow1;
-                break;
-            case MagicNumbers.FRONT_ROW_2_ID:
-                row = frontRow2;
-                break;
-            case MagicNumbers.BACK_ROW_2_ID:
-                row = backRow2;
-                break;
-            default:
-                return null;
-        }
-        if (y < 0 || y >= row.length) {
+        if (!isRow(x) || y < 0 || y >= MagicNumbers.ROW_LENGTH) {
             return null;
         }
-        return row[y];
+        int slot = slot(x, y);
+        return (occupied & (1 << slot)) != 0 ? views[slot] : null;
     }
 
     /**
      * Retrieves a row for a specific player and row index.
      *
      * @param playerIdx the index of the player (0 or 1)
-     * @param rowIdx    the index of the row (0 for back, 1 for front)
+     * @param rowIdx    the index of the row (0-3)
      * @return the array representing the row, or {@code null} if invalid
      */
     public Minion[] getRowForPlayer(final int playerIdx, final int rowIdx) {
-        switch (playerIdx) {
-            case 1:
-                switch (rowIdx) {
-                    case MagicNumbers.BACK_ROW_1_ID:
-                        return backRow1;
-                    case MagicNumbers.FRONT_ROW_1_ID:
-                        return frontRow1;
-                    default:
-                        return null;
-                }
-
-            case 0:
-                switch (rowIdx) {
-                    case MagicNumbers.FRONT_ROW_2_ID:
-                        return frontRow2;
-                    case MagicNumbers.BACK_ROW_2_ID:
-                        return backRow2;
-                    default:
-                        return null;
-                }
-
-            default:
-                return null;
+        if (!isRow(rowIdx) || (playerIdx != 0 && playerIdx != 1)
+                || getPlayerForRow(rowIdx) != playerIdx) {
+            return null;
         }
+        return rows[rowIdx];
+    }
+
+    /**
+     * Retrieves a row by its index. The array is a live view of the row: it always holds
+     * the cards currently placed, from the left, followed by {@code null}s.
+     *
+     * @param rowIdx the index of the row (0-3)
+     * @return the array representing the row, or {@code null} if invalid
+     */
+    public Minion[] getRow(final int rowIdx) {
+        return isRow(rowIdx) ? rows[rowIdx] : null;
     }
 
     /**
@@ -106,22 +218,67 @@ public class Board {
 
     /**
      * Adds a card to a specified row for a player. Places the card in the first available slot.
+     * The state of the card is copied to the board; the card itself is not kept.
      *
      * @param playerIdx the index of the player (0 or 1)
-     * @param rowIdx    the index of the row (0 or 1)
+     * @param rowIdx    the index of the row (0-3)
      * @param card      the {@code Minion} to be added
      */
     public void addCardToRow(final int playerIdx, final int rowIdx, final Minion card) {
-        Minion[] row = getRowForPlayer(playerIdx, rowIdx);
+        if (getRowForPlayer(playerIdx, rowIdx) == null) {
+            return;
+        }
+        int free = ~occupied & rowMask(rowIdx);
+        if (free == 0) {
+            return;
+        }
 
-        if (row != null) {
-            for (int i = 0; i < row.length; i++) {
-                if (row[i] == null) {
-                    row[i] = card;
-                    return;
-                }
-            }
+        int slot = Integer.numberOfTrailingZeros(free);
+        int bit = 1 << slot;
+        journal.record(this, ADD, slot, 0, 0, null);
+        hash ^= slotKey(slot);
+        definitions[slot] = card.getDefinition();
+        attackDamage[slot] = card.getAttackDamage();
+        healthPoints[slot] = card.getHealthPoints();
+        hash ^= slotKey(slot);
+        setOccupied(occupied | bit);
+        setTanks(card.getTank() ? tanks | bit : tanks & ~bit);
+        setFrozen(card.isFrozen() ? frozen | bit : frozen & ~bit);
+        setHasAttacked(card.hasAttacked() ? hasAttacked | bit : hasAttacked & ~bit);
+        setWasAttacked(card.isAttacked() ? wasAttacked | bit : wasAttacked & ~bit);
+        refreshRow(rowIdx);
+    }
+
+    /**
+     * Removes a card from a specified row and shifts subsequent cards to the left.
+     *
+     * @param rowIdx the index of the row (0-3)
+     * @param index  the index of the card to remove
+     */
+    public void removeCardFromRow(final int rowIdx, final int index) {
+        if (!isRow(rowIdx) || index < 0 || index >= MagicNumbers.ROW_LENGTH) {
+            return;
+        }
+
+        int first = slot(rowIdx, index);
+        int last = slot(rowIdx, MagicNumbers.ROW_LENGTH - 1);
+        journal.record(this, REMOVE, first, attackDamage[first], healthPoints[first],
+                definitions[first]);
+        hash ^= slotsKey(first, last);
+        for (int slot = first; slot < last; slot++) {
+            definitions[slot] = definitions[slot + 1];
+            attackDamage[slot] = attackDamage[slot + 1];
+            healthPoints[slot] = healthPoints[slot + 1];
         }
+        definitions[last] = null;
+        hash ^= slotsKey(first, last);
+
+        setOccupied(shiftOut(occupied, first, last));
+        setTanks(shiftOut(tanks, first, last));
+        setFrozen(shiftOut(frozen, first, last));
+        setHasAttacked(shiftOut(hasAttacked, first, last));
+        setWasAttacked(shiftOut(wasAttacked, first, last));
+        refreshRow(rowIdx);
     }
 
     /**
@@ -131,12 +288,23 @@ public class Board {
      * @param index the index of the card to remove
      */
     public void removeCardFromRow(final Minion[] row, final int index) {
-        if (index >= 0 && index < row.length) {
-            for (int i = index; i < row.length - 1; i++) {
-                row[i] = row[i + 1];
-            }
-            row[row.length - 1] = null;
-        }
+        removeCardFromRow(getRowIndex(row), index);
+    }
+
+    /**
+     * Drops the bit of a slot from a mask, moving the bits after it, up to the end of the
+     * row, one position down.
+     *
+     * @param mask  the mask to update
+     * @param first the slot being removed
+     * @param last  the last slot of the row
+     * @return the updated mask
+     */
+    private static int shiftOut(final int mask, final int first, final int last) {
+        int below = mask & ((1 << first) - 1);
+        int moved = (mask >>> 1) & (((1 << last) - 1) & ~((1 << first) - 1));
+        int above = mask & ~((1 << (last + 1)) - 1);
+        return below | moved | above;
     }
 
     /**
@@ -146,17 +314,10 @@ public class Board {
      * @return {@code true} if a "Tank" exists; {@code false} otherwise
      */
     public boolean hasTankOnRow(final int enemyPlayerIdx) {
-        Minion[] row = getRowForPlayer(enemyPlayerIdx, 2 - enemyPlayerIdx);
-        if (row == null) {
+        if (enemyPlayerIdx != 0 && enemyPlayerIdx != 1) {
             return false;
         }
-
-        for (Minion card : row) {
-            if (card != null && card.getTank()) {
-                return true;
-            }
-        }
-        return false;
+        return (tanks & occupied & rowMask(2 - enemyPlayerIdx)) != 0;
     }
 
     /**
@@ -166,33 +327,14 @@ public class Board {
      * @return {@code true} if the row is full; {@code false} otherwise
      */
     public boolean isRowFull(final int rowIdx) {
-        Minion[] row = null;
-
-        if (rowIdx == MagicNumbers.BACK_ROW_1_ID) {
-            row = backRow1;
-        } else if (rowIdx == MagicNumbers.FRONT_ROW_1_ID) {
-            row = frontRow1;
-        } else if (rowIdx == MagicNumbers.FRONT_ROW_2_ID) {
-            row = frontRow2;
-        } else if (rowIdx == MagicNumbers.BACK_ROW_2_ID) {
-            row = backRow2;
-        }
-        for (Minion card : row) {
-            if (card == null) {
-                return false;
-            }
-        }
-        return true;
+        return isRow(rowIdx) && (occupied & rowMask(rowIdx)) == rowMask(rowIdx);
     }
 
     /**
      * Resets the attack state of all cards on the board.
      */
     public void resetHasAttacked() {
-        resetRowAttacked(frontRow1);
-        resetRowAttacked(frontRow2);
-        resetRowAttacked(backRow1);
-        resetRowAttacked(backRow2);
+        setHasAttacked(0);
     }
 
     /**
@@ -202,51 +344,55 @@ public class Board {
      */
     public void unfreezeAll(final int playerIdx) {
         if (playerIdx == 0) {
-            unfreezeRow(frontRow2);
-            unfreezeRow(backRow2);
+            setFrozen(frozen & ~PLAYER_ONE_ROWS);
         } else if (playerIdx == 1) {
-            unfreezeRow(frontRow1);
-            unfreezeRow(backRow1);
+            setFrozen(frozen & ~PLAYER_TWO_ROWS);
         }
     }
 
     /**
-     * Unfreezes all cards in a specific row.
+     * Freezes all cards in a specific row.
      *
-     * @param row the array representing the row of cards
+     * @param rowIdx the index of the row (0-3)
      */
-    private void unfreezeRow(final Minion[] row) {
-        for (Minion card : row) {
-            if (card != null) {
-                card.setFrozen(false);
-            }
+    public void freezeAllCards(final int rowIdx) {
+        if (isRow(rowIdx)) {
+            setFrozen(frozen | (occupied & rowMask(rowIdx)));
         }
     }
 
     /**
-     * Resets the attack state for all cards in a specific row.
+     * Freezes all cards in a specific row.
      *
      * @param row the array representing the row of cards
      */
-    private void resetRowAttacked(final Minion[] row) {
-        for (Minion minion : row) {
-            if (minion != null) {
-                minion.setHasAttacked(false);
-            }
-        }
+    public void freezeAllCards(final Minion[] row) {
+        freezeAllCards(getRowIndex(row));
     }
 
     /**
-     * Freezes all cards in a specific row.
+     * Destroys the card with the highest health in a specific row.
+     * On a tie, the leftmost card is destroyed.
      *
-     * @param row the array representing the row of cards
+     * @param rowIdx the index of the row (0-3)
      */
-    public void freezeAllCards(final Minion[] row) {
-        for (Minion card : row) {
-            if (card != null) {
-                card.setFrozen(true);
+    public void destroyHighestHealthCard(final int rowIdx) {
+        if (!isRow(rowIdx)) {
+            return;
+        }
+        int maxHealthIndex = -1;
+        int maxHealth = 0;
+        for (int i = 0; i < MagicNumbers.ROW_LENGTH; i++) {
+            int slot = slot(rowIdx, i);
+            if ((occupied & (1 << slot)) != 0
+                    && (maxHealthIndex == -1 || healthPoints[slot] > maxHealth)) {
+                maxHealth = healthPoints[slot];
+                maxHealthIndex = i;
             }
         }
+        if (maxHealthIndex != -1) {
+            removeCardFromRow(rowIdx, maxHealthIndex);
+        }
     }
 
     /**
@@ -255,18 +401,22 @@ public class Board {
      * @param row the array representing the row of cards
      */
     public void destroyHighestHealthCard(final Minion[] row) {
-        Minion maxHealthCard = null;
-        int maxHealthIndex = -1;
-        for (int i = 0; i < row.length; i++) {
-            Minion card = row[i];
-            if (card != null && (maxHealthCard == null
-                    || card.getHealthPoints() > maxHealthCard.getHealthPoints())) {
-                maxHealthCard = card;
-                maxHealthIndex = i;
-            }
+        destroyHighestHealthCard(getRowIndex(row));
+    }
+
+    /**
+     * Boosts the health of all cards in a specific row by 1.
+     *
+     * @param rowIdx the index of the row (0-3)
+     */
+    public void boostHealth(final int rowIdx) {
+        if (!isRow(rowIdx)) {
+            return;
         }
-        if (maxHealthIndex != -1) {
-            removeCardFromRow(row, maxHealthIndex);
+        for (int slot = slot(rowIdx, 0); slot < slot(rowIdx + 1, 0); slot++) {
+            if ((occupied & (1 << slot)) != 0) {
+                setHealth(slot, healthPoints[slot] + 1);
+            }
         }
     }
 
@@ -276,9 +426,21 @@ public class Board {
      * @param row the array representing the row of cards
      */
     public void boostHealth(final Minion[] row) {
-        for (Minion card : row) {
-            if (card != null) {
-                card.setHealthPoints(card.getHealthPoints() + 1);
+        boostHealth(getRowIndex(row));
+    }
+
+    /**
+     * Boosts the attack damage of all cards in a specific row by 1.
+     *
+     * @param rowIdx the index of the row (0-3)
+     */
+    public void boostAttack(final int rowIdx) {
+        if (!isRow(rowIdx)) {
+            return;
+        }
+        for (int slot = slot(rowIdx, 0); slot < slot(rowIdx + 1, 0); slot++) {
+            if ((occupied & (1 << slot)) != 0) {
+                setAttack(slot, attackDamage[slot] + 1);
             }
         }
     }
@@ -289,10 +451,295 @@ public class Board {
      * @param row the array representing the row of cards
      */
     public void boostAttack(final Minion[] row) {
-        for (Minion card : row) {
-            if (card != null) {
-                card.setAttackDamage(card.getAttackDamage() + 1);
+        boostAttack(getRowIndex(row));
+    }
+
+    /**
+     * Gets every frozen card on the board, row by row from row 0, left to right.
+     *
+     * @return the frozen cards
+     */
+    public List<Minion> getFrozenCards() {
+        List<Minion> cards = new ArrayList<>();
+        int remaining = frozen & occupied;
+        while (remaining != 0) {
+            int slot = Integer.numberOfTrailingZeros(remaining);
+            cards.add(views[slot]);
+            remaining &= remaining - 1;
+        }
+        return cards;
+    }
+
+    /**
+     * Gets the mask of the occupied slots, one bit per slot.
+     *
+     * @return the occupied mask
+     */
+    int getOccupiedMask() {
+        return occupied;
+    }
+
+    /**
+     * Gets the mask of the slots holding a tank, one bit per slot.
+     *
+     * @return the tank mask
+     */
+    int getTankMask() {
+        return tanks;
+    }
+
+    /**
+     * Gets the mask of the frozen cards, one bit per slot.
+     *
+     * @return the frozen mask
+     */
+    int getFrozenMask() {
+        return frozen;
+    }
+
+    /**
+     * Gets the mask of the cards that attacked this turn, one bit per slot.
+     *
+     * @return the has-attacked mask
+     */
+    int getHasAttackedMask() {
+        return hasAttacked;
+    }
+
+    /**
+     * Gets the bits of the two rows owned by a player.
+     *
+     * @param playerIdx the index of the player (0 or 1)
+     * @return the mask of the player's rows
+     */
+    static int getPlayerRows(final int playerIdx) {
+        return playerIdx == 0 ? PLAYER_ONE_ROWS : PLAYER_TWO_ROWS;
+    }
+
+    /**
+     * Finds the index of a row handed out by this board.
+     *
+     * @param row the array representing the row of cards
+     * @return the index of the row, or -1 if it is not one of this board's rows
+     */
+    private int getRowIndex(final Minion[] row) {
+        for (int i = 0; i < MagicNumbers.TABLE_ROWS; i++) {
+            if (rows[i] == row) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Sets the attack damage of the card in a slot.
+     *
+     * @param slot  the slot of the card
+     * @param value the new attack damage
+     */
+    private void setAttack(final int slot, final int value) {
+        journal.record(this, ATTACK, slot, attackDamage[slot], 0, null);
+        hash ^= slotKey(slot);
+        attackDamage[slot] = value;
+        hash ^= slotKey(slot);
+    }
+
+    /**
+     * Sets the health points of the card in a slot.
+     *
+     * @param slot  the slot of the card
+     * @param value the new health points
+     */
+    private void setHealth(final int slot, final int value) {
+        journal.record(this, HEALTH, slot, healthPoints[slot], 0, null);
+        hash ^= slotKey(slot);
+        healthPoints[slot] = value;
+        hash ^= slotKey(slot);
+    }
+
+    /**
+     * Sets the mask of the occupied slots.
+     *
+     * @param value the new mask
+     */
+    private void setOccupied(final int value) {
+        journal.record(this, OCCUPIED, occupied, 0, 0, null);
+        hash ^= flagsKey();
+        occupied = value;
+        hash ^= flagsKey();
+    }
+
+    /**
+     * Sets the mask of the slots holding a tank.
+     *
+     * @param value the new mask
+     */
+    private void setTanks(final int value) {
+        journal.record(this, TANKS, tanks, 0, 0, null);
+        tanks = value;
+    }
+
+    /**
+     * Sets the mask of the frozen cards.
+     *
+     * @param value the new mask
+     */
+    private void setFrozen(final int value) {
+        journal.record(this, FROZEN, frozen, 0, 0, null);
+        hash ^= flagsKey();
+        frozen = value;
+        hash ^= flagsKey();
+    }
+
+    /**
+     * Sets the mask of the cards that attacked this turn.
+     *
+     * @param value the new mask
+     */
+    private void setHasAttacked(final int value) {
+        journal.record(this, HAS_ATTACKED, hasAttacked, 0, 0, null);
+        hash ^= flagsKey();
+        hasAttacked = value;
+        hash ^= flagsKey();
+    }
+
+    /**
+     * Sets the mask of the cards that were attacked.
+     *
+     * @param value the new mask
+     */
+    private void setWasAttacked(final int value) {
+        journal.record(this, WAS_ATTACKED, wasAttacked, 0, 0, null);
+        hash ^= flagsKey();
+        wasAttacked = value;
+        hash ^= flagsKey();
+    }
+
+    /**
+     * Gets the key of the card in a slot: its type, attack damage and health points.
+     *
+     * @param slot the slot of the card
+     * @return the key of the card, or 0 if the slot is empty
+     */
+    private long slotKey(final int slot) {
+        CardDefinition definition = definitions[slot];
+        if (definition == null) {
+            return 0;
+        }
+        return Zobrist.key(Zobrist.CARD_TYPE, slot, definition.getId())
+                ^ Zobrist.key(Zobrist.CARD_ATTACK, slot, attackDamage[slot])
+                ^ Zobrist.key(Zobrist.CARD_HEALTH, slot, healthPoints[slot]);
+    }
+
+    /**
+     * Gets the combined key of the cards in a range of slots.
+     *
+     * @param first the first slot of the range
+     * @param last  the last slot of the range, included
+     * @return the key of the cards in the range
+     */
+    private long slotsKey(final int first, final int last) {
+        long key = 0;
+        for (int slot = first; slot <= last; slot++) {
+            key ^= slotKey(slot);
+        }
+        return key;
+    }
+
+    /**
+     * Gets the key of the flag masks. Only the bits of occupied slots count; the tank
+     * mask is left out, since it follows from the types of the cards.
+     *
+     * @return the key of the masks
+     */
+    private long flagsKey() {
+        return Zobrist.key(Zobrist.BOARD_FLAGS, OCCUPIED, occupied)
+                ^ Zobrist.key(Zobrist.BOARD_FLAGS, FROZEN, frozen & occupied)
+                ^ Zobrist.key(Zobrist.BOARD_FLAGS, HAS_ATTACKED, hasAttacked & occupied)
+                ^ Zobrist.key(Zobrist.BOARD_FLAGS, WAS_ATTACKED, wasAttacked & occupied);
+    }
+
+    /**
+     * Gets the key of the part of the board a recorded change touches.
+     *
+     * @param kind  the kind of the change
+     * @param first the first value of the change
+     * @return the key of the touched cards or masks
+     */
+    private long changeKey(final int kind, final int first) {
+        return switch (kind) {
+            case ATTACK, HEALTH, ADD -> slotKey(first);
+            case REMOVE -> slotsKey(first,
+                    slot(first / MagicNumbers.ROW_LENGTH, MagicNumbers.ROW_LENGTH - 1));
+            case OCCUPIED, FROZEN, HAS_ATTACKED, WAS_ATTACKED -> flagsKey();
+            default -> 0;
+        };
+    }
+
+    /**
+     * Reverts a change recorded by this board.
+     */
+    @Override
+    public void undo(final int kind, final int first, final int second, final int third,
+                     final Object object) {
+        hash ^= changeKey(kind, first);
+        revert(kind, first, second, third, object);
+        hash ^= changeKey(kind, first);
+    }
+
+    /**
+     * Reverts a change recorded by this board, leaving the hash to the caller.
+     *
+     * @param kind   the kind of the change
+     * @param first  the first value of the change
+     * @param second the second value of the change
+     * @param third  the third value of the change
+     * @param object the object of the change
+     */
+    private void revert(final int kind, final int first, final int second, final int third,
+                        final Object object) {
+        switch (kind) {
+            case ATTACK -> attackDamage[first] = second;
+            case HEALTH -> healthPoints[first] = second;
+            case ADD -> definitions[first] = null;
+            case REMOVE -> {
+                int last = slot(first / MagicNumbers.ROW_LENGTH, MagicNumbers.ROW_LENGTH - 1);
+                for (int slot = last; slot > first; slot--) {
+                    definitions[slot] = definitions[slot - 1];
+                    attackDamage[slot] = attackDamage[slot - 1];
+                    healthPoints[slot] = healthPoints[slot - 1];
+                }
+                definitions[first] = (CardDefinition) object;
+                attackDamage[first] = second;
+                healthPoints[first] = third;
+            }
+            case OCCUPIED -> {
+                int changed = occupied ^ first;
+                occupied = first;
+                for (int row = 0; row < MagicNumbers.TABLE_ROWS; row++) {
+                    if ((changed & rowMask(row)) != 0) {
+                        refreshRow(row);
+                    }
+                }
             }
+            case TANKS -> tanks = first;
+            case FROZEN -> frozen = first;
+            case HAS_ATTACKED -> hasAttacked = first;
+            case WAS_ATTACKED -> wasAttacked = first;
+            default -> { }
+        }
+    }
+
+    /**
+     * Updates the array view of a row after cards were added or removed.
+     *
+     * @param rowIdx the index of the row (0-3)
+     */
+    private void refreshRow(final int rowIdx) {
+        Minion[] row = rows[rowIdx];
+        for (int i = 0; i < MagicNumbers.ROW_LENGTH; i++) {
+            int slot = slot(rowIdx, i);
+            row[i] = (occupied & (1 << slot)) != 0 ? views[slot] : null;
         }
     }
 
@@ -302,7 +749,7 @@ public class Board {
      * @return the array representing Player 1's front row
      */
     public Minion[] getFrontRow1() {
-        return frontRow1;
+        return rows[MagicNumbers.FRONT_ROW_1_ID];
     }
 
     /**
@@ -311,7 +758,7 @@ public class Board {
      * @return the array representing Player 1's back row
      */
     public Minion[] getBackRow1() {
-        return backRow1;
+        return rows[MagicNumbers.BACK_ROW_1_ID];
     }
 
     /**
@@ -320,7 +767,7 @@ public class Board {
      * @return the array representing Player 2's front row
      */
     public Minion[] getFrontRow2() {
-        return frontRow2;
+        return rows[MagicNumbers.FRONT_ROW_2_ID];
     }
 
     /**
@@ -329,6 +776,80 @@ public class Board {
      * @return the array representing Player 2's back row
      */
     public Minion[] getBackRow2() {
-        return backRow2;
+        return rows[MagicNumbers.BACK_ROW_2_ID];
+    }
+
+    /**
+     * A view on a slot of the board. It shows whichever card is placed in the slot at the
+     * moment, and its setters write straight into the board.
+     */
+    private final class PlacedMinion extends Minion {
+        private final int slot;
+        private final int bit;
+
+        PlacedMinion(final int slot) {
+            this.slot = slot;
+            this.bit = 1 << slot;
+        }
+
+        @Override
+        public CardDefinition getDefinition() {
+            return definitions[slot];
+        }
+
+        @Override
+        public int getAttackDamage() {
+            return attackDamage[slot];
+        }
+
+        @Override
+        public void setAttackDamage(final int newAttackDamage) {
+            setAttack(slot, newAttackDamage);
+        }
+
+        @Override
+        public int getHealthPoints() {
+            return healthPoints[slot];
+        }
+
+        @Override
+        public void setHealthPoints(final int newHealthPoints) {
+            setHealth(slot, newHealthPoints);
+        }
+
+        @Override
+        public boolean isFrozen() {
+            return (frozen & bit) != 0;
+        }
+
+        @Override
+        public void setFrozen(final boolean newFrozenState) {
+            Board.this.setFrozen(newFrozenState ? frozen | bit : frozen & ~bit);
+        }
+
+        @Override
+        public boolean isAttacked() {
+            return (wasAttacked & bit) != 0;
+        }
+
+        @Override
+        public void setAttacked(final boolean isMinionAttacked) {
+            setWasAttacked(isMinionAttacked ? wasAttacked | bit : wasAttacked & ~bit);
+        }
+
+        @Override
+        public boolean hasAttacked() {
+            return (hasAttacked & bit) != 0;
+        }
+
+        @Override
+        public void setHasAttacked(final boolean newHasAttacked) {
+            Board.this.setHasAttacked(newHasAttacked ? hasAttacked | bit : hasAttacked & ~bit);
+        }
+
+        @Override
+        public boolean getTank() {
+            return (tanks & bit) != 0;
+        }
     }
 }
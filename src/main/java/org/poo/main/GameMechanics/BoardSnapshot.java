@@ -0,0 +1,134 @@
+package org.poo.main.GameMechanics;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.poo.main.Cards.CardDefinition;
+import org.poo.main.Cards.MagicNumbers;
+
+/**
+ * An immutable copy of the board and the heroes of a game, taken from its
+ * {@link SpectatorView}. It answers {@code getCardsOnTable}, {@code getPlayerHero} and
+ * {@code getFrozenCardsOnTable} with the same output nodes the game writes for them.
+ */
+public final class BoardSnapshot {
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final int[] state;
+    private final long version;
+
+    /**
+     * Constructs a {@code BoardSnapshot}.
+     *
+     * @param state   the copied state, in the layout of {@link SpectatorView}; not copied
+     * @param version the number of states published before this one, and this one
+     */
+    BoardSnapshot(final int[] state, final long version) {
+        this.state = state;
+        this.version = version;
+    }
+
+    /**
+     * Gets the version of the snapshot, which grows by one with every state published.
+     *
+     * @return the version, 0 before anything was published
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the cards on the table, as the output of {@code getCardsOnTable}.
+     *
+     * @return one array of cards per row
+     */
+    public ArrayNode getCardsOnTable() {
+        ArrayNode cardsOnTable = NODES.arrayNode();
+        for (int row = 0; row < MagicNumbers.TABLE_ROWS; row++) {
+            ArrayNode rowArray = NODES.arrayNode();
+            int base = SpectatorView.ROWS + row * SpectatorView.ROW_SIZE;
+            for (int i = 0; i < state[base]; i++) {
+                int at = base + 1 + i * SpectatorView.CARD_SIZE;
+                CardDefinition card = CardDefinition.byId(state[at + SpectatorView.CARD]);
+                ObjectNode cardNode = NODES.objectNode();
+                cardNode.put("mana", card.getManaCost());
+                cardNode.put("attackDamage", state[at + SpectatorView.ATTACK]);
+                cardNode.put("health", state[at + SpectatorView.HEALTH]);
+                cardNode.put("description", card.getDescription());
+                cardNode.set("colors", colors(card));
+                cardNode.put("name", card.getName());
+                rowArray.add(cardNode);
+            }
+            cardsOnTable.add(rowArray);
+        }
+        return cardsOnTable;
+    }
+
+    /**
+     * Gets the frozen cards on the table, as the output of {@code getFrozenCardsOnTable}.
+     *
+     * @return the frozen cards, row by row from row 0, left to right
+     */
+    public ArrayNode getFrozenCardsOnTable() {
+        ArrayNode frozenCards = NODES.arrayNode();
+        for (int row = 0; row < MagicNumbers.TABLE_ROWS; row++) {
+            int base = SpectatorView.ROWS + row * SpectatorView.ROW_SIZE;
+            for (int i = 0; i < state[base]; i++) {
+                int at = base + 1 + i * SpectatorView.CARD_SIZE;
+                if (state[at + SpectatorView.FROZEN] == 0) {
+                    continue;
+                }
+                CardDefinition card = CardDefinition.byId(state[at + SpectatorView.CARD]);
+                ObjectNode frozenCard = NODES.objectNode();
+                frozenCard.put("attackDamage", state[at + SpectatorView.ATTACK]);
+                frozenCard.set("colors", colors(card));
+                frozenCard.put("description", card.getDescription());
+                frozenCard.put("health", state[at + SpectatorView.HEALTH]);
+                frozenCard.put("mana", card.getManaCost());
+                frozenCard.put("name", card.getName());
+                frozenCards.add(frozenCard);
+            }
+        }
+        return frozenCards;
+    }
+
+    /**
+     * Gets the hero of a player, as the output of {@code getPlayerHero}.
+     *
+     * @param playerIdx the index of the player, 1 or 2
+     * @return the hero
+     * @throws IllegalArgumentException if the index is not 1 or 2
+     * @throws IllegalStateException    if no game was started when the snapshot was taken
+     */
+    public ObjectNode getPlayerHero(final int playerIdx) {
+        if (playerIdx != 1 && playerIdx != 2) {
+            throw new IllegalArgumentException("Invalid player index " + playerIdx);
+        }
+        int base = (playerIdx - 1) * SpectatorView.HERO_SIZE;
+        if (state[base + SpectatorView.HERO_CARD] == SpectatorView.NONE) {
+            throw new IllegalStateException("No game was started");
+        }
+        CardDefinition hero = CardDefinition.byId(state[base + SpectatorView.HERO_CARD]);
+        ObjectNode heroNode = NODES.objectNode();
+        heroNode.put("mana", hero.getManaCost());
+        heroNode.put("health", state[base + SpectatorView.HERO_HEALTH]);
+        heroNode.put("description", hero.getDescription());
+        heroNode.set("colors", colors(hero));
+        heroNode.put("name", hero.getName());
+        return heroNode;
+    }
+
+    /**
+     * Builds the colors of a card.
+     *
+     * @param card the card
+     * @return the colors as a JSON array
+     */
+    private static ArrayNode colors(final CardDefinition card) {
+        ArrayNode colorsNode = NODES.arrayNode();
+        for (String color : card.getColors()) {
+            colorsNode.add(color);
+        }
+        return colorsNode;
+    }
+}
@@ -0,0 +1,151 @@
+package org.poo.main.GameMechanics;
+
+import org.poo.fileio.CardInput;
+import org.poo.main.Cards.*;
+
+import java.util.List;
+
+/**
+ * Represents the deck of a player: the shuffled cards and the index of the top card.
+ * Drawing only moves the index and hands out the card found there, so it takes constant
+ * time and allocates nothing, and since the cards left in the deck are never changed, the
+ * whole deck can be saved and restored through that index. Cards in a hand are only read,
+ * so a card drawn again after a restore is the same object. The arrays are reused from one
+ * game to the next, and the shuffle order comes from the {@link ShuffleCache}.
+ *
+ * <p>For the {@link Zobrist} hash of the game, the deck keeps the combined key of the cards
+ * from every position to the bottom, computed when the deck is filled. The key of what is
+ * left is then the one at the top index, whatever was drawn. Cards are keyed by their
+ * distance to the bottom, so equal piles of remaining cards have equal keys.</p>
+ */
+public class Deck {
+    private Minion[] cards;
+    private long[] remainingKeys;
+    private int size;
+    private int top;
+
+    /**
+     * Constructs an empty {@code Deck}.
+     */
+    public Deck() {
+        cards = new Minion[0];
+        remainingKeys = new long[1];
+        size = 0;
+        top = 0;
+    }
+
+    /**
+     * Constructs a copy of a deck, with the same cards left in the same order.
+     *
+     * @param other the deck to copy
+     */
+    public Deck(final Deck other) {
+        cards = other.cards.clone();
+        remainingKeys = other.remainingKeys.clone();
+        size = other.size;
+        top = other.top;
+    }
+
+    /**
+     * Fills the deck with the given cards and shuffles it. The resulting order is the same
+     * as the one given by {@code Collections.shuffle(list, new Random(shuffleSeed))}.
+     *
+     * @param cardsInput  the cards of the deck, in input order
+     * @param shuffleSeed the seed to use for shuffling the deck
+     */
+    public void fill(final List<CardInput> cardsInput, final long shuffleSeed) {
+        size = cardsInput.size();
+        top = 0;
+        if (cards.length < size) {
+            cards = new Minion[size];
+            remainingKeys = new long[size + 1];
+        }
+        int[] permutation = ShuffleCache.permutation(size, shuffleSeed);
+        for (int i = 0; i < size; i++) {
+            cards[i] = new Minion(CardDefinition.of(cardsInput.get(permutation[i])));
+        }
+        remainingKeys[size] = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            remainingKeys[i] = remainingKeys[i + 1]
+                    ^ Zobrist.key(Zobrist.DECK_CARD, size - 1 - i,
+                    cards[i].getDefinition().getId());
+        }
+    }
+
+    /**
+     * Draws the top card of the deck.
+     *
+     * @return the drawn card, or {@code null} if the deck is empty
+     */
+    public Minion draw() {
+        if (top < size) {
+            return cards[top++];
+        }
+        return null;
+    }
+
+    /**
+     * Saves the current state of the deck.
+     *
+     * @return a mark that can be given to {@link #restore(int)}
+     */
+    public int snapshot() {
+        return top;
+    }
+
+    /**
+     * Brings the deck back to a saved state. Cards drawn since then are put back on top,
+     * in the same order.
+     *
+     * @param mark a value returned by {@link #snapshot()} since the deck was last filled
+     */
+    public void restore(final int mark) {
+        top = mark;
+    }
+
+    /**
+     * Empties the deck.
+     */
+    public void clear() {
+        size = 0;
+        top = 0;
+        remainingKeys[0] = 0;
+    }
+
+    /**
+     * Gets the part of the game's Zobrist hash that covers the cards left in the deck.
+     *
+     * @return the hash of the cards left
+     */
+    public long getHash() {
+        return remainingKeys[top];
+    }
+
+    /**
+     * Gets the number of cards left in the deck.
+     *
+     * @return the number of cards left
+     */
+    public int size() {
+        return size - top;
+    }
+
+    /**
+     * Checks if the deck has no cards left.
+     *
+     * @return {@code true} if the deck is empty; {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return top >= size;
+    }
+
+    /**
+     * Gets a card left in the deck, counting from the top.
+     *
+     * @param index the position of the card, 0 being the top
+     * @return the type of the card at that position
+     */
+    public CardDefinition get(final int index) {
+        return cards[top + index].getDefinition();
+    }
+}
@@ -1,9 +1,8 @@
 package org.poo.main.GameMechanics;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import org.poo.fileio.*;
+import org.poo.fileio.OutputSink;
 import org.poo.main.Cards.*;
 
 /**
@@ -28,12 +27,12 @@ public class ErrorHandler {
      * @param board the current game board
      * @return {@code true} if there was an error, {@code false} otherwise
      */
-    public static boolean placeErrorHandler(final ArrayNode output, final ActionsInput action,
+    public static boolean placeErrorHandler(final OutputSink output, final Instruction action,
                                             final Player[] player, final int currentPlayer,
                                             final Board board) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
-        actionNode.put("command", action.getCommand());
+        actionNode.put("command", action.getOpcode().getCommand());
 
         int handIdx = action.getHandIdx();
         Minion cardToPlace = player[currentPlayer].getCardFromHand(handIdx);
@@ -52,23 +51,7 @@ public class ErrorHandler {
             return true;
         }
 
-        int rowIdx;
-        if (currentPlayer == 0) {
-            if (player[currentPlayer].getCardFromHand(handIdx).getTank()
-                    || player[currentPlayer].getCardFromHand(handIdx).getDruid()) {
-                rowIdx = MagicNumbers.FRONT_ROW_2_ID;
-            } else {
-                rowIdx = MagicNumbers.BACK_ROW_2_ID;
-            }
-        } else {
-            if (player[currentPlayer].getCardFromHand(handIdx).getTank()
-                    || player[currentPlayer].getCardFromHand(handIdx).getDruid()) {
-                rowIdx = MagicNumbers.FRONT_ROW_1_ID;
-            } else {
-                rowIdx = MagicNumbers.BACK_ROW_1_ID;
-            }
-        }
-
+        int rowIdx = MoveGenerator.getPlacementRow(cardToPlace, currentPlayer);
         if (board.isRowFull(rowIdx)) {
             actionNode.put("error", "Cannot place card on table since row is full");
             output.add(actionNode);
@@ -86,12 +69,12 @@ public class ErrorHandler {
      * @param board the current game board
      * @return {@code true} if there was an error, {@code false} otherwise
      */
-    public static boolean getCardAtPositionErrorHandler(final ArrayNode output,
-                                                        final ActionsInput action,
+    public static boolean getCardAtPositionErrorHandler(final OutputSink output,
+                                                        final Instruction action,
                                                         final Board board) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
-        actionNode.put("command", action.getCommand());
+        actionNode.put("command", action.getOpcode().getCommand());
 
         int x = action.getX();
         int y = action.getY();
@@ -117,44 +100,49 @@ public class ErrorHandler {
      * @param currentPlayer the index of the current player
      * @return {@code true} if there was an error, {@code false} otherwise
      */
-    public static boolean carduseAttackOrAbilityErrorHandler(final ArrayNode output,
-                                                             final ActionsInput action,
+    public static boolean carduseAttackOrAbilityErrorHandler(final OutputSink output,
+                                                             final Instruction action,
                                                              final Board board,
                                                              final int currentPlayer) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
 
-        String command = action.getCommand();
-        actionNode.put("command", command);
-
-        Coordinates attackerCoords = action.getCardAttacker();
-        Coordinates attackedCoords = action.getCardAttacked();
+        Opcode opcode = action.getOpcode();
+        actionNode.put("command", opcode.getCommand());
 
-        if (attackedCoords != null) {
+        if (action.hasAttacked()) {
             ObjectNode attackedNode = objectMapper.createObjectNode();
-            attackedNode.put("x", attackedCoords.getX());
-            attackedNode.put("y", attackedCoords.getY());
+            attackedNode.put("x", action.getAttackedX());
+            attackedNode.put("y", action.getAttackedY());
             actionNode.set("cardAttacked", attackedNode);
         }
 
-        if (attackerCoords != null) {
+        if (action.hasAttacker()) {
             ObjectNode attackerNode = objectMapper.createObjectNode();
-            attackerNode.put("x", attackerCoords.getX());
-            attackerNode.put("y", attackerCoords.getY());
+            attackerNode.put("x", action.getAttackerX());
+            attackerNode.put("y", action.getAttackerY());
             actionNode.set("cardAttacker", attackerNode);
         }
 
-        Minion cardAttacker = board.getCardFromRow(attackerCoords.getX(),
-                attackerCoords.getY());
-        Minion cardAttacked = board.getCardFromRow(attackedCoords.getX(),
-                attackedCoords.getY());
+        if (!action.hasAttacker() || !action.hasAttacked()) {
+            return true;
+        }
+
+        Minion cardAttacker = board.getCardFromRow(action.getAttackerX(),
+                action.getAttackerY());
+        Minion cardAttacked = board.getCardFromRow(action.getAttackedX(),
+                action.getAttackedY());
 
         if (cardAttacker == null || cardAttacked == null) {
             return true;
         }
 
-        if (command.equals("cardUsesAttack")) {
-            if (getAttackedPlayer(attackedCoords.getX()) == currentPlayer) {
+        int attackedPlayer = getAttackedPlayer(action.getAttackedX());
+        MinionEffect effect = cardAttacker.getEffect();
+        boolean targetsAllies = effect != null && effect.targetsAllies();
+
+        if (opcode == Opcode.CARD_USES_ATTACK) {
+            if (attackedPlayer == currentPlayer) {
                 actionNode.put("error", "Attacked card does not belong to the enemy.");
                 output.add(actionNode);
                 return true;
@@ -166,8 +154,7 @@ public class ErrorHandler {
                 return true;
             }
 
-            if (board.hasTankOnRow(getAttackedPlayer(attackedCoords.getX()))
-                    && !cardAttacked.getTank()) {
+            if (board.hasTankOnRow(attackedPlayer) && !cardAttacked.getTank()) {
                 actionNode.put("error", "Attacked card is not of type 'Tank'.");
                 output.add(actionNode);
                 return true;
@@ -178,17 +165,15 @@ public class ErrorHandler {
                 output.add(actionNode);
                 return true;
             }
-        } else if (command.equals("cardUsesAbility")) {
-            if (getAttackedPlayer(attackedCoords.getX()) == currentPlayer
-                    && !"Disciple".equals(cardAttacker.getName())) {
+        } else if (opcode == Opcode.CARD_USES_ABILITY) {
+            if (attackedPlayer == currentPlayer && !targetsAllies) {
 
                 actionNode.put("error", "Attacked card does not belong to the enemy.");
                 output.add(actionNode);
                 return true;
             }
 
-            if (getAttackedPlayer(attackedCoords.getX()) != currentPlayer
-                    && "Disciple".equals(cardAttacker.getName())) {
+            if (attackedPlayer != currentPlayer && targetsAllies) {
                 actionNode.put("error", "Attacked card does not belong to the current player.");
                 output.add(actionNode);
                 return true;
@@ -206,8 +191,7 @@ public class ErrorHandler {
                 return true;
             }
 
-            if (board.hasTankOnRow(getAttackedPlayer(attackedCoords.getX()))
-                    && !cardAttacked.getTank() && !"Disciple".equals(cardAttacker.getName())) {
+            if (board.hasTankOnRow(attackedPlayer) && !cardAttacked.getTank() && !targetsAllies) {
                 actionNode.put("error", "Attacked card is not of type 'Tank'.");
                 output.add(actionNode);
                 return true;
@@ -238,32 +222,30 @@ public class ErrorHandler {
      * @param board the current game board
      * @return {@code true} if there was an error, {@code false} otherwise
      */
-    public static boolean cardAttackHeroErrorHandler(final ArrayNode output,
-                                                     final ActionsInput action,
+    public static boolean cardAttackHeroErrorHandler(final OutputSink output,
+                                                     final Instruction action,
                                                      final Board board) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
 
-        String command = action.getCommand();
+        String command = action.getOpcode().getCommand();
         actionNode.put("command", command);
 
-        Coordinates attackerCoords = action.getCardAttacker();
-
-        if (attackerCoords != null) {
+        if (action.hasAttacker()) {
             ObjectNode attackerNode = objectMapper.createObjectNode();
-            attackerNode.put("x", attackerCoords.getX());
-            attackerNode.put("y", attackerCoords.getY());
+            attackerNode.put("x", action.getAttackerX());
+            attackerNode.put("y", action.getAttackerY());
             actionNode.set("cardAttacker", attackerNode);
         }
 
-        if (attackerCoords == null) {
+        if (!action.hasAttacker()) {
             actionNode.put("error", "Invalid coordinates for attacker.");
             output.add(actionNode);
             return true;
         }
 
-        Minion cardAttacker = board.getCardFromRow(attackerCoords.getX(),
-                attackerCoords.getY());
+        Minion cardAttacker = board.getCardFromRow(action.getAttackerX(),
+                action.getAttackerY());
         if (cardAttacker == null) {
             actionNode.put("error", "Invalid attacker card.");
             output.add(actionNode);
@@ -282,7 +264,7 @@ public class ErrorHandler {
             return true;
         }
 
-        if (board.hasTankOnRow(getAttackedPlayer(3 - attackerCoords.getX()))) {
+        if (board.hasTankOnRow(getAttackedPlayer(3 - action.getAttackerX()))) {
             actionNode.put("error", "Attacked card is not of type 'Tank'.");
             output.add(actionNode);
             return true;
@@ -301,15 +283,15 @@ public class ErrorHandler {
      * @param board the current game board
      * @return {@code true} if there was an error, {@code false} otherwise
      */
-    public static boolean heroUseAbilityErrorHandler(final ArrayNode output,
-                                                     final ActionsInput action,
+    public static boolean heroUseAbilityErrorHandler(final OutputSink output,
+                                                     final Instruction action,
                                                      final Player[] player,
                                                      final int currentPlayer,
                                                      final Board board) {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode actionNode = objectMapper.createObjectNode();
 
-        String command = action.getCommand();
+        String command = action.getOpcode().getCommand();
         int affectedRow = action.getAffectedRow();
         actionNode.put("command", command);
         actionNode.put("affectedRow", affectedRow);
@@ -327,15 +309,18 @@ public class ErrorHandler {
             return true;
         }
 
-        if ((hero.getName().equals("Lord Royce") || hero.getName().equals("Empress Thorina"))
-                && board.getPlayerForRow(affectedRow) == currentPlayer) {
+        HeroEffect effect = hero.getEffect();
+        if (effect == null) {
+            return false;
+        }
+
+        if (!effect.targetsAllies() && board.getPlayerForRow(affectedRow) == currentPlayer) {
             actionNode.put("error", "Selected row does not belong to the enemy.");
             output.add(actionNode);
             return true;
         }
 
-        if ((hero.getName().equals("General Kocioraw") || hero.getName().equals("King Mudface"))
-                && board.getPlayerForRow(affectedRow) != currentPlayer) {
+        if (effect.targetsAllies() && board.getPlayerForRow(affectedRow) != currentPlayer) {
             actionNode.put("error", "Selected row does not belong to the current player.");
             output.add(actionNode);
             return true;
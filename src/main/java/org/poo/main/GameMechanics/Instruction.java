@@ -0,0 +1,202 @@
+package org.poo.main.GameMechanics;
+
+import org.poo.fileio.ActionsInput;
+import org.poo.fileio.Coordinates;
+
+/**
+ * A single decoded action: an {@link Opcode} together with the primitive operands the
+ * command needs. Instructions are decoded once from {@link ActionsInput} and can be
+ * executed any number of times.
+ */
+public final class Instruction {
+    private final Opcode opcode;
+    private final int handIdx;
+    private final boolean hasAttacker;
+    private final int attackerX;
+    private final int attackerY;
+    private final boolean hasAttacked;
+    private final int attackedX;
+    private final int attackedY;
+    private final int affectedRow;
+    private final int playerIdx;
+    private final int x;
+    private final int y;
+    private final int timeBudget;
+
+    /**
+     * Decodes an action read from the input.
+     *
+     * @param action the action to decode
+     */
+    public Instruction(final ActionsInput action) {
+        opcode = Opcode.fromCommand(action.getCommand());
+        handIdx = action.getHandIdx();
+
+        Coordinates attacker = action.getCardAttacker();
+        hasAttacker = attacker != null;
+        attackerX = hasAttacker ? attacker.getX() : 0;
+        attackerY = hasAttacker ? attacker.getY() : 0;
+
+        Coordinates attacked = action.getCardAttacked();
+        hasAttacked = attacked != null;
+        attackedX = hasAttacked ? attacked.getX() : 0;
+        attackedY = hasAttacked ? attacked.getY() : 0;
+
+        affectedRow = action.getAffectedRow();
+        playerIdx = action.getPlayerIdx();
+        x = action.getX();
+        y = action.getY();
+        timeBudget = action.getTimeBudget();
+    }
+
+    /**
+     * Decodes a move encoded with {@link Move}. The operands the move does not use are 0.
+     *
+     * @param move the move to decode
+     */
+    public Instruction(final int move) {
+        int kind = Move.getKind(move);
+        opcode = switch (kind) {
+            case Move.END_TURN -> Opcode.END_PLAYER_TURN;
+            case Move.PLACE_CARD -> Opcode.PLACE_CARD;
+            case Move.CARD_ATTACK -> Opcode.CARD_USES_ATTACK;
+            case Move.CARD_ABILITY -> Opcode.CARD_USES_ABILITY;
+            case Move.ATTACK_HERO -> Opcode.USE_ATTACK_HERO;
+            case Move.HERO_ABILITY -> Opcode.USE_HERO_ABILITY;
+            default -> Opcode.UNKNOWN;
+        };
+        handIdx = kind == Move.PLACE_CARD ? Move.getHandIdx(move) : 0;
+
+        hasAttacker = kind == Move.CARD_ATTACK || kind == Move.CARD_ABILITY
+                || kind == Move.ATTACK_HERO;
+        attackerX = hasAttacker ? Move.getAttackerX(move) : 0;
+        attackerY = hasAttacker ? Move.getAttackerY(move) : 0;
+
+        hasAttacked = kind == Move.CARD_ATTACK || kind == Move.CARD_ABILITY;
+        attackedX = hasAttacked ? Move.getAttackedX(move) : 0;
+        attackedY = hasAttacked ? Move.getAttackedY(move) : 0;
+
+        affectedRow = kind == Move.HERO_ABILITY ? Move.getAffectedRow(move) : 0;
+        playerIdx = 0;
+        x = 0;
+        y = 0;
+        timeBudget = 0;
+    }
+
+    /**
+     * Gets the decoded command.
+     *
+     * @return the opcode of the instruction
+     */
+    public Opcode getOpcode() {
+        return opcode;
+    }
+
+    /**
+     * Gets the index of the card in hand.
+     *
+     * @return the hand index
+     */
+    public int getHandIdx() {
+        return handIdx;
+    }
+
+    /**
+     * Checks if the action names an attacker card.
+     *
+     * @return {@code true} if the attacker coordinates are present
+     */
+    public boolean hasAttacker() {
+        return hasAttacker;
+    }
+
+    /**
+     * Gets the row of the attacker card.
+     *
+     * @return the attacker row
+     */
+    public int getAttackerX() {
+        return attackerX;
+    }
+
+    /**
+     * Gets the column of the attacker card.
+     *
+     * @return the attacker column
+     */
+    public int getAttackerY() {
+        return attackerY;
+    }
+
+    /**
+     * Checks if the action names an attacked card.
+     *
+     * @return {@code true} if the attacked coordinates are present
+     */
+    public boolean hasAttacked() {
+        return hasAttacked;
+    }
+
+    /**
+     * Gets the row of the attacked card.
+     *
+     * @return the attacked row
+     */
+    public int getAttackedX() {
+        return attackedX;
+    }
+
+    /**
+     * Gets the column of the attacked card.
+     *
+     * @return the attacked column
+     */
+    public int getAttackedY() {
+        return attackedY;
+    }
+
+    /**
+     * Gets the row affected by a hero ability.
+     *
+     * @return the affected row
+     */
+    public int getAffectedRow() {
+        return affectedRow;
+    }
+
+    /**
+     * Gets the player index the command refers to (1 or 2).
+     *
+     * @return the player index
+     */
+    public int getPlayerIdx() {
+        return playerIdx;
+    }
+
+    /**
+     * Gets the row of the queried position.
+     *
+     * @return the row index
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Gets the column of the queried position.
+     *
+     * @return the column index
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Gets the time budget of a search command.
+     *
+     * @return the budget in milliseconds, or 0 if none was given
+     */
+    public int getTimeBudget() {
+        return timeBudget;
+    }
+}
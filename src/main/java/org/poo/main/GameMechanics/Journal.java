@@ -0,0 +1,161 @@
+package org.poo.main.GameMechanics;
+
+/**
+ * An undo log for the state of a game. While recording, the board, the players, the
+ * heroes and the game write every primitive change they make (a stat, a flag mask, a row
+ * shift, mana, the hand, the deck, the turn) before making it. Going back to a
+ * {@link #mark()} then reverts those changes in reverse order, in time proportional to
+ * their number. Entries are kept in parallel arrays, so neither recording nor undoing
+ * allocates once the arrays are large enough.
+ *
+ * <p>A journal is not thread safe; every game has its own.</p>
+ */
+public final class Journal {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private Journaled[] targets;
+    private int[] kinds;
+    private int[] firsts;
+    private int[] seconds;
+    private int[] thirds;
+    private Object[] objects;
+    private int size;
+    private boolean recording;
+
+    /**
+     * Constructs an empty {@code Journal} that is not recording.
+     */
+    public Journal() {
+        targets = new Journaled[INITIAL_CAPACITY];
+        kinds = new int[INITIAL_CAPACITY];
+        firsts = new int[INITIAL_CAPACITY];
+        seconds = new int[INITIAL_CAPACITY];
+        thirds = new int[INITIAL_CAPACITY];
+        objects = new Object[INITIAL_CAPACITY];
+        size = 0;
+        recording = false;
+    }
+
+    /**
+     * Starts recording changes.
+     */
+    public void startRecording() {
+        recording = true;
+    }
+
+    /**
+     * Stops recording changes. The entries already recorded are kept.
+     */
+    public void stopRecording() {
+        recording = false;
+    }
+
+    /**
+     * Checks if changes are being recorded.
+     *
+     * @return {@code true} if the journal is recording; {@code false} otherwise
+     */
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Records a change. Does nothing unless the journal is recording.
+     *
+     * @param target the object that made the change and can revert it
+     * @param kind   the kind of change, chosen by the target
+     * @param first  the first value needed to revert the change
+     * @param second the second value needed to revert the change
+     * @param third  the third value needed to revert the change
+     * @param object the object needed to revert the change, or {@code null}
+     */
+    public void record(final Journaled target, final int kind, final int first,
+                       final int second, final int third, final Object object) {
+        if (!recording) {
+            return;
+        }
+        if (size == kinds.length) {
+            grow();
+        }
+        targets[size] = target;
+        kinds[size] = kind;
+        firsts[size] = first;
+        seconds[size] = second;
+        thirds[size] = third;
+        objects[size] = object;
+        size++;
+    }
+
+    /**
+     * Gets the current position of the journal.
+     *
+     * @return a mark that can be given to {@link #undoTo(int)}
+     */
+    public int mark() {
+        return size;
+    }
+
+    /**
+     * Reverts every change recorded since the given mark, newest first.
+     *
+     * @param mark a value returned by {@link #mark()}
+     */
+    public void undoTo(final int mark) {
+        boolean wasRecording = recording;
+        recording = false;
+        while (size > mark) {
+            size--;
+            Journaled target = targets[size];
+            Object object = objects[size];
+            targets[size] = null;
+            objects[size] = null;
+            target.undo(kinds[size], firsts[size], seconds[size], thirds[size], object);
+        }
+        recording = wasRecording;
+    }
+
+    /**
+     * Forgets every recorded change, without reverting them.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            targets[i] = null;
+            objects[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Gets the number of recorded changes.
+     *
+     * @return the number of entries in the journal
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the capacity of the journal.
+     */
+    private void grow() {
+        int capacity = kinds.length * 2;
+        Journaled[] newTargets = new Journaled[capacity];
+        int[] newKinds = new int[capacity];
+        int[] newFirsts = new int[capacity];
+        int[] newSeconds = new int[capacity];
+        int[] newThirds = new int[capacity];
+        Object[] newObjects = new Object[capacity];
+        System.arraycopy(targets, 0, newTargets, 0, size);
+        System.arraycopy(kinds, 0, newKinds, 0, size);
+        System.arraycopy(firsts, 0, newFirsts, 0, size);
+        System.arraycopy(seconds, 0, newSeconds, 0, size);
+        System.arraycopy(thirds, 0, newThirds, 0, size);
+        System.arraycopy(objects, 0, newObjects, 0, size);
+        targets = newTargets;
+        kinds = newKinds;
+        firsts = newFirsts;
+        seconds = newSeconds;
+        thirds = newThirds;
+        objects = newObjects;
+    }
+}
@@ -0,0 +1,18 @@
+package org.poo.main.GameMechanics;
+
+/**
+ * Implemented by the parts of a game whose changes can be recorded in a {@link Journal}.
+ * Each part records its own entries, with its own kinds, and knows how to revert them.
+ */
+public interface Journaled {
+    /**
+     * Reverts a change recorded by this object.
+     *
+     * @param kind   the kind of change, as given when it was recorded
+     * @param first  the first value recorded with the change
+     * @param second the second value recorded with the change
+     * @param third  the third value recorded with the change
+     * @param object the object recorded with the change, or {@code null}
+     */
+    void undo(int kind, int first, int second, int third, Object object);
+}
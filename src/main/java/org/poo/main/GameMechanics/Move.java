@@ -0,0 +1,175 @@
+package org.poo.main.GameMechanics;
+
+/**
+ * Packs the actions that change a game into a single {@code int}, so that lists of moves
+ * can be kept in primitive buffers. The kind of the move sits above bit 16; below it are
+ * the hand index, the four coordinates of an attack (4 bits each) or the affected row.
+ */
+public final class Move {
+    public static final int END_TURN = 0;
+    public static final int PLACE_CARD = 1;
+    public static final int CARD_ATTACK = 2;
+    public static final int CARD_ABILITY = 3;
+    public static final int ATTACK_HERO = 4;
+    public static final int HERO_ABILITY = 5;
+
+    private static final int KIND_SHIFT = 16;
+    private static final int OPERAND_MASK = (1 << KIND_SHIFT) - 1;
+    private static final int FIELD_BITS = 4;
+    private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+    private static final int ATTACKER_X_SHIFT = 3 * FIELD_BITS;
+    private static final int ATTACKER_Y_SHIFT = 2 * FIELD_BITS;
+    private static final int ATTACKED_X_SHIFT = FIELD_BITS;
+
+    private Move() {
+        throw new UnsupportedOperationException("This class is static");
+    }
+
+    /**
+     * Encodes ending the current player's turn.
+     *
+     * @return the move
+     */
+    public static int endTurn() {
+        return END_TURN << KIND_SHIFT;
+    }
+
+    /**
+     * Encodes placing a card from the hand.
+     *
+     * @param handIdx the index of the card in the hand
+     * @return the move
+     */
+    public static int placeCard(final int handIdx) {
+        return PLACE_CARD << KIND_SHIFT | handIdx;
+    }
+
+    /**
+     * Encodes a card attacking another card.
+     *
+     * @param attackerX the row of the attacker
+     * @param attackerY the column of the attacker
+     * @param attackedX the row of the attacked card
+     * @param attackedY the column of the attacked card
+     * @return the move
+     */
+    public static int cardAttack(final int attackerX, final int attackerY,
+                                 final int attackedX, final int attackedY) {
+        return CARD_ATTACK << KIND_SHIFT | coordinates(attackerX, attackerY, attackedX, attackedY);
+    }
+
+    /**
+     * Encodes a card using its ability on another card.
+     *
+     * @param attackerX the row of the card using the ability
+     * @param attackerY the column of the card using the ability
+     * @param attackedX the row of the target
+     * @param attackedY the column of the target
+     * @return the move
+     */
+    public static int cardAbility(final int attackerX, final int attackerY,
+                                  final int attackedX, final int attackedY) {
+        return CARD_ABILITY << KIND_SHIFT
+                | coordinates(attackerX, attackerY, attackedX, attackedY);
+    }
+
+    /**
+     * Encodes a card attacking the enemy hero.
+     *
+     * @param attackerX the row of the attacker
+     * @param attackerY the column of the attacker
+     * @return the move
+     */
+    public static int attackHero(final int attackerX, final int attackerY) {
+        return ATTACK_HERO << KIND_SHIFT | coordinates(attackerX, attackerY, 0, 0);
+    }
+
+    /**
+     * Encodes the current hero using its ability on a row.
+     *
+     * @param affectedRow the index of the row
+     * @return the move
+     */
+    public static int heroAbility(final int affectedRow) {
+        return HERO_ABILITY << KIND_SHIFT | affectedRow;
+    }
+
+    /**
+     * Packs the coordinates of an attacker and of its target.
+     */
+    private static int coordinates(final int attackerX, final int attackerY,
+                                   final int attackedX, final int attackedY) {
+        return attackerX << ATTACKER_X_SHIFT | attackerY << ATTACKER_Y_SHIFT
+                | attackedX << ATTACKED_X_SHIFT | attackedY;
+    }
+
+    /**
+     * Gets the kind of a move.
+     *
+     * @param move the move
+     * @return one of the kind constants of this class
+     */
+    public static int getKind(final int move) {
+        return move >>> KIND_SHIFT;
+    }
+
+    /**
+     * Gets the hand index of a {@link #PLACE_CARD} move.
+     *
+     * @param move the move
+     * @return the hand index
+     */
+    public static int getHandIdx(final int move) {
+        return move & OPERAND_MASK;
+    }
+
+    /**
+     * Gets the row of the attacker of a move.
+     *
+     * @param move the move
+     * @return the attacker row
+     */
+    public static int getAttackerX(final int move) {
+        return (move >>> ATTACKER_X_SHIFT) & FIELD_MASK;
+    }
+
+    /**
+     * Gets the column of the attacker of a move.
+     *
+     * @param move the move
+     * @return the attacker column
+     */
+    public static int getAttackerY(final int move) {
+        return (move >>> ATTACKER_Y_SHIFT) & FIELD_MASK;
+    }
+
+    /**
+     * Gets the row of the attacked card of a move.
+     *
+     * @param move the move
+     * @return the attacked row
+     */
+    public static int getAttackedX(final int move) {
+        return (move >>> ATTACKED_X_SHIFT) & FIELD_MASK;
+    }
+
+    /**
+     * Gets the column of the attacked card of a move.
+     *
+     * @param move the move
+     * @return the attacked column
+     */
+    public static int getAttackedY(final int move) {
+        return move & FIELD_MASK;
+    }
+
+    /**
+     * Gets the affected row of a {@link #HERO_ABILITY} move.
+     *
+     * @param move the move
+     * @return the affected row
+     */
+    public static int getAffectedRow(final int move) {
+        return move & OPERAND_MASK;
+    }
+}
@@ -0,0 +1,130 @@
+package org.poo.main.GameMechanics;
+
+import org.poo.main.Cards.*;
+
+/**
+ * Lists the legal moves of the current player, encoded with {@link Move}, into a buffer
+ * given by the caller. The rules are the ones checked by the {@link ErrorHandler}: a
+ * listed move is exactly one the game would play without reporting an error. Like the
+ * game, the generator does not check who owns the attacking card; it does skip abilities
+ * of cards that have none, which the game ignores.
+ *
+ * <p>Cards are found through the masks of the {@link Board}, so generating moves does not
+ * allocate.</p>
+ */
+public final class MoveGenerator {
+    private static final int SLOTS = MagicNumbers.TABLE_ROWS * MagicNumbers.ROW_LENGTH;
+    private static final int BOARD_MOVES = 1 + 2 * SLOTS * SLOTS + SLOTS
+            + MagicNumbers.TABLE_ROWS;
+
+    private MoveGenerator() {
+        throw new UnsupportedOperationException("This class is static");
+    }
+
+    /**
+     * Gets the buffer size needed to hold every move of a player.
+     *
+     * @param handSize the number of cards in the player's hand
+     * @return the minimum buffer length
+     */
+    public static int getCapacity(final int handSize) {
+        return BOARD_MOVES + handSize;
+    }
+
+    /**
+     * Lists the legal moves of the current player. Ending the turn is always legal and
+     * comes first.
+     *
+     * @param board         the current game board
+     * @param player        the array of players in the game
+     * @param currentPlayer the index of the current player
+     * @param moves         the buffer the moves are written to, from index 0
+     * @return the number of moves written
+     * @throws IllegalArgumentException if the buffer is shorter than
+     *                                  {@link #getCapacity(int)}
+     */
+    public static int generate(final Board board, final Player[] player,
+                               final int currentPlayer, final int[] moves) {
+        Player current = player[currentPlayer];
+        if (moves.length < getCapacity(current.getHand().size())) {
+            throw new IllegalArgumentException("Move buffer too small: " + moves.length);
+        }
+
+        int count = 0;
+        moves[count++] = Move.endTurn();
+
+        int mana = current.getMana();
+        for (int handIdx = 0; handIdx < current.getHand().size(); handIdx++) {
+            Minion card = current.getHand().get(handIdx);
+            if (mana >= card.getManaCost()
+                    && !board.isRowFull(getPlacementRow(card, currentPlayer))) {
+                moves[count++] = Move.placeCard(handIdx);
+            }
+        }
+
+        int enemy = 1 - currentPlayer;
+        int occupied = board.getOccupiedMask();
+        int ready = occupied & ~board.getFrozenMask() & ~board.getHasAttackedMask();
+        int enemyTargets = occupied & Board.getPlayerRows(enemy);
+        if (board.hasTankOnRow(enemy)) {
+            enemyTargets &= board.getTankMask();
+        }
+        int allyTargets = occupied & Board.getPlayerRows(currentPlayer);
+
+        for (int attackers = ready; attackers != 0; attackers &= attackers - 1) {
+            int slot = Integer.numberOfTrailingZeros(attackers);
+            int attackerX = slot / MagicNumbers.ROW_LENGTH;
+            int attackerY = slot % MagicNumbers.ROW_LENGTH;
+
+            for (int targets = enemyTargets; targets != 0; targets &= targets - 1) {
+                int target = Integer.numberOfTrailingZeros(targets);
+                moves[count++] = Move.cardAttack(attackerX, attackerY,
+                        target / MagicNumbers.ROW_LENGTH, target % MagicNumbers.ROW_LENGTH);
+            }
+
+            MinionEffect effect = board.getCardFromRow(attackerX, attackerY).getEffect();
+            if (effect != null) {
+                int abilityTargets = effect.targetsAllies() ? allyTargets : enemyTargets;
+                for (int targets = abilityTargets; targets != 0; targets &= targets - 1) {
+                    int target = Integer.numberOfTrailingZeros(targets);
+                    moves[count++] = Move.cardAbility(attackerX, attackerY,
+                            target / MagicNumbers.ROW_LENGTH, target % MagicNumbers.ROW_LENGTH);
+                }
+            }
+
+            int heroOwner = attackerX == MagicNumbers.BACK_ROW_1_ID
+                    || attackerX == MagicNumbers.FRONT_ROW_1_ID ? 0 : 1;
+            if (!board.hasTankOnRow(heroOwner)) {
+                moves[count++] = Move.attackHero(attackerX, attackerY);
+            }
+        }
+
+        Hero hero = current.getHeroNormal();
+        if (mana >= hero.getManaCost() && !hero.hasAttacked()) {
+            HeroEffect effect = hero.getEffect();
+            for (int row = 0; row < MagicNumbers.TABLE_ROWS; row++) {
+                boolean ownRow = board.getPlayerForRow(row) == currentPlayer;
+                if (effect == null || effect.targetsAllies() == ownRow) {
+                    moves[count++] = Move.heroAbility(row);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the row a card from the hand is placed on: the front row for tanks and druids,
+     * the back row for the others.
+     *
+     * @param card          the card to place
+     * @param currentPlayer the index of the player placing it
+     * @return the index of the row
+     */
+    public static int getPlacementRow(final Minion card, final int currentPlayer) {
+        boolean front = card.getTank() || card.getDruid();
+        if (currentPlayer == 0) {
+            return front ? MagicNumbers.FRONT_ROW_2_ID : MagicNumbers.BACK_ROW_2_ID;
+        }
+        return front ? MagicNumbers.FRONT_ROW_1_ID : MagicNumbers.BACK_ROW_1_ID;
+    }
+}
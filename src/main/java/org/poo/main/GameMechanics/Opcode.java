@@ -0,0 +1,93 @@
+package org.poo.main.GameMechanics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The commands understood by the game, decoded once from their string form so the
+ * engine can dispatch on them without comparing strings.
+ */
+public enum Opcode {
+    GET_PLAYER_DECK("getPlayerDeck"),
+    GET_PLAYER_HERO("getPlayerHero"),
+    GET_PLAYER_TURN("getPlayerTurn"),
+    GET_CARDS_IN_HAND("getCardsInHand"),
+    END_PLAYER_TURN("endPlayerTurn", true),
+    GET_PLAYER_MANA("getPlayerMana"),
+    GET_CARDS_ON_TABLE("getCardsOnTable"),
+    PLACE_CARD("placeCard", true),
+    CARD_USES_ATTACK("cardUsesAttack", true),
+    CARD_USES_ABILITY("cardUsesAbility", true),
+    USE_ATTACK_HERO("useAttackHero", true),
+    USE_HERO_ABILITY("useHeroAbility", true),
+    GET_CARD_AT_POSITION("getCardAtPosition"),
+    GET_FROZEN_CARDS_ON_TABLE("getFrozenCardsOnTable"),
+    GET_TOTAL_GAMES_PLAYED("getTotalGamesPlayed"),
+    GET_PLAYER_ONE_WINS("getPlayerOneWins"),
+    GET_PLAYER_TWO_WINS("getPlayerTwoWins"),
+    SUGGEST_MOVE("suggestMove"),
+    SOLVE_ENDGAME("solveEndgame"),
+    UNKNOWN(null);
+
+    private static final Map<String, Opcode> BY_COMMAND = new HashMap<>();
+
+    static {
+        for (Opcode opcode : values()) {
+            if (opcode.command != null) {
+                BY_COMMAND.put(opcode.command, opcode);
+            }
+        }
+    }
+
+    private final String command;
+    private final boolean changesState;
+
+    Opcode(final String command) {
+        this(command, false);
+    }
+
+    Opcode(final String command, final boolean changesState) {
+        this.command = command;
+        this.changesState = changesState;
+    }
+
+    /**
+     * Gets the command name written in the input and output files.
+     *
+     * @return the command name, or {@code null} for unknown commands
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Checks if the command may change the game, rather than only report on it.
+     *
+     * @return {@code true} for the moves of the players
+     */
+    public boolean changesState() {
+        return changesState;
+    }
+
+    /**
+     * Checks if the command searches ahead, for as long as its time budget allows.
+     *
+     * @return {@code true} for {@code suggestMove} and {@code solveEndgame}
+     */
+    public boolean isSearch() {
+        return this == SUGGEST_MOVE || this == SOLVE_ENDGAME;
+    }
+
+    /**
+     * Decodes a command name.
+     *
+     * @param command the command name from the input
+     * @return the matching opcode, or {@link #UNKNOWN} if the command is not supported
+     */
+    public static Opcode fromCommand(final String command) {
+        if (command == null) {
+            return UNKNOWN;
+        }
+        return BY_COMMAND.getOrDefault(command, UNKNOWN);
+    }
+}
@@ -8,28 +8,64 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import static java.util.Collections.shuffle;
-
 /**
  * Represents a player in the game, including their mana, deck, hero, hand, and rows of cards.
  * Provides methods for managing the player's deck, hand, and game state.
+ * Changes made during a game are recorded in the game's {@link Journal} when it is recording.
+ * The player also keeps the keys of its mana and hand for the {@link Zobrist} hash of the game.
  */
-public class Player {
+public class Player implements Journaled {
+    private static final int MANA = 0;
+    private static final int GAMES_WON = 1;
+    private static final int HAND_ADD = 2;
+    private static final int HAND_REMOVE = 3;
+    private static final int DECK = 4;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private int mana;
-    private ArrayList<Minion> deck;
+    private final Deck deck;
     private Hero hero;
     private ArrayList<Minion> hand;
     private int gamesWon;
-    private ObjectMapper objectMapper = new ObjectMapper();
+    private long hash;
+    private final Journal journal;
 
     /**
      * Constructs a new player with default values for mana, deck, hand, front row, and back row.
      */
     public Player() {
+        this(new Journal());
+    }
+
+    /**
+     * Constructs a new player that records its changes in the given journal.
+     *
+     * @param journal the journal of the game the player belongs to
+     */
+    public Player(final Journal journal) {
+        this.journal = journal;
         mana = 0;
-        deck = new ArrayList<>();
+        deck = new Deck();
         hand = new ArrayList<>();
         gamesWon = 0;
+        hash = manaKey(mana);
+    }
+
+    /**
+     * Constructs a copy of a player, recording its changes in the given journal.
+     * The cards in the hand are shared, since they are never changed.
+     *
+     * @param other   the player to copy
+     * @param journal the journal of the game the copy belongs to
+     */
+    public Player(final Player other, final Journal journal) {
+        this.journal = journal;
+        mana = other.mana;
+        deck = new Deck(other.deck);
+        hero = other.hero == null ? null : new Hero(other.hero, journal);
+        hand = new ArrayList<>(other.hand);
+        gamesWon = other.gamesWon;
+        hash = other.hash;
     }
 
     /**
@@ -38,7 +74,7 @@ public class Player {
      * @param amount The amount of mana to add.
      */
     public void addMana(final int amount) {
-        mana += amount;
+        setMana(mana + amount);
     }
 
     /**
@@ -49,7 +85,7 @@ public class Player {
      */
     public boolean useMana(final int cost) {
         if (mana >= cost) {
-            mana -= cost;
+            setMana(mana - cost);
             return true;
         }
         return false;
@@ -62,6 +98,7 @@ public class Player {
         mana = 0;
         deck.clear();
         hand.clear();
+        hash = manaKey(mana);
     }
 
     /**
@@ -73,18 +110,7 @@ public class Player {
      */
     public void setDeck(final DecksInput decksInput, final int deckIdx, final long shuffleSeed) {
         if (deckIdx >= 0 && deckIdx < decksInput.getDecks().size()) {
-            ArrayList<Minion> selectedDeck = new ArrayList<>();
-            List<CardInput> cardsInput = decksInput.getDecks().get(deckIdx);
-
-            for (CardInput cardInput : cardsInput) {
-                Minion card = new Minion(cardInput.getName(), cardInput.getMana(),
-                        cardInput.getAttackDamage(), cardInput.getHealth(),
-                        cardInput.getDescription(), cardInput.getColors());
-                selectedDeck.add(card);
-            }
-            Random random = new Random(shuffleSeed);
-            shuffle(selectedDeck, random);
-            deck = selectedDeck;
+            deck.fill(decksInput.getDecks().get(deckIdx), shuffleSeed);
         }
     }
 
@@ -94,9 +120,8 @@ public class Player {
      * @param heroInput The input containing hero information.
      */
     public void setHero(final CardInput heroInput) {
-        this.hero = new Hero(heroInput.getName(), heroInput.getMana(),
-                MagicNumbers.STARTING_HELO_HP, heroInput.getDescription(),
-                heroInput.getColors());
+        this.hero = new Hero(CardDefinition.of(heroInput), MagicNumbers.STARTING_HELO_HP,
+                journal);
     }
 
     /**
@@ -105,15 +130,16 @@ public class Player {
      * @return A JSON array representing the player's deck.
      */
     public ArrayNode printDeck() {
-        ArrayNode arrayNode = objectMapper.createArrayNode();
-        for (Card card : deck) {
-            ObjectNode cardNode = objectMapper.createObjectNode();
+        ArrayNode arrayNode = OBJECT_MAPPER.createArrayNode();
+        for (int i = 0; i < deck.size(); i++) {
+            CardDefinition card = deck.get(i);
+            ObjectNode cardNode = OBJECT_MAPPER.createObjectNode();
             cardNode.put("mana", card.getManaCost());
             cardNode.put("attackDamage", card.getAttackDamage());
             cardNode.put("health", card.getHealthPoints());
             cardNode.put("description", card.getDescription());
 
-            ArrayNode colorsNode = objectMapper.createArrayNode();
+            ArrayNode colorsNode = OBJECT_MAPPER.createArrayNode();
             for (String color : card.getColors()) {
                 colorsNode.add(color);
             }
@@ -131,13 +157,13 @@ public class Player {
      * @return A JSON object representing the player's hero.
      */
     public ObjectNode getHero() {
-        ObjectNode heroNode = objectMapper.createObjectNode();
+        ObjectNode heroNode = OBJECT_MAPPER.createObjectNode();
 
         heroNode.put("mana", hero.getManaCost());
         heroNode.put("health", hero.getHealthPoints());
         heroNode.put("description", hero.getDescription());
 
-        ArrayNode colorsArray = objectMapper.createArrayNode();
+        ArrayNode colorsArray = OBJECT_MAPPER.createArrayNode();
         for (String color : hero.getColors()) {
             colorsArray.add(color);
         }
@@ -162,6 +188,8 @@ public class Player {
      * @param card The card to add to the hand.
      */
     public void addCardToHand(final Minion card) {
+        journal.record(this, HAND_ADD, 0, 0, 0, null);
+        hash ^= handKey(hand.size(), card);
         hand.add(card);
     }
 
@@ -172,7 +200,10 @@ public class Player {
      */
     public void removeCardFromHand(final int index) {
         if (index >= 0 && index < hand.size()) {
+            journal.record(this, HAND_REMOVE, index, 0, 0, hand.get(index));
+            hash ^= handKeys(index);
             hand.remove(index);
+            hash ^= handKeys(index);
         }
     }
 
@@ -182,10 +213,17 @@ public class Player {
      * @return The drawn card, or null if the deck is empty.
      */
     public Minion drawCard() {
-        if (!deck.isEmpty()) {
-            return deck.remove(0);
-        }
-        return null;
+        journal.record(this, DECK, deck.snapshot(), 0, 0, null);
+        return deck.draw();
+    }
+
+    /**
+     * Gets the player's deck.
+     *
+     * @return The player's deck.
+     */
+    public Deck getDeck() {
+        return deck;
     }
 
     /**
@@ -212,6 +250,8 @@ public class Player {
      * @param mana The new mana value.
      */
     public void setMana(final int mana) {
+        journal.record(this, MANA, this.mana, 0, 0, null);
+        hash ^= manaKey(this.mana) ^ manaKey(mana);
         this.mana = mana;
     }
 
@@ -234,9 +274,84 @@ public class Player {
      * @param gamesWon The number of games the player has won.
      */
     public void setGamesWon(final int gamesWon) {
+        journal.record(this, GAMES_WON, this.gamesWon, 0, 0, null);
         this.gamesWon = gamesWon;
     }
 
+    /**
+     * Gets the part of the game's Zobrist hash that covers the player: the mana, the hand,
+     * the cards left in the deck and the hero. The games won are not part of the state of
+     * a game, so they are left out.
+     *
+     * @return the hash of the player's state
+     */
+    public long getHash() {
+        long heroHash = hero == null ? 0 : hero.getHash();
+        return hash ^ deck.getHash() ^ heroHash;
+    }
+
+    /**
+     * Gets the key of an amount of mana.
+     *
+     * @param value the mana
+     * @return the key of the mana
+     */
+    private static long manaKey(final int value) {
+        return Zobrist.key(Zobrist.MANA, 0, value);
+    }
+
+    /**
+     * Gets the key of a card at a position of the hand.
+     *
+     * @param index the position in the hand
+     * @param card  the card
+     * @return the key of the card at that position
+     */
+    private static long handKey(final int index, final Minion card) {
+        return Zobrist.key(Zobrist.HAND_CARD, index, card.getDefinition().getId());
+    }
+
+    /**
+     * Gets the combined key of the cards of the hand from a position to the end.
+     *
+     * @param from the first position
+     * @return the key of those cards
+     */
+    private long handKeys(final int from) {
+        long key = 0;
+        for (int i = from; i < hand.size(); i++) {
+            key ^= handKey(i, hand.get(i));
+        }
+        return key;
+    }
+
+    /**
+     * Reverts a change recorded by this player.
+     */
+    @Override
+    public void undo(final int kind, final int first, final int second, final int third,
+                     final Object object) {
+        switch (kind) {
+            case MANA -> {
+                hash ^= manaKey(mana) ^ manaKey(first);
+                mana = first;
+            }
+            case GAMES_WON -> gamesWon = first;
+            case HAND_ADD -> {
+                int last = hand.size() - 1;
+                hash ^= handKey(last, hand.get(last));
+                hand.remove(last);
+            }
+            case HAND_REMOVE -> {
+                hash ^= handKeys(first);
+                hand.add(first, (Minion) object);
+                hash ^= handKeys(first);
+            }
+            case DECK -> deck.restore(first);
+            default -> { }
+        }
+    }
+
     /**
      * Gets the number of games the player has won.
      *
@@ -0,0 +1,125 @@
+package org.poo.main.GameMechanics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the permutations used to shuffle the decks. A shuffle only depends on the size
+ * of the deck and on the seed, and recorded matches reuse a few of both, so each
+ * permutation is computed once and kept in a bounded, least recently used cache shared by
+ * every game.
+ */
+public final class ShuffleCache {
+    private static final int CAPACITY = 1024;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private static final Map<Key, int[]> CACHE =
+            new LinkedHashMap<>(CAPACITY, LOAD_FACTOR, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Key, int[]> eldest) {
+                    return size() > CAPACITY;
+                }
+            };
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private ShuffleCache() {
+        throw new UnsupportedOperationException("This class is static");
+    }
+
+    /**
+     * Gets the permutation that shuffles a deck of the given size with the given seed:
+     * after the shuffle, position {@code i} holds the card that was at position
+     * {@code permutation[i]}. The result matches
+     * {@code Collections.shuffle(list, new Random(seed))}.
+     * The returned array is shared and must not be modified.
+     *
+     * @param size the number of cards in the deck
+     * @param seed the seed of the shuffle
+     * @return the cached permutation
+     */
+    public static int[] permutation(final int size, final long seed) {
+        Key key = new Key(size, seed);
+        int[] permutation;
+        synchronized (CACHE) {
+            permutation = CACHE.get(key);
+        }
+        if (permutation != null) {
+            HITS.incrementAndGet();
+            return permutation;
+        }
+
+        MISSES.incrementAndGet();
+        permutation = compute(size, seed);
+        synchronized (CACHE) {
+            int[] raced = CACHE.putIfAbsent(key, permutation);
+            return raced == null ? permutation : raced;
+        }
+    }
+
+    /**
+     * Runs the shuffle of {@code Collections.shuffle} on the identity permutation.
+     *
+     * @param size the number of cards in the deck
+     * @param seed the seed of the shuffle
+     * @return the new permutation
+     */
+    private static int[] compute(final int size, final long seed) {
+        int[] permutation = new int[size];
+        for (int i = 0; i < size; i++) {
+            permutation[i] = i;
+        }
+
+        Random random = new Random(seed);
+        for (int i = size; i > 1; i--) {
+            int j = random.nextInt(i);
+            int temp = permutation[i - 1];
+            permutation[i - 1] = permutation[j];
+            permutation[j] = temp;
+        }
+        return permutation;
+    }
+
+    /**
+     * Gets the number of permutations found in the cache.
+     *
+     * @return the number of cache hits
+     */
+    public static long getHits() {
+        return HITS.get();
+    }
+
+    /**
+     * Gets the number of permutations that had to be computed.
+     *
+     * @return the number of cache misses
+     */
+    public static long getMisses() {
+        return MISSES.get();
+    }
+
+    /**
+     * The size and seed a permutation is cached by.
+     */
+    private static final class Key {
+        private final int size;
+        private final long seed;
+
+        Key(final int size, final long seed) {
+            this.size = size;
+            this.seed = seed;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Key other && size == other.size && seed == other.seed;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(seed) ^ size;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.poo.main.GameMechanics;
+
+import org.poo.main.Cards.Hero;
+import org.poo.main.Cards.MagicNumbers;
+import org.poo.main.Cards.Minion;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Lets any number of threads read the board and the heroes of a game while another thread
+ * plays it. After every command that changes the game, the thread playing it copies the
+ * cards on the table and the heroes into a compact array of ints, under the write lock of
+ * a {@link StampedLock}; readers copy the array back out under an optimistic read and
+ * retry if a write slipped in between, so they never take a lock the game would wait for
+ * and never see a command half applied.
+ *
+ * <p>Each row holds its count, then its cards from left to right, each a card id, attack,
+ * health and frozen flag; card ids are {@link org.poo.main.Cards.CardDefinition#getId()}.
+ * The heroes come first, as a card id and health each.</p>
+ */
+public final class SpectatorView {
+    static final int NONE = -1;
+    static final int HERO_CARD = 0;
+    static final int HERO_HEALTH = 1;
+    static final int HERO_SIZE = 2;
+    static final int ROWS = 2 * HERO_SIZE;
+    static final int CARD = 0;
+    static final int ATTACK = 1;
+    static final int HEALTH = 2;
+    static final int FROZEN = 3;
+    static final int CARD_SIZE = 4;
+    static final int ROW_SIZE = 1 + MagicNumbers.ROW_LENGTH * CARD_SIZE;
+    static final int SIZE = ROWS + MagicNumbers.TABLE_ROWS * ROW_SIZE;
+
+    private final StampedLock lock = new StampedLock();
+    private final int[] state = new int[SIZE];
+    private long version;
+
+    /**
+     * Constructs an empty {@code SpectatorView}, without heroes or cards.
+     */
+    public SpectatorView() {
+        state[HERO_CARD] = NONE;
+        state[HERO_SIZE + HERO_CARD] = NONE;
+    }
+
+    /**
+     * Publishes the current state of a game. Only the thread playing the game may call
+     * this.
+     *
+     * @param players the two players of the game
+     * @param board   the board of the game
+     */
+    public void publish(final Player[] players, final Board board) {
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < players.length; i++) {
+                Hero hero = players[i].getHeroNormal();
+                state[i * HERO_SIZE + HERO_CARD] = hero == null ? NONE
+                        : hero.getDefinition().getId();
+                state[i * HERO_SIZE + HERO_HEALTH] = hero == null ? 0 : hero.getHealthPoints();
+            }
+            for (int row = 0; row < MagicNumbers.TABLE_ROWS; row++) {
+                int base = ROWS + row * ROW_SIZE;
+                int count = 0;
+                for (Minion card : board.getRow(row)) {
+                    if (card != null) {
+                        int at = base + 1 + count * CARD_SIZE;
+                        state[at + CARD] = card.getDefinition().getId();
+                        state[at + ATTACK] = card.getAttackDamage();
+                        state[at + HEALTH] = card.getHealthPoints();
+                        state[at + FROZEN] = card.isFrozen() ? 1 : 0;
+                        count++;
+                    }
+                }
+                state[base] = count;
+            }
+            version++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Takes a consistent copy of the last state published. Safe to call from any thread;
+     * it never blocks the thread playing the game.
+     *
+     * @return the snapshot
+     */
+    public BoardSnapshot snapshot() {
+        int[] copy = new int[SIZE];
+        while (true) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                System.arraycopy(state, 0, copy, 0, SIZE);
+                long copiedVersion = version;
+                if (lock.validate(stamp)) {
+                    return new BoardSnapshot(copy, copiedVersion);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.poo.main.GameMechanics;
+
+/**
+ * The keys of the Zobrist hash of a game state. Every feature of the state (the type,
+ * attack or health of the card in a slot, a flag mask of the board, a card in a hand or
+ * in a deck, the mana, a hero stat, the turn) has a random 64-bit key for each position
+ * and value it can take, and the hash of a state is the XOR of the keys of its features.
+ * Changing a feature then only takes two XORs: one to remove the old key and one to add
+ * the new one.
+ *
+ * <p>Stats have no upper bound, so instead of tables the keys come from a fixed 64-bit
+ * mixing function applied to the feature, the position and the value, and a key is the
+ * same on every thread. The cards are keyed by {@link
+ * org.poo.main.Cards.CardDefinition#getId()}, which is given out in the order the cards
+ * are first seen, so the hash of a state with cards only means something within the run
+ * that computed it and must not be stored or compared across runs.</p>
+ */
+public final class Zobrist {
+    public static final int CARD_TYPE = 0;
+    public static final int CARD_ATTACK = 1;
+    public static final int CARD_HEALTH = 2;
+    public static final int BOARD_FLAGS = 3;
+    public static final int HAND_CARD = 4;
+    public static final int DECK_CARD = 5;
+    public static final int MANA = 6;
+    public static final int HERO_TYPE = 7;
+    public static final int HERO_HEALTH = 8;
+    public static final int HERO_ATTACKED = 9;
+    public static final int CURRENT_PLAYER = 10;
+    public static final int TURN = 11;
+    public static final int ROUND = 12;
+
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long MIX_1 = 0xBF58476D1CE4E5B9L;
+    private static final long MIX_2 = 0x94D049BB133111EBL;
+    private static final int SHIFT_1 = 30;
+    private static final int SHIFT_2 = 27;
+    private static final int SHIFT_3 = 31;
+    private static final int FEATURE_SHIFT = 56;
+    private static final int POSITION_SHIFT = 32;
+    private static final long VALUE_MASK = 0xFFFFFFFFL;
+
+    private Zobrist() {
+        throw new UnsupportedOperationException("This class is static");
+    }
+
+    /**
+     * Gets the key of a feature of the state.
+     *
+     * @param feature  the feature, one of the constants of this class
+     * @param position the slot, hand index, deck index or flag the feature is about
+     * @param value    the value the feature takes
+     * @return the key of the feature
+     */
+    public static long key(final int feature, final int position, final int value) {
+        return mix(((long) feature << FEATURE_SHIFT) ^ ((long) position << POSITION_SHIFT)
+                ^ (value & VALUE_MASK));
+    }
+
+    /**
+     * Gets a different but equally random hash for the part of the state that belongs to
+     * the second player, so that swapping the players changes the hash.
+     *
+     * @param hash the hash of the player's part of the state
+     * @return the hash to combine for the second player
+     */
+    public static long forSecondPlayer(final long hash) {
+        return mix(hash);
+    }
+
+    /**
+     * Scrambles a value with the finalizer of SplitMix64, which maps every input to a
+     * different output.
+     *
+     * @param value the value to scramble
+     * @return the scrambled value
+     */
+    private static long mix(final long value) {
+        long z = value + SEED * GOLDEN_GAMMA;
+        z = (z ^ (z >>> SHIFT_1)) * MIX_1;
+        z = (z ^ (z >>> SHIFT_2)) * MIX_2;
+        return z ^ (z >>> SHIFT_3);
+    }
+}
@@ -3,17 +3,21 @@ package org.poo.main;
 import org.poo.checker.Checker;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.checker.CheckerConstants;
 import org.poo.fileio.Input;
+import org.poo.fileio.InputReader;
+import org.poo.fileio.OutputSink;
+import org.poo.fileio.StartGameInput;
+import org.poo.fileio.StreamingOutputSink;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 
 /**
  * The entry point to this homework. It runs the checker that tests your implentation.
@@ -63,37 +67,41 @@ public final class Main {
      */
     public static void action(final String filePath1,
                               final String filePath2) throws IOException {
+        try (InputReader reader = new InputReader(new File(CheckerConstants.TESTS_PATH
+                + filePath1));
+             OutputSink output = new StreamingOutputSink(new File(filePath2))) {
+            Game game = new Game();
+            StartGameInput startGameInput = reader.nextGame();
+            while (startGameInput != null) {
+                game.playGame(reader, output, startGameInput);
+                startGameInput = reader.nextGame();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Same as {@link #action(String, String)}, but the games of the input file are played
+     * in parallel on the given pool. The written output is identical.
+     *
+     * @param filePath1   for input file
+     * @param filePath2   for output file
+     * @param gamePool    the pool the games are played on
+     * @param maxInFlight the maximum number of games played ahead of the written output
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void action(final String filePath1, final String filePath2,
+                              final ExecutorService gamePool, final int maxInFlight)
+            throws IOException {
         ObjectMapper objectMapper = new ObjectMapper();
         Input inputData = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH + filePath1),
                 Input.class);
 
-        ArrayNode output = objectMapper.createArrayNode();
-
-        /*
-         * TODO Implement your function here
-         *
-         * How to add output to the output array?
-         * There are multiple ways to do this, here is one example:
-         *
-         * ObjectMapper mapper = new ObjectMapper();
-         *
-         * ObjectNode objectNode = mapper.createObjectNode();
-         * objectNode.put("field_name", "field_value");
-         *
-         * ArrayNode arrayNode = mapper.createArrayNode();
-         * arrayNode.add(objectNode);
-         *
-         * output.add(arrayNode);
-         * output.add(objectNode);
-         *
-         */
-
-        Game game = new Game();
-        for (int i = 0; i < inputData.getGames().size(); i++) {
-            game.playGame(inputData, output, inputData.getGames().get(i));
+        try (OutputSink output = new StreamingOutputSink(new File(filePath2))) {
+            new ParallelGameRunner(gamePool, maxInFlight).playGames(inputData, output);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
-        objectWriter.writeValue(new File(filePath2), output);
     }
 }
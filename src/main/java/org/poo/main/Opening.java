@@ -0,0 +1,93 @@
+package org.poo.main;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.poo.fileio.DecksInput;
+import org.poo.fileio.GameInput;
+import org.poo.fileio.Input;
+import org.poo.fileio.StartGameInput;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The decks and heroes of a game from an input file. New games can be dealt from it with
+ * any shuffle seed and starting player, so bots and training environments play fresh
+ * games with the same cards as the tests.
+ */
+public final class Opening {
+    private final DecksInput playerOneDecks;
+    private final DecksInput playerTwoDecks;
+    private final StartGameInput startGame;
+
+    /**
+     * Constructs an {@code Opening}.
+     *
+     * @param playerOneDecks the decks available to player one
+     * @param playerTwoDecks the decks available to player two
+     * @param startGame      the deck indices and heroes of the game
+     */
+    public Opening(final DecksInput playerOneDecks, final DecksInput playerTwoDecks,
+                   final StartGameInput startGame) {
+        this.playerOneDecks = playerOneDecks;
+        this.playerTwoDecks = playerTwoDecks;
+        this.startGame = startGame;
+    }
+
+    /**
+     * Lists the openings of every game of the given inputs, in order.
+     *
+     * @param inputs the inputs
+     * @return the openings
+     */
+    public static List<Opening> fromInputs(final List<Input> inputs) {
+        List<Opening> openings = new ArrayList<>();
+        for (Input input : inputs) {
+            for (GameInput gameInput : input.getGames()) {
+                openings.add(new Opening(input.getPlayerOneDecks(), input.getPlayerTwoDecks(),
+                        gameInput.getStartGame()));
+            }
+        }
+        return openings;
+    }
+
+    /**
+     * Reads the openings of every game of the input files of a directory, sorted by file
+     * name.
+     *
+     * @param directory the directory of the input files
+     * @return the openings
+     * @throws IOException in case of exceptions to reading
+     */
+    public static List<Opening> fromDirectory(final File directory) throws IOException {
+        File[] files = Objects.requireNonNull(directory.listFiles());
+        Arrays.sort(files);
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Input> inputs = new ArrayList<>();
+        for (File file : files) {
+            inputs.add(objectMapper.readValue(file, Input.class));
+        }
+        return fromInputs(inputs);
+    }
+
+    /**
+     * Starts a new game from this opening.
+     *
+     * @param game           the game to start, which is reset
+     * @param shuffleSeed    the seed the decks are shuffled with
+     * @param startingPlayer the player to act first (1 or 2)
+     */
+    public void deal(final Game game, final int shuffleSeed, final int startingPlayer) {
+        StartGameInput start = new StartGameInput();
+        start.setPlayerOneDeckIdx(startGame.getPlayerOneDeckIdx());
+        start.setPlayerTwoDeckIdx(startGame.getPlayerTwoDeckIdx());
+        start.setPlayerOneHero(startGame.getPlayerOneHero());
+        start.setPlayerTwoHero(startGame.getPlayerTwoHero());
+        start.setShuffleSeed(shuffleSeed);
+        start.setStartingPlayer(startingPlayer);
+        game.startGame(playerOneDecks, playerTwoDecks, start);
+    }
+}
@@ -0,0 +1,161 @@
+package org.poo.main;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.poo.fileio.ArrayOutputSink;
+import org.poo.fileio.GameInput;
+import org.poo.fileio.Input;
+import org.poo.fileio.OutputSink;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Plays the games of a single input file in parallel, each on its own {@link Game}.
+ * The only state one game passes to the next are the total games and the games won by
+ * each player, so every game is played from zero and the cumulative answers are fixed
+ * up from a prefix sum while the outputs are merged back in the original order. At most
+ * a fixed number of games run ahead of the merge, so only their outputs are held in
+ * memory whatever the size of the file.
+ */
+public final class ParallelGameRunner {
+    private final ExecutorService pool;
+    private final int maxInFlight;
+
+    /**
+     * Constructs a {@code ParallelGameRunner} that plays games on the given pool.
+     *
+     * @param pool        the pool the games are submitted to
+     * @param maxInFlight the maximum number of games submitted but not yet merged
+     */
+    public ParallelGameRunner(final ExecutorService pool, final int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Invalid number of games in flight");
+        }
+        this.pool = pool;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Plays every game from the input data and appends the merged results to the output.
+     * The merged output matches the one produced by a single {@link Game} playing the
+     * games in order.
+     *
+     * @param inputData the input data containing the decks and the games
+     * @param output    the sink for recording game results and errors
+     */
+    public void playGames(final Input inputData, final OutputSink output) {
+        Deque<Future<GameResult>> pending = new ArrayDeque<>();
+        Counters counters = new Counters();
+        for (GameInput gameInput : inputData.getGames()) {
+            if (pending.size() == maxInFlight) {
+                counters.merge(await(pending.poll()), output);
+            }
+            pending.add(pool.submit(() -> playGame(inputData, gameInput)));
+        }
+        while (!pending.isEmpty()) {
+            counters.merge(await(pending.poll()), output);
+        }
+    }
+
+    /**
+     * Plays a single game on a fresh engine.
+     *
+     * @param inputData the input data containing the decks
+     * @param gameInput the game to play
+     * @return the output of the game together with its counters
+     */
+    private static GameResult playGame(final Input inputData, final GameInput gameInput) {
+        Game game = new Game();
+        ArrayNode gameOutput = JsonNodeFactory.instance.arrayNode();
+        game.playGame(inputData, new ArrayOutputSink(gameOutput), gameInput);
+        return new GameResult(gameOutput, game.getTotalGames(),
+                game.getPlayerWins(0), game.getPlayerWins(1));
+    }
+
+    /**
+     * Adds the counters of the previous games to the output of a cumulative query.
+     *
+     * @param actionNode the node answering the query
+     * @param offset     the value accumulated by the previous games
+     */
+    private static void shiftOutput(final ObjectNode actionNode, final int offset) {
+        actionNode.put("output", actionNode.get("output").asInt() + offset);
+    }
+
+    /**
+     * Waits for a game to finish, rethrowing any failure raised while playing it.
+     *
+     * @param future the pending game
+     * @return the result of the game
+     */
+    private static GameResult await(final Future<GameResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a game", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * The counters of the games merged so far.
+     */
+    private static final class Counters {
+        private int totalGames;
+        private int playerOneWins;
+        private int playerTwoWins;
+
+        /**
+         * Appends the output of the next game in order, shifting its cumulative answers
+         * by the previous games, and adds its counters. The game's output is not kept.
+         *
+         * @param result the result of the game
+         * @param output the sink for recording game results and errors
+         */
+        void merge(final GameResult result, final OutputSink output) {
+            for (JsonNode node : result.output) {
+                if (node instanceof ObjectNode actionNode && actionNode.has("command")) {
+                    switch (actionNode.get("command").asText()) {
+                        case "getTotalGamesPlayed" -> shiftOutput(actionNode, totalGames);
+                        case "getPlayerOneWins" -> shiftOutput(actionNode, playerOneWins);
+                        case "getPlayerTwoWins" -> shiftOutput(actionNode, playerTwoWins);
+                        default -> { }
+                    }
+                }
+                output.add(node);
+            }
+            totalGames += result.totalGames;
+            playerOneWins += result.playerOneWins;
+            playerTwoWins += result.playerTwoWins;
+        }
+    }
+
+    /**
+     * The output of a single game and the counters it contributed.
+     */
+    private static final class GameResult {
+        private final ArrayNode output;
+        private final int totalGames;
+        private final int playerOneWins;
+        private final int playerTwoWins;
+
+        GameResult(final ArrayNode output, final int totalGames,
+                   final int playerOneWins, final int playerTwoWins) {
+            this.output = output;
+            this.totalGames = totalGames;
+            this.playerOneWins = playerOneWins;
+            this.playerTwoWins = playerTwoWins;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.poo.main.Search;
+
+/**
+ * The outcome of an alpha-beta search: the recommended move, its score and how deep and
+ * fast the search went.
+ */
+public final class AlphaBetaResult {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs an {@code AlphaBetaResult}.
+     *
+     * @param bestMove     the recommended move, encoded with {@code Move}
+     * @param score        the score of the move for the player to act
+     * @param depth        the depth of the last search that finished
+     * @param nodes        the number of states visited
+     * @param elapsedNanos the wall time of the search
+     */
+    AlphaBetaResult(final int bestMove, final int score, final int depth, final long nodes,
+                    final long elapsedNanos) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the recommended move.
+     *
+     * @return the move, encoded with {@code Move}
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Gets the score of the recommended move for the player to act. Scores beyond
+     * {@link AlphaBetaSearch#WIN_SCORE} minus the depth mean a forced win, and their
+     * negations a forced loss.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the depth, in moves, of the last iteration that finished.
+     *
+     * @return the depth reached
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the number of states the search visited.
+     *
+     * @return the nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the speed of the search.
+     *
+     * @return the nodes per second
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : (long) (nodes * NANOS_PER_SECOND / elapsedNanos);
+    }
+}
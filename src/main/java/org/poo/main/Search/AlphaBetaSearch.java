@@ -0,0 +1,287 @@
+package org.poo.main.Search;
+
+import org.poo.main.Game;
+import org.poo.main.GameMechanics.Journal;
+
+/**
+ * Finds the best move of the current player with an iterative-deepening alpha-beta
+ * (negamax) search.
+ *
+ * <p>A player makes several moves in a turn, so the side to move only changes after
+ * ending the turn: the score of a child is negated only when the child belongs to the
+ * other player. Every depth counts one move. Depths are searched one after the other,
+ * each ordered by what the previous one stored in the {@link TranspositionTable}: the
+ * stored best move of a state goes first, then the moves by kind (attacking the hero,
+ * attacking cards, abilities, placing cards, the hero's ability, ending the turn).
+ * Leaves are scored by a pluggable {@link Evaluator}.</p>
+ *
+ * <p>The clock is checked every 64 states. When the budget runs out, the
+ * iteration in progress is dropped and the result of the last finished one is returned,
+ * so the search ends on time however many moves a turn has.</p>
+ *
+ * <p>A search runs on a copy of the game, which it plays and undoes through its
+ * {@link Journal}. An instance is not thread safe, but several instances can share a
+ * table.</p>
+ */
+public final class AlphaBetaSearch {
+    public static final int WIN_SCORE = 100_000;
+
+    private static final int MAX_DEPTH = 64;
+    private static final int EVAL_LIMIT = WIN_SCORE - 2 * MAX_DEPTH;
+    private static final int INFINITY = WIN_SCORE + 1;
+    private static final int CLOCK_MASK = 0x3F;
+    private static final int HASH_MOVE_RANK = Integer.MAX_VALUE;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final TranspositionTable table;
+    private final Evaluator evaluator;
+    private final int[][] moves;
+    private final int[][] ranks;
+
+    private Game game;
+    private long deadline;
+    private long nodes;
+    private boolean stopped;
+    private int rootBestMove;
+
+    /**
+     * Constructs an {@code AlphaBetaSearch}.
+     *
+     * @param table     the table the results of states are kept in between iterations
+     *                  and between searches
+     * @param evaluator the function scoring the states at the end of the search
+     */
+    public AlphaBetaSearch(final TranspositionTable table, final Evaluator evaluator) {
+        this.table = table;
+        this.evaluator = evaluator;
+        this.moves = new int[MAX_DEPTH + 1][];
+        this.ranks = new int[MAX_DEPTH + 1][];
+    }
+
+    /**
+     * Searches the best move of the current player within a time budget. The game itself
+     * is not changed.
+     *
+     * @param root         the game to search
+     * @param budgetMillis the time budget in milliseconds
+     * @return the recommended move and the statistics of the search
+     * @throws IllegalArgumentException if the budget is not positive or the game is over
+     */
+    public AlphaBetaResult search(final Game root, final long budgetMillis) {
+        return search(root, budgetMillis, MAX_DEPTH);
+    }
+
+    /**
+     * Searches the best move of the current player within a time budget, going no deeper
+     * than the given depth. The game itself is not changed.
+     *
+     * @param root         the game to search
+     * @param budgetMillis the time budget in milliseconds
+     * @param maxDepth     the deepest iteration to search, at most 64 moves
+     * @return the recommended move and the statistics of the search
+     * @throws IllegalArgumentException if the budget or the depth is not positive, or the
+     *                                  game is over
+     */
+    public AlphaBetaResult search(final Game root, final long budgetMillis,
+                                  final int maxDepth) {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Invalid search depth: " + maxDepth);
+        }
+        if (budgetMillis <= 0) {
+            throw new IllegalArgumentException("The search needs a time budget");
+        }
+        if (root.getWinner() != -1) {
+            throw new IllegalArgumentException("The game is over");
+        }
+
+        long start = System.nanoTime();
+        deadline = start + budgetMillis * NANOS_PER_MILLI;
+        nodes = 0;
+        stopped = false;
+        game = new Game(root);
+        Journal journal = game.getJournal();
+        journal.startRecording();
+        table.newSearch();
+
+        int bestMove = orderedMoves(0, -1) > 0 ? moves[0][0] : 0;
+        int bestScore = clamp(evaluator.evaluate(game, game.getCurrentPlayer()));
+        int depthReached = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int score = negamax(depth, 0, -INFINITY, INFINITY);
+            if (stopped) {
+                break;
+            }
+            bestMove = rootBestMove;
+            bestScore = score;
+            depthReached = depth;
+            if (Math.abs(score) > EVAL_LIMIT || System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+
+        journal.stopRecording();
+        game = null;
+        return new AlphaBetaResult(bestMove, bestScore, depthReached, nodes,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Searches a state to a given depth.
+     *
+     * @param depth the number of moves left to search
+     * @param ply   the number of moves played since the root
+     * @param alpha the score the side to move is already sure of
+     * @param beta  the score the opponent will not allow
+     * @return the score of the state for the side to move, or 0 if the search stopped
+     */
+    private int negamax(final int depth, final int ply, final int alpha, final int beta) {
+        nodes++;
+        if ((nodes & CLOCK_MASK) == 0 && System.nanoTime() >= deadline) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+
+        int toMove = game.getCurrentPlayer();
+        int winner = game.getWinner();
+        if (winner != -1) {
+            return winner == toMove ? WIN_SCORE - ply : -(WIN_SCORE - ply);
+        }
+        if (depth == 0) {
+            return clamp(evaluator.evaluate(game, toMove));
+        }
+
+        long hash = game.getHash();
+        long entry = table.probe(hash);
+        int hashMove = -1;
+        if (entry != TranspositionTable.MISS) {
+            hashMove = TranspositionTable.getMove(entry);
+            if (ply > 0 && TranspositionTable.getDepth(entry) >= depth) {
+                int stored = fromTable(TranspositionTable.getScore(entry), ply);
+                int bound = TranspositionTable.getBound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || bound == TranspositionTable.LOWER_BOUND && stored >= beta
+                        || bound == TranspositionTable.UPPER_BOUND && stored <= alpha) {
+                    return stored;
+                }
+            }
+        }
+
+        int count = orderedMoves(ply, hashMove);
+        int[] plyMoves = moves[ply];
+        Journal journal = game.getJournal();
+        int best = -INFINITY;
+        int bestMove = plyMoves[0];
+        int low = alpha;
+        for (int i = 0; i < count; i++) {
+            int move = plyMoves[i];
+            int mark = journal.mark();
+            game.applyMove(move);
+            int score = game.getCurrentPlayer() == toMove
+                    ? negamax(depth - 1, ply + 1, low, beta)
+                    : -negamax(depth - 1, ply + 1, -beta, -low);
+            journal.undoTo(mark);
+            if (stopped) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > low) {
+                    low = score;
+                    if (low >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = best <= alpha ? TranspositionTable.UPPER_BOUND
+                : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        table.store(hash, bestMove, toTable(best, ply), depth, bound);
+        if (ply == 0) {
+            rootBestMove = bestMove;
+        }
+        return best;
+    }
+
+    /**
+     * Lists the moves of the current state into the buffer of a ply, best candidates
+     * first.
+     *
+     * @param ply      the ply whose buffer is filled
+     * @param hashMove the move stored for the state, put first, or -1 if there is none
+     * @return the number of moves
+     */
+    private int orderedMoves(final int ply, final int hashMove) {
+        int capacity = game.getMoveCapacity();
+        if (moves[ply] == null || moves[ply].length < capacity) {
+            moves[ply] = new int[2 * capacity];
+            ranks[ply] = new int[2 * capacity];
+        }
+        int[] plyMoves = moves[ply];
+        int[] plyRanks = ranks[ply];
+        int count = game.generateMoves(plyMoves);
+
+        for (int i = 0; i < count; i++) {
+            int move = plyMoves[i];
+            int rank = move == hashMove ? HASH_MOVE_RANK : PlayoutPolicy.priority(move);
+            int j = i;
+            while (j > 0 && plyRanks[j - 1] < rank) {
+                plyMoves[j] = plyMoves[j - 1];
+                plyRanks[j] = plyRanks[j - 1];
+                j--;
+            }
+            plyMoves[j] = move;
+            plyRanks[j] = rank;
+        }
+        return count;
+    }
+
+    /**
+     * Keeps an evaluation below the scores of won and lost games.
+     *
+     * @param score the evaluation
+     * @return the evaluation, bounded
+     */
+    private static int clamp(final int score) {
+        return Math.max(-EVAL_LIMIT, Math.min(EVAL_LIMIT, score));
+    }
+
+    /**
+     * Converts a score to the form stored in the table: won and lost games are counted
+     * from the stored state instead of from the root.
+     *
+     * @param score the score
+     * @param ply   the ply of the state
+     * @return the score to store
+     */
+    private static int toTable(final int score, final int ply) {
+        if (score > EVAL_LIMIT) {
+            return score + ply;
+        }
+        if (score < -EVAL_LIMIT) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Converts a score read from the table back to a score counted from the root.
+     *
+     * @param score the stored score
+     * @param ply   the ply of the state
+     * @return the score
+     */
+    private static int fromTable(final int score, final int ply) {
+        if (score > EVAL_LIMIT) {
+            return score - ply;
+        }
+        if (score < -EVAL_LIMIT) {
+            return score + ply;
+        }
+        return score;
+    }
+}
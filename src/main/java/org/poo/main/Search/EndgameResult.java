@@ -0,0 +1,90 @@
+package org.poo.main.Search;
+
+/**
+ * The outcome of an endgame solve: the player who can force a win, if any was found, how
+ * many moves the win takes and how much of the game was searched.
+ */
+public final class EndgameResult {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final int winner;
+    private final int distance;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs an {@code EndgameResult}.
+     *
+     * @param winner       the player who forces a win, or -1 if none was found
+     * @param distance     the number of moves until the win, or -1 if none was found
+     * @param depth        the depth of the last search that finished
+     * @param nodes        the number of states visited
+     * @param elapsedNanos the wall time of the solve
+     */
+    EndgameResult(final int winner, final int distance, final int depth, final long nodes,
+                  final long elapsedNanos) {
+        this.winner = winner;
+        this.distance = distance;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Checks if a forced win was found.
+     *
+     * @return {@code true} if one of the players forces a win; {@code false} otherwise
+     */
+    public boolean isSolved() {
+        return winner != -1;
+    }
+
+    /**
+     * Gets the player who forces a win, whatever the other one plays.
+     *
+     * @return the index of the winner (0 or 1), or -1 if no forced win was found
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the number of moves, counting the moves of both players and the ends of turn,
+     * until the enemy hero dies when the winner wins as fast as possible and the loser
+     * holds out as long as possible.
+     *
+     * @return the distance to the win, or -1 if no forced win was found
+     */
+    public int getDistance() {
+        return distance;
+    }
+
+    /**
+     * Gets the depth, in moves, of the last search that finished. If no forced win was
+     * found, neither player can force one within that many moves.
+     *
+     * @return the depth reached
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the number of states the solver visited.
+     *
+     * @return the nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the speed of the solve.
+     *
+     * @return the nodes per second
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : (long) (nodes * NANOS_PER_SECOND / elapsedNanos);
+    }
+}
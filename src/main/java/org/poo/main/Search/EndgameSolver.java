@@ -0,0 +1,420 @@
+package org.poo.main.Search;
+
+import org.poo.main.Cards.Hero;
+import org.poo.main.Cards.MagicNumbers;
+import org.poo.main.Cards.Minion;
+import org.poo.main.Game;
+import org.poo.main.GameMechanics.Board;
+import org.poo.main.GameMechanics.Journal;
+import org.poo.main.GameMechanics.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Solves endgames exactly. Once both decks are empty nothing is left to chance, so
+ * whether a player can force a win is a matter of search alone.
+ *
+ * <p>For 1, 2, 3... moves, the solver proves whether the player to act can kill the enemy
+ * hero within that many moves whatever the other player does, or cannot avoid being
+ * killed within them. The first depth that proves either gives the winner and the
+ * distance to the win. A win needs one move that keeps winning, a loss needs every move
+ * to keep losing; since a player makes several moves in a turn, the goal only flips
+ * when the turn passes to the other player.</p>
+ *
+ * <p>Results are memoized by a canonical encoding of the state: the board, the hands, the
+ * heroes, the mana, the player to act and the only parts of the counters that still
+ * matter, the parity of the turn and the mana the next round brings. Cards in hand are
+ * sorted, as their order changes nothing. For every state the memo keeps the shortest
+ * depth proven to win or to lose and the longest proven not to. These are facts about
+ * the state alone, so they stay true across solves. Most states are only proven not to
+ * be decided yet; they stay in the memo of the solver, which is emptied when full. The
+ * states with a proven win or loss move to a cache shared by every solver of the run, so
+ * the subtrees solved in one game answer the same states in the next ones. The cache is
+ * bounded too: once full, it is emptied and filled again with what is proven next.</p>
+ *
+ * <p>A solve runs on a copy of the game, which it plays and undoes through its
+ * {@link Journal}. An instance is not thread safe; the shared cache is.</p>
+ */
+public final class EndgameSolver {
+    public static final int MAX_DEPTH = 64;
+
+    private static final int WIN = 0;
+    private static final int LOSS = 1;
+    private static final int UNKNOWN = -1;
+    private static final int NOT_PROVEN = 0;
+    private static final int PROVEN = 1;
+
+    private static final int MAX_MEMO_STATES = 1 << 18;
+    private static final int MAX_CACHED_STATES = 1 << 18;
+    private static final int CLOCK_MASK = 0x3F;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private static final int HEADER_WORDS = 1;
+    private static final int PLAYER_WORDS = 5;
+    private static final int CARD_WORDS = 4;
+
+    private static final Map<StateKey, Bounds> CACHE = new ConcurrentHashMap<>();
+
+    private final Map<StateKey, Bounds> memo;
+    private final int[][] moves;
+    private final int[][] ranks;
+
+    private Game game;
+    private long deadline;
+    private long nodes;
+    private boolean stopped;
+
+    /**
+     * Constructs an {@code EndgameSolver}.
+     */
+    public EndgameSolver() {
+        this.memo = new HashMap<>();
+        this.moves = new int[MAX_DEPTH + 1][];
+        this.ranks = new int[MAX_DEPTH + 1][];
+    }
+
+    /**
+     * Checks if a game has reached its endgame: both decks are empty.
+     *
+     * @param game the game
+     * @return {@code true} if no card is left to draw; {@code false} otherwise
+     */
+    public static boolean isEndgame(final Game game) {
+        return game.getPlayer(0).getDeck().isEmpty() && game.getPlayer(1).getDeck().isEmpty();
+    }
+
+    /**
+     * Gets the number of states with a proven win or loss, shared by all the solvers.
+     *
+     * @return the cached states
+     */
+    public static int getCachedStates() {
+        return CACHE.size();
+    }
+
+    /**
+     * Searches a forced win from an endgame within a time budget, going no deeper than
+     * the given depth. The game itself is not changed.
+     *
+     * @param root         the game to solve
+     * @param budgetMillis the time budget in milliseconds
+     * @param maxDepth     the longest win to look for, at most 64 moves
+     * @return the winner, the distance to the win and the statistics of the solve
+     * @throws IllegalArgumentException if the budget or the depth is not positive, or a
+     *                                  deck is not empty
+     */
+    public EndgameResult solve(final Game root, final long budgetMillis, final int maxDepth) {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Invalid solver depth: " + maxDepth);
+        }
+        if (budgetMillis <= 0) {
+            throw new IllegalArgumentException("The solver needs a time budget");
+        }
+        if (!isEndgame(root)) {
+            throw new IllegalArgumentException("The decks are not empty");
+        }
+
+        long start = System.nanoTime();
+        int winner = root.getWinner();
+        if (winner != -1) {
+            return new EndgameResult(winner, 0, 0, 0, System.nanoTime() - start);
+        }
+
+        deadline = start + budgetMillis * NANOS_PER_MILLI;
+        nodes = 0;
+        stopped = false;
+        game = new Game(root);
+        Journal journal = game.getJournal();
+        journal.startRecording();
+
+        int toMove = game.getCurrentPlayer();
+        int distance = -1;
+        int depthReached = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            boolean won = prove(WIN, depth);
+            boolean lost = !won && prove(LOSS, depth);
+            if (stopped) {
+                break;
+            }
+            depthReached = depth;
+            if (won || lost) {
+                winner = won ? toMove : 1 - toMove;
+                distance = depth;
+                break;
+            }
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+
+        journal.stopRecording();
+        game = null;
+        return new EndgameResult(winner, distance, depthReached, nodes,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Proves whether the player to act wins, or loses, within a number of moves.
+     *
+     * @param goal  {@link #WIN} or {@link #LOSS}
+     * @param depth the number of moves left
+     * @return {@code true} if the goal is reached whatever the other player does;
+     *         {@code false} if it is not, or if the solve stopped
+     */
+    private boolean prove(final int goal, final int depth) {
+        nodes++;
+        if ((nodes & CLOCK_MASK) == 0 && System.nanoTime() >= deadline) {
+            stopped = true;
+        }
+        if (stopped || depth == 0) {
+            return false;
+        }
+
+        StateKey key = encode(game);
+        Bounds bounds = CACHE.get(key);
+        boolean shared = bounds != null;
+        if (!shared) {
+            bounds = memo.get(key);
+        }
+        if (bounds != null) {
+            int known = bounds.lookup(goal, depth);
+            if (known != UNKNOWN) {
+                return known == PROVEN;
+            }
+        }
+
+        int toMove = game.getCurrentPlayer();
+        int target = goal == WIN ? toMove : 1 - toMove;
+        boolean anyMove = goal == WIN;
+        boolean proven = !anyMove;
+        int count = orderedMoves(depth);
+        int[] depthMoves = moves[depth];
+        Journal journal = game.getJournal();
+        for (int i = 0; i < count; i++) {
+            int mark = journal.mark();
+            game.applyMove(depthMoves[i]);
+            int winner = game.getWinner();
+            boolean reached;
+            if (winner != -1) {
+                reached = winner == target;
+            } else {
+                reached = prove(game.getCurrentPlayer() == toMove ? goal : 1 - goal,
+                        depth - 1);
+            }
+            journal.undoTo(mark);
+            if (stopped) {
+                return false;
+            }
+            if (reached == anyMove) {
+                proven = anyMove;
+                break;
+            }
+        }
+
+        if (bounds == null) {
+            if (memo.size() >= MAX_MEMO_STATES) {
+                memo.clear();
+            }
+            bounds = new Bounds();
+            memo.put(key, bounds);
+        }
+        bounds.record(goal, depth, proven);
+        if (proven && !shared) {
+            if (CACHE.size() >= MAX_CACHED_STATES) {
+                CACHE.clear();
+            }
+            memo.remove(key);
+            CACHE.merge(key, bounds, Bounds::merge);
+        }
+        return proven;
+    }
+
+    /**
+     * Lists the moves of the current state into the buffer of a depth, the most
+     * aggressive kinds first, so that wins are found early.
+     *
+     * @param depth the depth whose buffer is filled
+     * @return the number of moves
+     */
+    private int orderedMoves(final int depth) {
+        int capacity = game.getMoveCapacity();
+        if (moves[depth] == null || moves[depth].length < capacity) {
+            moves[depth] = new int[2 * capacity];
+            ranks[depth] = new int[2 * capacity];
+        }
+        int[] depthMoves = moves[depth];
+        int[] depthRanks = ranks[depth];
+        int count = game.generateMoves(depthMoves);
+
+        for (int i = 0; i < count; i++) {
+            int move = depthMoves[i];
+            int rank = PlayoutPolicy.priority(move);
+            int j = i;
+            while (j > 0 && depthRanks[j - 1] < rank) {
+                depthMoves[j] = depthMoves[j - 1];
+                depthRanks[j] = depthRanks[j - 1];
+                j--;
+            }
+            depthMoves[j] = move;
+            depthRanks[j] = rank;
+        }
+        return count;
+    }
+
+    /**
+     * Encodes the state of an endgame canonically: two states get equal keys exactly when
+     * the rest of the game plays out the same from both.
+     *
+     * @param game the game, with both decks empty
+     * @return the key of the state
+     */
+    private static StateKey encode(final Game game) {
+        Board board = game.getBoard();
+        int length = HEADER_WORDS;
+        for (int playerIdx = 0; playerIdx < 2; playerIdx++) {
+            length += PLAYER_WORDS + game.getPlayer(playerIdx).getHand().size();
+        }
+        for (int rowIdx = 0; rowIdx < MagicNumbers.TABLE_ROWS; rowIdx++) {
+            length += 1 + CARD_WORDS * rowSize(board.getRow(rowIdx));
+        }
+
+        int[] words = new int[length];
+        int i = 0;
+        words[i++] = game.getCurrentPlayer() | (game.getTurn() % 2) << 1
+                | Math.min(game.getRound(), MagicNumbers.MAX_MANA) << 2;
+        for (int playerIdx = 0; playerIdx < 2; playerIdx++) {
+            Player player = game.getPlayer(playerIdx);
+            Hero hero = player.getHeroNormal();
+            List<Minion> hand = player.getHand();
+            words[i++] = player.getMana();
+            words[i++] = hero.getDefinition().getId();
+            words[i++] = hero.getHealthPoints();
+            words[i++] = hero.hasAttacked() ? 1 : 0;
+            words[i++] = hand.size();
+            int first = i;
+            for (Minion card : hand) {
+                words[i++] = card.getDefinition().getId();
+            }
+            Arrays.sort(words, first, i);
+        }
+        for (int rowIdx = 0; rowIdx < MagicNumbers.TABLE_ROWS; rowIdx++) {
+            Minion[] row = board.getRow(rowIdx);
+            int size = rowSize(row);
+            words[i++] = size;
+            for (int y = 0; y < size; y++) {
+                Minion card = row[y];
+                words[i++] = card.getDefinition().getId();
+                words[i++] = card.getAttackDamage();
+                words[i++] = card.getHealthPoints();
+                words[i++] = (card.isFrozen() ? 1 : 0) | (card.hasAttacked() ? 2 : 0)
+                        | (card.isAttacked() ? 4 : 0);
+            }
+        }
+        return new StateKey(words);
+    }
+
+    /**
+     * Counts the cards placed on a row.
+     *
+     * @param row the live view of the row
+     * @return the number of cards, which fill the row from the left
+     */
+    private static int rowSize(final Minion[] row) {
+        int size = 0;
+        while (size < row.length && row[size] != null) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * The canonical encoding of an endgame state, used as the key of the memo.
+     */
+    private static final class StateKey {
+        private final int[] words;
+        private final int hash;
+
+        StateKey(final int[] words) {
+            this.words = words;
+            this.hash = Arrays.hashCode(words);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof StateKey key && hash == key.hash
+                    && Arrays.equals(words, key.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * What is proven about a state, for each goal: the shortest depth within which the
+     * goal is reached, and the longest within which it is not.
+     */
+    private static final class Bounds {
+        private final int[] reachedWithin = {Integer.MAX_VALUE, Integer.MAX_VALUE};
+        private final int[] notReachedWithin = {0, 0};
+
+        /**
+         * Looks up whether a goal is reached within a depth.
+         *
+         * @param goal  {@link #WIN} or {@link #LOSS}
+         * @param depth the number of moves
+         * @return {@link #PROVEN}, {@link #NOT_PROVEN} or {@link #UNKNOWN}
+         */
+        synchronized int lookup(final int goal, final int depth) {
+            if (reachedWithin[goal] <= depth) {
+                return PROVEN;
+            }
+            if (notReachedWithin[goal] >= depth) {
+                return NOT_PROVEN;
+            }
+            return UNKNOWN;
+        }
+
+        /**
+         * Records whether a goal is reached within a depth.
+         *
+         * @param goal    {@link #WIN} or {@link #LOSS}
+         * @param depth   the number of moves
+         * @param reached the result of the search
+         */
+        synchronized void record(final int goal, final int depth, final boolean reached) {
+            if (reached) {
+                reachedWithin[goal] = Math.min(reachedWithin[goal], depth);
+            } else {
+                notReachedWithin[goal] = Math.max(notReachedWithin[goal], depth);
+            }
+        }
+
+        /**
+         * Adds what another solver proved about the same state.
+         *
+         * @param other the bounds of the other solver
+         * @return these bounds, updated
+         */
+        Bounds merge(final Bounds other) {
+            for (int goal = WIN; goal <= LOSS; goal++) {
+                int reached;
+                int notReached;
+                synchronized (other) {
+                    reached = other.reachedWithin[goal];
+                    notReached = other.notReachedWithin[goal];
+                }
+                if (reached != Integer.MAX_VALUE) {
+                    record(goal, reached, true);
+                }
+                record(goal, notReached, false);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.poo.main.Search;
+
+import org.poo.main.Game;
+
+/**
+ * Scores a game state for the search when it cannot look further. Implementations must
+ * be cheap and must not change the game.
+ */
+public interface Evaluator {
+    /**
+     * Scores the current state of a game from the side of a player.
+     *
+     * @param game      the game to score
+     * @param playerIdx the player the score is for (0 or 1)
+     * @return the score, higher being better for the player; the opponent's score is
+     *         expected to be its negation
+     */
+    int evaluate(Game game, int playerIdx);
+}
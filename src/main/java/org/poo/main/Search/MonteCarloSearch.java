@@ -0,0 +1,248 @@
+package org.poo.main.Search;
+
+import org.poo.main.Game;
+import org.poo.main.GameMechanics.Journal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Monte Carlo tree search bot for the current player of a {@link Game}.
+ *
+ * <p>All threads grow a single shared tree. Each thread plays on its own copy of the game:
+ * it walks down the tree with UCT, playing the moves of the path, runs a playout from the
+ * first node not yet expanded, counts the result on every node of the path, and undoes
+ * everything through the game's {@link Journal} to be back at the root. While a playout
+ * runs, the nodes of its path count it as a loss (a virtual loss), so the other threads
+ * spread over other paths instead of all following the same one.</p>
+ *
+ * <p>Moves come from {@code Game.generateMoves} and are played with
+ * {@code Game.applyMove}, so the search follows the same rules as the game. Playouts
+ * reuse the move buffer and the journal of their thread, and draw cards that already
+ * exist, so once these have grown to their working size they allocate nothing.</p>
+ */
+public final class MonteCarloSearch implements AutoCloseable {
+    public static final double DEFAULT_EXPLORATION = 1.4;
+
+    private static final int VIRTUAL_LOSS = 3;
+    private static final int MAX_PLAYOUT_MOVES = 5000;
+    private static final int INITIAL_PATH_LENGTH = 64;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final int threads;
+    private final PlayoutPolicy policy;
+    private final double exploration;
+    private final ExecutorService pool;
+    private final AtomicLong seeds;
+
+    /**
+     * Constructs a {@code MonteCarloSearch} with heuristic playouts.
+     *
+     * @param threads the number of threads searching together
+     */
+    public MonteCarloSearch(final int threads) {
+        this(threads, PlayoutPolicy.HEURISTIC, DEFAULT_EXPLORATION, 0);
+    }
+
+    /**
+     * Constructs a {@code MonteCarloSearch}.
+     *
+     * @param threads     the number of threads searching together
+     * @param policy      the way moves are picked in playouts
+     * @param exploration the exploration constant of UCT
+     * @param seed        the seed of the random generators of the threads
+     */
+    public MonteCarloSearch(final int threads, final PlayoutPolicy policy,
+                            final double exploration, final long seed) {
+        if (threads < 1 || exploration < 0) {
+            throw new IllegalArgumentException("Invalid search configuration");
+        }
+        this.threads = threads;
+        this.policy = policy;
+        this.exploration = exploration;
+        this.seeds = new AtomicLong(seed);
+        this.pool = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Searches the best move for the current player. The game itself is not changed.
+     * The search stops at whichever budget runs out first; every search plays at least
+     * one playout.
+     *
+     * @param game         the game to search
+     * @param budgetMillis the time budget in milliseconds, or 0 for none
+     * @param maxPlayouts  the playout budget, or 0 for none
+     * @return the recommended move and the statistics of the search
+     * @throws IllegalArgumentException if there is no budget or the game is over
+     */
+    public SearchResult search(final Game game, final long budgetMillis,
+                               final long maxPlayouts) {
+        if (budgetMillis <= 0 && maxPlayouts <= 0) {
+            throw new IllegalArgumentException("The search needs a time or playout budget");
+        }
+        if (game.getWinner() != -1) {
+            throw new IllegalArgumentException("The game is over");
+        }
+
+        long start = System.nanoTime();
+        long deadline = budgetMillis > 0 ? start + budgetMillis * NANOS_PER_MILLI
+                : Long.MAX_VALUE;
+        long limit = maxPlayouts > 0 ? maxPlayouts : Long.MAX_VALUE;
+        TreeNode root = new TreeNode(-1, -1);
+        AtomicLong started = new AtomicLong();
+
+        // Searches running at once each take their own run of seeds.
+        long firstSeed = seeds.getAndAdd(threads);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Worker worker = new Worker(new Game(game), new SplittableRandom(firstSeed + i));
+            results.add(pool.submit(() -> worker.run(root, deadline, limit, started)));
+        }
+        long playouts = 0;
+        for (Future<Long> result : results) {
+            playouts += await(result);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        TreeNode best = root.getMostVisited();
+        return new SearchResult(best.getMove(), best.getWinRate(), best.getVisits(),
+                playouts, elapsedNanos, threads);
+    }
+
+    /**
+     * Stops the threads of the search.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Waits for a thread to finish its part of a search.
+     *
+     * @param future the pending part
+     * @return the number of playouts the thread played
+     */
+    private static long await(final Future<Long> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * The part of a search played by one thread, with its own game and buffers.
+     */
+    private final class Worker {
+        private final Game game;
+        private final SplittableRandom random;
+        private int[] moves;
+        private TreeNode[] path;
+
+        Worker(final Game game, final SplittableRandom random) {
+            this.game = game;
+            this.random = random;
+            this.moves = new int[game.getMoveCapacity()];
+            this.path = new TreeNode[INITIAL_PATH_LENGTH];
+        }
+
+        /**
+         * Plays iterations until the budget runs out.
+         *
+         * @param root     the root of the shared tree
+         * @param deadline the time to stop at, from {@link System#nanoTime()}
+         * @param limit    the total number of playouts to stop at
+         * @param started  the number of playouts started by all threads
+         * @return the number of playouts played by this thread
+         */
+        long run(final TreeNode root, final long deadline, final long limit,
+                 final AtomicLong started) {
+            Journal journal = game.getJournal();
+            journal.startRecording();
+            int rootMark = journal.mark();
+            long playouts = 0;
+            while (started.getAndIncrement() < limit) {
+                iterate(root);
+                journal.undoTo(rootMark);
+                playouts++;
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+            journal.stopRecording();
+            return playouts;
+        }
+
+        /**
+         * Walks down the tree to a new node, plays a playout from there and counts its
+         * result on the path. The game is left at the end of the playout.
+         *
+         * @param root the root of the shared tree
+         */
+        private void iterate(final TreeNode root) {
+            int length = 0;
+            TreeNode node = root;
+            root.addVirtualLoss(VIRTUAL_LOSS);
+            path[length++] = root;
+            while (game.getWinner() == -1) {
+                ensureMoveCapacity();
+                TreeNode child = node.select(game, moves, random, exploration);
+                child.addVirtualLoss(VIRTUAL_LOSS);
+                if (length == path.length) {
+                    path = Arrays.copyOf(path, 2 * length);
+                }
+                path[length++] = child;
+                game.applyMove(child.getMove());
+                if (child.isLeaf()) {
+                    break;
+                }
+                node = child;
+            }
+
+            int winner = playout();
+            for (int i = 0; i < length; i++) {
+                path[i].update(winner, VIRTUAL_LOSS);
+            }
+        }
+
+        /**
+         * Plays the game on until a hero dies or the move cap is reached.
+         *
+         * @return the winner, or -1 if the cap was reached first
+         */
+        private int playout() {
+            int winner = game.getWinner();
+            for (int i = 0; winner == -1 && i < MAX_PLAYOUT_MOVES; i++) {
+                ensureMoveCapacity();
+                int count = game.generateMoves(moves);
+                game.applyMove(policy.choose(moves, count, random));
+                winner = game.getWinner();
+            }
+            return winner;
+        }
+
+        /**
+         * Grows the move buffer if the current state could have more moves than it holds.
+         */
+        private void ensureMoveCapacity() {
+            int capacity = game.getMoveCapacity();
+            if (moves.length < capacity) {
+                moves = new int[2 * capacity];
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.poo.main.Search;
+
+import org.poo.main.GameMechanics.Move;
+
+import java.util.SplittableRandom;
+
+/**
+ * The way moves are picked during a playout, once the search has left its tree.
+ * Both policies only read the move buffer, so a playout allocates nothing.
+ */
+public enum PlayoutPolicy {
+    /**
+     * Picks any legal move, with the same chance for each.
+     */
+    RANDOM {
+        @Override
+        int choose(final int[] moves, final int count, final SplittableRandom random) {
+            return moves[random.nextInt(count)];
+        }
+    },
+
+    /**
+     * Picks a random move of the most aggressive kind available: attacking the hero, then
+     * attacking cards, then card abilities, placing cards, hero abilities, and ending the
+     * turn only when nothing else is left. One move in eight is picked at random instead,
+     * so the playouts do not all follow the same line.
+     */
+    HEURISTIC {
+        @Override
+        int choose(final int[] moves, final int count, final SplittableRandom random) {
+            if (random.nextInt(EXPLORATION_ODDS) == 0) {
+                return moves[random.nextInt(count)];
+            }
+
+            int bestPriority = -1;
+            int bestCount = 0;
+            for (int i = 0; i < count; i++) {
+                int priority = priority(moves[i]);
+                if (priority > bestPriority) {
+                    bestPriority = priority;
+                    bestCount = 1;
+                } else if (priority == bestPriority) {
+                    bestCount++;
+                }
+            }
+
+            int pick = random.nextInt(bestCount);
+            for (int i = 0; i < count; i++) {
+                if (priority(moves[i]) == bestPriority && pick-- == 0) {
+                    return moves[i];
+                }
+            }
+            return moves[0];
+        }
+    };
+
+    private static final int EXPLORATION_ODDS = 8;
+    private static final int[] PRIORITY_BY_KIND = {0, 2, 4, 3, 5, 1};
+
+    /**
+     * Picks the next move of a playout.
+     *
+     * @param moves  the legal moves, as written by {@code Game.generateMoves}
+     * @param count  the number of legal moves, at least one
+     * @param random the random generator of the playing thread
+     * @return the chosen move
+     */
+    abstract int choose(int[] moves, int count, SplittableRandom random);
+
+    /**
+     * Ranks a move by its kind, for the heuristic policy and for move ordering.
+     *
+     * @param move the move
+     * @return the priority of its kind, higher being played first
+     */
+    static int priority(final int move) {
+        return PRIORITY_BY_KIND[Move.getKind(move)];
+    }
+}
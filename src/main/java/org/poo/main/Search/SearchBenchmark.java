@@ -0,0 +1,75 @@
+package org.poo.main.Search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.poo.checker.CheckerConstants;
+import org.poo.fileio.GameInput;
+import org.poo.fileio.Input;
+import org.poo.main.Game;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Measures the speed of the {@link MonteCarloSearch}: it searches the starting position of
+ * the games found in the tests directory and prints the playouts per second, so the speed
+ * of the engine can be compared between versions.
+ */
+public final class SearchBenchmark {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final long DEFAULT_BUDGET_MILLIS = 200;
+    private static final int DEFAULT_SEARCHES = 20;
+
+    private SearchBenchmark() {
+        throw new UnsupportedOperationException("This class is static");
+    }
+
+    /**
+     * Entry point for the benchmark.
+     * Usage: {@code SearchBenchmark [threads] [budgetMillis] [searches]}. The thread count
+     * defaults to the number of available processors, the budget to 200 ms per search and
+     * the number of searches to 20.
+     *
+     * @param args from command line
+     * @throws IOException in case of exceptions to reading
+     */
+    public static void main(final String[] args) throws IOException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0])
+                : Runtime.getRuntime().availableProcessors();
+        long budgetMillis = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_BUDGET_MILLIS;
+        int searches = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SEARCHES;
+
+        File[] files = Objects.requireNonNull(new File(CheckerConstants.TESTS_PATH).listFiles());
+        Arrays.sort(files);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        int done = 0;
+        long playouts = 0;
+        long elapsedNanos = 0;
+        try (MonteCarloSearch search = new MonteCarloSearch(threads)) {
+            for (File file : files) {
+                Input inputData = objectMapper.readValue(file, Input.class);
+                for (GameInput gameInput : inputData.getGames()) {
+                    if (done == searches) {
+                        break;
+                    }
+                    Game game = new Game();
+                    game.startGame(inputData.getPlayerOneDecks(),
+                            inputData.getPlayerTwoDecks(), gameInput.getStartGame());
+
+                    long start = System.nanoTime();
+                    SearchResult result = search.search(game, budgetMillis, 0);
+                    elapsedNanos += System.nanoTime() - start;
+                    playouts += result.getPlayouts();
+                    done++;
+                }
+            }
+        }
+
+        double playoutsPerSecond = elapsedNanos == 0 ? 0
+                : playouts * NANOS_PER_SECOND / elapsedNanos;
+        System.out.printf("Ran %d searches: %d playouts (%.0f playouts/s) using %d threads%n",
+                done, playouts, playoutsPerSecond, threads);
+    }
+}
@@ -0,0 +1,101 @@
+package org.poo.main.Search;
+
+/**
+ * The outcome of a Monte Carlo search: the recommended move and how much work was done
+ * to find it.
+ */
+public final class SearchResult {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final int bestMove;
+    private final double winRate;
+    private final int visits;
+    private final long playouts;
+    private final long elapsedNanos;
+    private final int threads;
+
+    /**
+     * Constructs a {@code SearchResult}.
+     *
+     * @param bestMove     the recommended move, encoded with {@code Move}
+     * @param winRate      the win rate of the recommended move for the player to act
+     * @param visits       the number of playouts through the recommended move
+     * @param playouts     the total number of playouts
+     * @param elapsedNanos the wall time of the search
+     * @param threads      the number of threads that searched
+     */
+    SearchResult(final int bestMove, final double winRate, final int visits,
+                 final long playouts, final long elapsedNanos, final int threads) {
+        this.bestMove = bestMove;
+        this.winRate = winRate;
+        this.visits = visits;
+        this.playouts = playouts;
+        this.elapsedNanos = elapsedNanos;
+        this.threads = threads;
+    }
+
+    /**
+     * Gets the recommended move.
+     *
+     * @return the move, encoded with {@code Move}
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Gets the share of the playouts through the recommended move that the player to act
+     * won, draws counting as half.
+     *
+     * @return the win rate, between 0 and 1
+     */
+    public double getWinRate() {
+        return winRate;
+    }
+
+    /**
+     * Gets the number of playouts through the recommended move.
+     *
+     * @return the visits of the move
+     */
+    public int getVisits() {
+        return visits;
+    }
+
+    /**
+     * Gets the total number of playouts of the search.
+     *
+     * @return the playouts
+     */
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Gets the wall time of the search.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Gets the number of threads that searched.
+     *
+     * @return the threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Gets the speed of the search, over all threads.
+     *
+     * @return the playouts per second
+     */
+    public double getPlayoutsPerSecond() {
+        return elapsedNanos == 0 ? 0 : playouts * NANOS_PER_SECOND / elapsedNanos;
+    }
+}
@@ -0,0 +1,475 @@
+package org.poo.main.Search;
+
+import org.poo.checker.CheckerConstants;
+import org.poo.main.Game;
+import org.poo.main.Opening;
+import org.poo.main.GameMechanics.Journal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tunes the weights of a {@link WeightedEvaluator} by self-play.
+ *
+ * <p>A generation plays a batch of games between two greedy bots, which try every move
+ * of the player to act, score the states with the weights and play the best one (one move
+ * in eight is random, so the games differ). At the start of every turn the features of the
+ * state are kept with the player to act; once the game ends, a logistic regression fits
+ * how the features predict who wins, and the fitted coefficients, scaled to integers,
+ * become the new weights. The new weights then play a match against the old ones and are
+ * kept only if they score at least half of the points.</p>
+ *
+ * <p>The games are split between the threads, each playing every n-th game on a game of
+ * its own; nothing is shared while they play, so the games per second grow with the
+ * cores. Every game takes its random generator from the seed and its own index, so the
+ * results are the same whatever the number of threads. Games come in pairs dealt the same
+ * way, with the bots swapping sides, since the player to act first has the advantage.</p>
+ */
+public final class SelfPlayTuner implements AutoCloseable {
+    public static final int DEFAULT_GAMES = 200;
+    public static final int DEFAULT_GENERATIONS = 4;
+
+    private static final int MAX_GAME_MOVES = 1000;
+    private static final int RANDOM_MOVE_ODDS = 8;
+    private static final int FIT_ITERATIONS = 25;
+    private static final double RIDGE = 1.0;
+    private static final double WEIGHT_SCALE = 16;
+    private static final int INITIAL_SAMPLES = 64;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final String DEFAULT_OUTPUT = "weights.json";
+
+    private final int threads;
+    private final List<Opening> openings;
+    private final ExecutorService pool;
+
+    /**
+     * Constructs a {@code SelfPlayTuner}.
+     *
+     * @param threads  the number of threads playing games
+     * @param openings the decks and heroes the games are dealt from
+     * @throws IllegalArgumentException if there is no thread or no game to deal from
+     */
+    public SelfPlayTuner(final int threads, final List<Opening> openings) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Invalid thread count: " + threads);
+        }
+        this.threads = threads;
+        this.openings = List.copyOf(openings);
+        if (openings.isEmpty()) {
+            throw new IllegalArgumentException("No game to deal from");
+        }
+        this.pool = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Entry point for the tuner.
+     * Usage: {@code SelfPlayTuner [output] [games] [generations] [threads] [seed]}.
+     * The games are dealt from the inputs of the tests directory. If the output file
+     * already holds weights, tuning goes on from them and the version is increased;
+     * otherwise it starts from the default weights at version 1. The defaults are
+     * {@code weights.json}, 200 games and 4 generations, a thread per processor and seed 0.
+     *
+     * @param args from command line
+     * @throws IOException in case of exceptions to reading or writing
+     */
+    public static void main(final String[] args) throws IOException {
+        File output = new File(args.length > 0 ? args[0] : DEFAULT_OUTPUT);
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GAMES;
+        int generations = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_GENERATIONS;
+        int threads = args.length > 3 ? Integer.parseInt(args[3])
+                : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 0;
+
+        List<Opening> openings = Opening.fromDirectory(new File(CheckerConstants.TESTS_PATH));
+        int version = 1;
+        int[] weights = new WeightedEvaluator().getWeights();
+        long totalGames = 0;
+        if (output.exists()) {
+            WeightsFile previous = WeightsFile.read(output);
+            version = previous.getVersion() + 1;
+            weights = previous.getWeights();
+            totalGames = previous.getGames();
+        }
+
+        try (SelfPlayTuner tuner = new SelfPlayTuner(threads, openings)) {
+            weights = tuner.tune(weights, generations, games, seed, System.out);
+        }
+        totalGames += 2L * games * generations;
+        new WeightsFile(version, weights, totalGames, seed).write(output);
+        System.out.printf("Wrote version %d of the weights to %s%n", version, output);
+    }
+
+    /**
+     * Tunes weights over a number of generations.
+     *
+     * @param weights     the weights to start from
+     * @param generations the number of generations
+     * @param games       the games played by each generation, and again by each match
+     * @param seed        the seed of the games
+     * @param log         the stream a line per generation is printed to
+     * @return the tuned weights
+     * @throws IllegalArgumentException if a count is not positive
+     */
+    public int[] tune(final int[] weights, final int generations, final int games,
+                      final long seed, final PrintStream log) {
+        if (generations < 1 || games < 1) {
+            throw new IllegalArgumentException("Invalid tuning configuration");
+        }
+        int[] current = new WeightedEvaluator(weights).getWeights();
+        for (int generation = 0; generation < generations; generation++) {
+            long gameSeed = seed + 2L * generation * games;
+            Batch selfPlay = play(current, current, games, gameSeed);
+            int[] fitted = fit(selfPlay);
+            Batch match = play(current, fitted, games, gameSeed + games);
+            double score = match.getChallengerScore();
+            if (score >= 0.5) {
+                current = fitted;
+            }
+            log.printf("Generation %d: %d games (%.1f games/s), %d positions, fitted %s, "
+                            + "scored %.1f%% against the previous weights (%s)%n",
+                    generation + 1, games, selfPlay.getGamesPerSecond(), selfPlay.getSamples(),
+                    Arrays.toString(fitted), 100 * score, score >= 0.5 ? "kept" : "dropped");
+        }
+        return current;
+    }
+
+    /**
+     * Stops the threads of the tuner.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Plays a batch of games in parallel. In game {@code i} the challenger plays player
+     * {@code i % 2} and the other weights the other player; games {@code 2k} and
+     * {@code 2k + 1} are dealt the same way, but their random moves differ.
+     *
+     * @param weights    the weights of the reference bot
+     * @param challenger the weights of the challenging bot
+     * @param games      the number of games
+     * @param seed       the seed of the first game
+     * @return the positions seen and the results
+     */
+    Batch play(final int[] weights, final int[] challenger, final int games,
+               final long seed) {
+        long start = System.nanoTime();
+        WeightedEvaluator reference = new WeightedEvaluator(weights);
+        WeightedEvaluator challenging = new WeightedEvaluator(challenger);
+        Record[] records = new Record[games];
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            results.add(pool.submit(() -> {
+                Worker worker = new Worker();
+                for (int i = first; i < games; i += threads) {
+                    WeightedEvaluator[] sides = i % 2 == 0
+                            ? new WeightedEvaluator[] {challenging, reference}
+                            : new WeightedEvaluator[] {reference, challenging};
+                    SplittableRandom deal = new SplittableRandom(seed + i / 2);
+                    Opening opening = openings.get(deal.nextInt(openings.size()));
+                    SplittableRandom random = new SplittableRandom(deal.nextLong() ^ i);
+                    records[i] = worker.play(opening, sides, deal, random);
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            await(result);
+        }
+        return new Batch(records, System.nanoTime() - start);
+    }
+
+    /**
+     * Fits weights to the positions of a batch with a ridge-regularized logistic
+     * regression, solved by Newton's method. The coefficients are scaled so the largest
+     * one is 16 and rounded.
+     *
+     * @param batch the games played
+     * @return the fitted weights
+     */
+    static int[] fit(final Batch batch) {
+        int size = WeightedEvaluator.FEATURES + 1;
+        double[] coefficients = new double[size];
+        double[] row = new double[size];
+        for (int iteration = 0; iteration < FIT_ITERATIONS; iteration++) {
+            double[] gradient = new double[size];
+            double[][] hessian = new double[size][size];
+            for (int i = 0; i < size; i++) {
+                gradient[i] = -RIDGE * coefficients[i];
+                hessian[i][i] = RIDGE;
+            }
+            for (Record record : batch.records) {
+                if (record.winner == -1) {
+                    continue;
+                }
+                for (int s = 0; s < record.count; s++) {
+                    row[0] = 1;
+                    for (int f = 0; f < WeightedEvaluator.FEATURES; f++) {
+                        row[f + 1] = record.features[s * WeightedEvaluator.FEATURES + f];
+                    }
+                    double z = 0;
+                    for (int i = 0; i < size; i++) {
+                        z += coefficients[i] * row[i];
+                    }
+                    double p = 1 / (1 + Math.exp(-z));
+                    double target = record.movers[s] == record.winner ? 1 : 0;
+                    double w = p * (1 - p);
+                    for (int i = 0; i < size; i++) {
+                        gradient[i] += (target - p) * row[i];
+                        for (int j = 0; j < size; j++) {
+                            hessian[i][j] += w * row[i] * row[j];
+                        }
+                    }
+                }
+            }
+            double[] step = solve(hessian, gradient);
+            for (int i = 0; i < size; i++) {
+                coefficients[i] += step[i];
+            }
+        }
+
+        double largest = 0;
+        for (int i = 1; i < size; i++) {
+            largest = Math.max(largest, Math.abs(coefficients[i]));
+        }
+        int[] weights = new int[WeightedEvaluator.FEATURES];
+        for (int f = 0; f < WeightedEvaluator.FEATURES; f++) {
+            weights[f] = largest == 0 ? 0
+                    : (int) Math.round(coefficients[f + 1] * WEIGHT_SCALE / largest);
+        }
+        return weights;
+    }
+
+    /**
+     * Solves a linear system by Gaussian elimination with partial pivoting.
+     *
+     * @param matrix the matrix of the system, which is overwritten
+     * @param vector the right-hand side, which is overwritten
+     * @return the solution
+     */
+    private static double[] solve(final double[][] matrix, final double[] vector) {
+        int n = vector.length;
+        for (int column = 0; column < n; column++) {
+            int pivot = column;
+            for (int i = column + 1; i < n; i++) {
+                if (Math.abs(matrix[i][column]) > Math.abs(matrix[pivot][column])) {
+                    pivot = i;
+                }
+            }
+            double[] swapRow = matrix[column];
+            matrix[column] = matrix[pivot];
+            matrix[pivot] = swapRow;
+            double swap = vector[column];
+            vector[column] = vector[pivot];
+            vector[pivot] = swap;
+
+            for (int i = column + 1; i < n; i++) {
+                double factor = matrix[i][column] / matrix[column][column];
+                for (int j = column; j < n; j++) {
+                    matrix[i][j] -= factor * matrix[column][j];
+                }
+                vector[i] -= factor * vector[column];
+            }
+        }
+        double[] solution = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = vector[i];
+            for (int j = i + 1; j < n; j++) {
+                sum -= matrix[i][j] * solution[j];
+            }
+            solution[i] = sum / matrix[i][i];
+        }
+        return solution;
+    }
+
+    /**
+     * Waits for a thread to finish its share of a batch.
+     *
+     * @param future the pending share
+     */
+    private static void await(final Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while playing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * The positions of a finished game: the features at the start of every turn, from
+     * the side of the player to act, and the winner.
+     */
+    static final class Record {
+        private final int[] features;
+        private final int[] movers;
+        private final int count;
+        private final int winner;
+
+        Record(final int[] features, final int[] movers, final int count, final int winner) {
+            this.features = features;
+            this.movers = movers;
+            this.count = count;
+            this.winner = winner;
+        }
+    }
+
+    /**
+     * The games of a batch, in the order of their index, and how fast they were played.
+     */
+    static final class Batch {
+        private final Record[] records;
+        private final long elapsedNanos;
+        private final int samples;
+
+        Batch(final Record[] records, final long elapsedNanos) {
+            this.records = records;
+            this.elapsedNanos = elapsedNanos;
+            int total = 0;
+            for (Record record : records) {
+                total += record.count;
+            }
+            this.samples = total;
+        }
+
+        /**
+         * Gets the number of positions kept from the games.
+         *
+         * @return the positions
+         */
+        int getSamples() {
+            return samples;
+        }
+
+        /**
+         * Gets the share of the points the challenger scored, a game not finished
+         * counting as half.
+         *
+         * @return the score, between 0 and 1
+         */
+        double getChallengerScore() {
+            double points = 0;
+            for (int i = 0; i < records.length; i++) {
+                int winner = records[i].winner;
+                if (winner == -1) {
+                    points += 0.5;
+                } else if (winner == i % 2) {
+                    points += 1;
+                }
+            }
+            return points / records.length;
+        }
+
+        /**
+         * Gets the speed of the batch, over all threads.
+         *
+         * @return the games per second
+         */
+        double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : records.length * NANOS_PER_SECOND / elapsedNanos;
+        }
+    }
+
+    /**
+     * A thread's game and buffers, reused for every game it plays.
+     */
+    private static final class Worker {
+        private final Game game = new Game();
+        private final int[] features = new int[WeightedEvaluator.FEATURES];
+        private int[] moves = new int[0];
+
+        /**
+         * Plays a game between two greedy bots.
+         *
+         * @param opening the decks and heroes to deal from
+         * @param sides   the evaluator of each player
+         * @param deal    the random generator shuffling the decks and picking the player
+         *                to start
+         * @param random  the random generator of the moves
+         * @return the positions of the game and its winner, or -1 if it did not finish
+         */
+        Record play(final Opening opening, final WeightedEvaluator[] sides,
+                    final SplittableRandom deal, final SplittableRandom random) {
+            int shuffleSeed = deal.nextInt();
+            opening.deal(game, shuffleSeed, 1 + deal.nextInt(2));
+            Journal journal = game.getJournal();
+            journal.startRecording();
+
+            int[] positions = new int[INITIAL_SAMPLES * WeightedEvaluator.FEATURES];
+            int[] movers = new int[INITIAL_SAMPLES];
+            int count = 0;
+            int lastPlayer = -1;
+            int played = 0;
+            while (game.getWinner() == -1 && played < MAX_GAME_MOVES) {
+                int toMove = game.getCurrentPlayer();
+                if (toMove != lastPlayer) {
+                    if (count == movers.length) {
+                        movers = Arrays.copyOf(movers, 2 * count);
+                        positions = Arrays.copyOf(positions, 2 * positions.length);
+                    }
+                    WeightedEvaluator.extract(game, toMove, features);
+                    System.arraycopy(features, 0, positions, count * WeightedEvaluator.FEATURES,
+                            WeightedEvaluator.FEATURES);
+                    movers[count++] = toMove;
+                    lastPlayer = toMove;
+                }
+                game.applyMove(choose(sides[toMove], random));
+                journal.clear();
+                played++;
+            }
+            journal.stopRecording();
+            return new Record(positions, movers, count, game.getWinner());
+        }
+
+        /**
+         * Picks the move whose resulting state the evaluator scores best for the player to
+         * act, or a random move one time in eight.
+         *
+         * @param evaluator the evaluator of the player to act
+         * @param random    the random generator of the game
+         * @return the move
+         */
+        private int choose(final WeightedEvaluator evaluator, final SplittableRandom random) {
+            int capacity = game.getMoveCapacity();
+            if (moves.length < capacity) {
+                moves = new int[2 * capacity];
+            }
+            int count = game.generateMoves(moves);
+            if (random.nextInt(RANDOM_MOVE_ODDS) == 0) {
+                return moves[random.nextInt(count)];
+            }
+
+            int toMove = game.getCurrentPlayer();
+            Journal journal = game.getJournal();
+            int best = moves[0];
+            int bestScore = Integer.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                int mark = journal.mark();
+                game.applyMove(moves[i]);
+                int score = game.getWinner() == toMove ? Integer.MAX_VALUE
+                        : evaluator.evaluate(game, toMove);
+                journal.undoTo(mark);
+                if (score > bestScore) {
+                    best = moves[i];
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+    }
+}
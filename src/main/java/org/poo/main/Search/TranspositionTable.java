@@ -0,0 +1,221 @@
+package org.poo.main.Search;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size table of search results, indexed by the Zobrist hash of the game state
+ * ({@code Game.getHash()}) and shared by every search thread without locks.
+ *
+ * <p>Each entry is two longs: the packed result (move, score, depth, bound and age) and
+ * that result XORed with the hash of its state. The two words are written and read
+ * separately, so another thread may see them half updated, but then the XOR of the words
+ * no longer gives the hash being looked up and the entry is treated as missing.</p>
+ *
+ * <p>Entries are grouped in buckets of four next to each other. A state can be stored in
+ * any entry of its bucket; when the bucket is full, the entry replaced is the one least
+ * worth keeping: an entry left from an older search first, then the shallowest one.</p>
+ */
+public final class TranspositionTable {
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+    public static final int MAX_SCORE = (1 << 19) - 1;
+    public static final int MAX_DEPTH = 255;
+    public static final long MISS = 0;
+
+    private static final int MAX_CAPACITY = 1 << 29;
+    private static final int BUCKET_SIZE = 4;
+    private static final int MOVE_BITS = 20;
+    private static final int SCORE_BITS = 20;
+    private static final int SCORE_SHIFT = MOVE_BITS;
+    private static final int DEPTH_SHIFT = SCORE_SHIFT + SCORE_BITS;
+    private static final int BOUND_SHIFT = DEPTH_SHIFT + 8;
+    private static final int AGE_SHIFT = BOUND_SHIFT + 2;
+    private static final int VALID_SHIFT = AGE_SHIFT + 8;
+    private static final long MOVE_MASK = (1L << MOVE_BITS) - 1;
+    private static final long SCORE_MASK = (1L << SCORE_BITS) - 1;
+    private static final int DEPTH_MASK = 0xFF;
+    private static final int BOUND_MASK = 0x3;
+    private static final int AGE_MASK = 0xFF;
+    private static final long VALID = 1L << VALID_SHIFT;
+    private static final int AGE_WEIGHT = 16;
+
+    private final AtomicLongArray words;
+    private final int bucketMask;
+    private volatile int age;
+
+    /**
+     * Constructs an empty {@code TranspositionTable}.
+     *
+     * @param capacity the number of entries, rounded up to a power of two; each entry
+     *                 takes 16 bytes
+     * @throws IllegalArgumentException if the capacity is not positive or too large
+     */
+    public TranspositionTable(final int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Invalid table capacity: " + capacity);
+        }
+        int entries = Math.max(BUCKET_SIZE, Integer.highestOneBit(capacity - 1) << 1);
+        words = new AtomicLongArray(2 * entries);
+        bucketMask = entries / BUCKET_SIZE - 1;
+        age = 0;
+    }
+
+    /**
+     * Gets the number of entries of the table.
+     *
+     * @return the capacity of the table
+     */
+    public int capacity() {
+        return words.length() / 2;
+    }
+
+    /**
+     * Marks the start of a new search. Entries stored by earlier searches are still found,
+     * but are the first to be replaced.
+     */
+    public void newSearch() {
+        age = (age + 1) & AGE_MASK;
+    }
+
+    /**
+     * Empties the table. Must not run at the same time as a search using it.
+     */
+    public void clear() {
+        for (int i = 0; i < words.length(); i++) {
+            words.setPlain(i, 0);
+        }
+        age = 0;
+    }
+
+    /**
+     * Looks up the stored result of a state.
+     *
+     * @param hash the hash of the state
+     * @return the packed result, to be read with the static getters, or {@link #MISS} if
+     *         the state is not in the table
+     */
+    public long probe(final long hash) {
+        int first = bucket(hash);
+        for (int i = first; i < first + 2 * BUCKET_SIZE; i += 2) {
+            long data = words.getOpaque(i + 1);
+            if ((data & VALID) != 0 && (words.getOpaque(i) ^ data) == hash) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of a search of a state. A result already stored for the state is
+     * kept if it comes from a deeper search of the current one, unless the new result is
+     * exact.
+     *
+     * @param hash  the hash of the state
+     * @param move  the best move found, or any value in 20 bits if there is none
+     * @param score the score of the state, at most {@link #MAX_SCORE} in absolute value
+     * @param depth the depth searched, at most {@link #MAX_DEPTH}
+     * @param bound {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     * @throws IllegalArgumentException if a value does not fit in the entry
+     */
+    public void store(final long hash, final int move, final int score, final int depth,
+                      final int bound) {
+        if ((move & ~MOVE_MASK) != 0 || Math.abs(score) > MAX_SCORE
+                || depth < 0 || depth > MAX_DEPTH || bound < EXACT || bound > UPPER_BOUND) {
+            throw new IllegalArgumentException("Entry out of range");
+        }
+        int currentAge = age;
+        long data = VALID
+                | ((long) currentAge << AGE_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) depth << DEPTH_SHIFT)
+                | ((score & SCORE_MASK) << SCORE_SHIFT)
+                | move;
+
+        int first = bucket(hash);
+        int victim = first;
+        int victimPriority = Integer.MAX_VALUE;
+        for (int i = first; i < first + 2 * BUCKET_SIZE; i += 2) {
+            long old = words.getOpaque(i + 1);
+            if ((old & VALID) == 0) {
+                victim = i;
+                victimPriority = Integer.MIN_VALUE;
+                continue;
+            }
+            if ((words.getOpaque(i) ^ old) == hash) {
+                if (bound != EXACT && getAge(old) == currentAge && getDepth(old) > depth) {
+                    return;
+                }
+                victim = i;
+                break;
+            }
+            int priority = getDepth(old) - AGE_WEIGHT * ((currentAge - getAge(old)) & AGE_MASK);
+            if (priority < victimPriority) {
+                victim = i;
+                victimPriority = priority;
+            }
+        }
+        words.setOpaque(victim + 1, data);
+        words.setOpaque(victim, hash ^ data);
+    }
+
+    /**
+     * Gets the index of the first word of the bucket of a state.
+     *
+     * @param hash the hash of the state
+     * @return the index in the word array
+     */
+    private int bucket(final long hash) {
+        return (int) (hash & bucketMask) * 2 * BUCKET_SIZE;
+    }
+
+    /**
+     * Gets the best move of a stored result.
+     *
+     * @param entry a result returned by {@link #probe(long)}
+     * @return the move
+     */
+    public static int getMove(final long entry) {
+        return (int) (entry & MOVE_MASK);
+    }
+
+    /**
+     * Gets the score of a stored result.
+     *
+     * @param entry a result returned by {@link #probe(long)}
+     * @return the score
+     */
+    public static int getScore(final long entry) {
+        return (int) (entry << (Long.SIZE - DEPTH_SHIFT) >> (Long.SIZE - SCORE_BITS));
+    }
+
+    /**
+     * Gets the depth a stored result was searched to.
+     *
+     * @param entry a result returned by {@link #probe(long)}
+     * @return the depth
+     */
+    public static int getDepth(final long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & DEPTH_MASK;
+    }
+
+    /**
+     * Gets the kind of bound of a stored score.
+     *
+     * @param entry a result returned by {@link #probe(long)}
+     * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     */
+    public static int getBound(final long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & BOUND_MASK;
+    }
+
+    /**
+     * Gets the search a stored result comes from.
+     *
+     * @param entry a result returned by {@link #probe(long)}
+     * @return the age of the search, modulo 256
+     */
+    private static int getAge(final long entry) {
+        return (int) (entry >>> AGE_SHIFT) & AGE_MASK;
+    }
+}
@@ -0,0 +1,164 @@
+package org.poo.main.Search;
+
+import org.poo.main.Game;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A node of the Monte Carlo search tree, shared by every search thread. The statistics
+ * are atomic, so threads update them without locking; the list of children is changed
+ * and read under the node's own lock.
+ *
+ * <p>Rewards are counted in half points from the side of the player who played the move
+ * leading to the node: 2 for a win, 1 for a draw, 0 for a loss.</p>
+ */
+final class TreeNode {
+    static final int WIN = 2;
+    static final int DRAW = 1;
+
+    private final int move;
+    private final int player;
+    private final AtomicInteger visits;
+    private final AtomicLong reward;
+    private int[] untried;
+    private int untriedCount;
+    private TreeNode[] children;
+    private int childCount;
+
+    /**
+     * Constructs a node that has not been visited.
+     *
+     * @param move   the move leading to the node, or -1 for the root
+     * @param player the player who played that move, or -1 for the root
+     */
+    TreeNode(final int move, final int player) {
+        this.move = move;
+        this.player = player;
+        visits = new AtomicInteger();
+        reward = new AtomicLong();
+    }
+
+    /**
+     * Gets the move leading to the node.
+     *
+     * @return the move
+     */
+    int getMove() {
+        return move;
+    }
+
+    /**
+     * Gets the number of finished playouts through the node, plus the virtual losses of
+     * the ones still running.
+     *
+     * @return the visits
+     */
+    int getVisits() {
+        return visits.get();
+    }
+
+    /**
+     * Gets the average reward of the node, between 0 (always lost) and 1 (always won).
+     *
+     * @return the win rate of the player who played the move
+     */
+    double getWinRate() {
+        int n = visits.get();
+        return n == 0 ? 0 : reward.get() / (double) (WIN * n);
+    }
+
+    /**
+     * Checks if the moves of the node have not been listed yet.
+     *
+     * @return {@code true} if no thread has stepped past the node; {@code false} otherwise
+     */
+    synchronized boolean isLeaf() {
+        return untried == null;
+    }
+
+    /**
+     * Picks the child to step into. Moves never tried come first, in random order; once
+     * all were tried, the child with the best UCT value is picked.
+     *
+     * @param game        the game, in the state of this node
+     * @param moves       a buffer large enough for the moves of the state
+     * @param random      the random generator of the searching thread
+     * @param exploration the exploration constant of UCT
+     * @return the chosen child, or {@code null} if the state has no move
+     */
+    synchronized TreeNode select(final Game game, final int[] moves,
+                                 final SplittableRandom random, final double exploration) {
+        if (untried == null) {
+            int count = game.generateMoves(moves);
+            untried = Arrays.copyOf(moves, count);
+            untriedCount = count;
+            children = new TreeNode[count];
+        }
+
+        if (untriedCount > 0) {
+            int pick = random.nextInt(untriedCount);
+            TreeNode child = new TreeNode(untried[pick], game.getCurrentPlayer());
+            untried[pick] = untried[--untriedCount];
+            children[childCount++] = child;
+            return child;
+        }
+
+        double logVisits = Math.log(Math.max(1, visits.get()));
+        TreeNode best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < childCount; i++) {
+            TreeNode child = children[i];
+            int n = Math.max(1, child.visits.get());
+            double value = child.reward.get() / (double) (WIN * n)
+                    + exploration * Math.sqrt(logVisits / n);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the child visited the most, which is the move the search recommends.
+     *
+     * @return the most visited child, or {@code null} if the node has no children
+     */
+    synchronized TreeNode getMostVisited() {
+        TreeNode best = null;
+        for (int i = 0; i < childCount; i++) {
+            if (best == null || children[i].visits.get() > best.visits.get()) {
+                best = children[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Counts a playout that is going through the node, as a loss until it finishes, so
+     * that the other threads prefer other paths meanwhile.
+     *
+     * @param virtualLoss the number of losses to count
+     */
+    void addVirtualLoss(final int virtualLoss) {
+        visits.addAndGet(virtualLoss);
+    }
+
+    /**
+     * Counts the result of a finished playout, taking back its virtual loss.
+     *
+     * @param winner      the winner of the playout, or -1 for a draw
+     * @param virtualLoss the virtual loss added when the playout went through the node
+     */
+    void update(final int winner, final int virtualLoss) {
+        if (winner == -1) {
+            reward.addAndGet(DRAW);
+        } else if (winner == player) {
+            reward.addAndGet(WIN);
+        }
+        visits.addAndGet(1 - virtualLoss);
+    }
+}
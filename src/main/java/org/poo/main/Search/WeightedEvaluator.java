@@ -0,0 +1,138 @@
+package org.poo.main.Search;
+
+import org.poo.main.Cards.*;
+import org.poo.main.Game;
+import org.poo.main.GameMechanics.Board;
+import org.poo.main.GameMechanics.Player;
+
+/**
+ * An {@link Evaluator} that sums weighted features of the state. Every feature is the
+ * difference between the player and the opponent, so the score of one side is the
+ * negation of the other.
+ */
+public final class WeightedEvaluator implements Evaluator {
+    public static final int HERO_HEALTH = 0;
+    public static final int BOARD_ATTACK = 1;
+    public static final int BOARD_HEALTH = 2;
+    public static final int TANKS = 3;
+    public static final int FROZEN = 4;
+    public static final int MANA = 5;
+    public static final int HAND_SIZE = 6;
+    public static final int FEATURES = 7;
+
+    private static final int[] DEFAULT_WEIGHTS = {4, 3, 2, 4, -3, 1, 2};
+
+    private final int[] weights;
+
+    /**
+     * Constructs a {@code WeightedEvaluator} with hand-picked weights.
+     */
+    public WeightedEvaluator() {
+        this(DEFAULT_WEIGHTS);
+    }
+
+    /**
+     * Constructs a {@code WeightedEvaluator} with the given weights.
+     *
+     * @param weights one weight per feature, indexed by the feature constants
+     * @throws IllegalArgumentException if there is not one weight per feature
+     */
+    public WeightedEvaluator(final int[] weights) {
+        if (weights.length != FEATURES) {
+            throw new IllegalArgumentException("Expected " + FEATURES + " weights");
+        }
+        this.weights = weights.clone();
+    }
+
+    /**
+     * Gets the weights of the features.
+     *
+     * @return a copy of the weights, indexed by the feature constants
+     */
+    public int[] getWeights() {
+        return weights.clone();
+    }
+
+    @Override
+    public int evaluate(final Game game, final int playerIdx) {
+        int score = 0;
+        for (int feature = 0; feature < FEATURES; feature++) {
+            score += weights[feature] * feature(game, playerIdx, feature);
+        }
+        return score;
+    }
+
+    /**
+     * Computes every feature of a state, from the side of a player.
+     *
+     * @param game      the game
+     * @param playerIdx the player (0 or 1)
+     * @param features  the array the features are written to, at least
+     *                  {@link #FEATURES} long
+     */
+    public static void extract(final Game game, final int playerIdx, final int[] features) {
+        for (int feature = 0; feature < FEATURES; feature++) {
+            features[feature] = feature(game, playerIdx, feature);
+        }
+    }
+
+    /**
+     * Computes a feature of a state, from the side of a player.
+     *
+     * @param game      the game
+     * @param playerIdx the player (0 or 1)
+     * @param feature   the feature
+     * @return the value of the player minus the value of the opponent
+     */
+    private static int feature(final Game game, final int playerIdx, final int feature) {
+        return side(game, playerIdx, feature) - side(game, 1 - playerIdx, feature);
+    }
+
+    /**
+     * Computes a feature of a state for a single player.
+     *
+     * @param game      the game
+     * @param playerIdx the player (0 or 1)
+     * @param feature   the feature
+     * @return the value of the feature for the player
+     */
+    private static int side(final Game game, final int playerIdx, final int feature) {
+        Player player = game.getPlayer(playerIdx);
+        return switch (feature) {
+            case HERO_HEALTH -> player.getHeroNormal().getHealthPoints();
+            case MANA -> player.getMana();
+            case HAND_SIZE -> player.getHand().size();
+            default -> boardSide(game.getBoard(), playerIdx, feature);
+        };
+    }
+
+    /**
+     * Computes a feature of the cards a player has on the board.
+     *
+     * @param board     the board
+     * @param playerIdx the player (0 or 1)
+     * @param feature   the feature
+     * @return the sum of the feature over the player's cards
+     */
+    private static int boardSide(final Board board, final int playerIdx, final int feature) {
+        int value = 0;
+        for (int row = 0; row < MagicNumbers.TABLE_ROWS; row++) {
+            if (board.getPlayerForRow(row) != playerIdx) {
+                continue;
+            }
+            for (Minion card : board.getRow(row)) {
+                if (card == null) {
+                    break;
+                }
+                value += switch (feature) {
+                    case BOARD_ATTACK -> card.getAttackDamage();
+                    case BOARD_HEALTH -> card.getHealthPoints();
+                    case TANKS -> card.getTank() ? 1 : 0;
+                    case FROZEN -> card.isFrozen() ? 1 : 0;
+                    default -> 0;
+                };
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,146 @@
+package org.poo.main.Search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * The weights of a {@link WeightedEvaluator} as saved by the {@link SelfPlayTuner}, with
+ * the version of the weights and how they were tuned.
+ *
+ * <p>The file is JSON. Its {@code formatVersion} is the layout of the file and only
+ * changes with this class; its {@code version} counts the tuning runs that produced the
+ * weights, each run starting from the weights of the previous one. The weights are
+ * written by feature name, so files stay readable if features are added.</p>
+ */
+public final class WeightsFile {
+    public static final int FORMAT_VERSION = 1;
+
+    private static final String[] FEATURE_NAMES = {
+        "heroHealth", "boardAttack", "boardHealth", "tanks", "frozen", "mana", "handSize"
+    };
+
+    private final int version;
+    private final int[] weights;
+    private final long games;
+    private final long seed;
+
+    /**
+     * Constructs a {@code WeightsFile}.
+     *
+     * @param version the version of the weights
+     * @param weights one weight per feature, indexed by the feature constants of
+     *                {@link WeightedEvaluator}
+     * @param games   the number of games played to tune the weights
+     * @param seed    the seed of the games
+     * @throws IllegalArgumentException if there is not one weight per feature
+     */
+    public WeightsFile(final int version, final int[] weights, final long games,
+                       final long seed) {
+        if (weights.length != WeightedEvaluator.FEATURES) {
+            throw new IllegalArgumentException("Expected " + WeightedEvaluator.FEATURES
+                    + " weights");
+        }
+        this.version = version;
+        this.weights = weights.clone();
+        this.games = games;
+        this.seed = seed;
+    }
+
+    /**
+     * Reads a weights file.
+     *
+     * @param file the file to read
+     * @return the weights and their version
+     * @throws IOException              in case of exceptions to reading
+     * @throws IllegalArgumentException if the file has another format version or lacks
+     *                                  a weight
+     */
+    public static WeightsFile read(final File file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(file);
+        int formatVersion = root.path("formatVersion").asInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported weights format: " + formatVersion);
+        }
+        JsonNode weightsNode = root.path("weights");
+        int[] weights = new int[WeightedEvaluator.FEATURES];
+        for (int feature = 0; feature < WeightedEvaluator.FEATURES; feature++) {
+            JsonNode weight = weightsNode.get(FEATURE_NAMES[feature]);
+            if (weight == null || !weight.canConvertToInt()) {
+                throw new IllegalArgumentException("Missing weight: " + FEATURE_NAMES[feature]);
+            }
+            weights[feature] = weight.asInt();
+        }
+        return new WeightsFile(root.path("version").asInt(), weights,
+                root.path("games").asLong(), root.path("seed").asLong());
+    }
+
+    /**
+     * Writes the weights to a file, replacing it.
+     *
+     * @param file the file to write
+     * @throws IOException in case of exceptions to writing
+     */
+    public void write(final File file) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("formatVersion", FORMAT_VERSION);
+        root.put("version", version);
+        root.put("games", games);
+        root.put("seed", seed);
+        ObjectNode weightsNode = root.putObject("weights");
+        for (int feature = 0; feature < WeightedEvaluator.FEATURES; feature++) {
+            weightsNode.put(FEATURE_NAMES[feature], weights[feature]);
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, root);
+    }
+
+    /**
+     * Gets the version of the weights.
+     *
+     * @return the number of tuning runs behind the weights
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the weights.
+     *
+     * @return a copy of the weights, indexed by the feature constants of
+     *         {@link WeightedEvaluator}
+     */
+    public int[] getWeights() {
+        return weights.clone();
+    }
+
+    /**
+     * Gets the number of games played to tune the weights.
+     *
+     * @return the games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the seed of the games played to tune the weights.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Builds an evaluator scoring states with these weights.
+     *
+     * @return the evaluator
+     */
+    public WeightedEvaluator toEvaluator() {
+        return new WeightedEvaluator(weights);
+    }
+}
@@ -0,0 +1,162 @@
+package org.poo.main.Server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.poo.fileio.CardInput;
+import org.poo.fileio.DecksInput;
+import org.poo.fileio.GameInput;
+import org.poo.fileio.Input;
+import org.poo.fileio.StartGameInput;
+import org.poo.main.Cards.CardDefinition;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The cards a {@link MatchServer} lets its clients play: every card and hero of a
+ * directory of input files, interned once when the server starts. The decks and heroes a
+ * client sends are looked up here without being interned, and a card that is not in the
+ * pool is refused, so clients cannot make the process keep new card definitions forever.
+ * The pool is not changed once built, so every session reads it without a lock.
+ */
+public final class CardPool {
+    private final Set<CardDefinition> cards = new HashSet<>();
+
+    /**
+     * Constructs a {@code CardPool} of the cards of the given inputs.
+     *
+     * @param inputs the inputs whose decks and heroes may be played
+     */
+    public CardPool(final List<Input> inputs) {
+        for (Input input : inputs) {
+            addDecks(input.getPlayerOneDecks());
+            addDecks(input.getPlayerTwoDecks());
+            for (GameInput gameInput : input.getGames()) {
+                addCard(gameInput.getStartGame().getPlayerOneHero());
+                addCard(gameInput.getStartGame().getPlayerTwoHero());
+            }
+        }
+    }
+
+    /**
+     * Reads the cards of every input file of a directory.
+     *
+     * @param directory the directory of the input files
+     * @return the pool
+     * @throws IOException in case of exceptions to reading
+     */
+    public static CardPool fromDirectory(final File directory) throws IOException {
+        File[] files = Objects.requireNonNull(directory.listFiles(),
+                () -> "Not a directory: " + directory);
+        Arrays.sort(files);
+        ObjectMapper objectMapper = new ObjectMapper();
+        Input[] inputs = new Input[files.length];
+        for (int i = 0; i < files.length; i++) {
+            inputs[i] = objectMapper.readValue(files[i], Input.class);
+        }
+        return new CardPool(List.of(inputs));
+    }
+
+    /**
+     * Gets the number of card variants in the pool.
+     *
+     * @return the number of distinct definitions
+     */
+    public int size() {
+        return cards.size();
+    }
+
+    /**
+     * Checks the cards of the decks a client sent.
+     *
+     * @param decks the decks, or {@code null}
+     * @return the name of the first card missing from the pool, or {@code null} if every
+     *         card is in it
+     */
+    public String findUnknown(final DecksInput decks) {
+        if (decks == null || decks.getDecks() == null) {
+            return null;
+        }
+        for (List<CardInput> deck : decks.getDecks()) {
+            if (deck == null) {
+                continue;
+            }
+            for (CardInput card : deck) {
+                if (!contains(card)) {
+                    return nameOf(card);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks the heroes of a game a client started.
+     *
+     * @param startGameInput the setup of the game, or {@code null}
+     * @return the name of the first hero missing from the pool, or {@code null} if both
+     *         are in it
+     */
+    public String findUnknown(final StartGameInput startGameInput) {
+        if (startGameInput == null) {
+            return null;
+        }
+        if (!contains(startGameInput.getPlayerOneHero())) {
+            return nameOf(startGameInput.getPlayerOneHero());
+        }
+        if (!contains(startGameInput.getPlayerTwoHero())) {
+            return nameOf(startGameInput.getPlayerTwoHero());
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a card is in the pool, without interning it.
+     *
+     * @param card the card as sent by a client
+     * @return {@code true} if the pool holds the card; {@code false} otherwise
+     */
+    private boolean contains(final CardInput card) {
+        if (card == null) {
+            return false;
+        }
+        CardDefinition definition = CardDefinition.find(card);
+        return definition != null && cards.contains(definition);
+    }
+
+    /**
+     * Names a card in a reply to the client.
+     *
+     * @param card the card as sent by the client, or {@code null}
+     * @return the name of the card
+     */
+    private static String nameOf(final CardInput card) {
+        return card == null ? "null" : card.getName();
+    }
+
+    /**
+     * Adds the cards of a set of decks to the pool.
+     *
+     * @param decks the decks
+     */
+    private void addDecks(final DecksInput decks) {
+        for (List<CardInput> deck : decks.getDecks()) {
+            for (CardInput card : deck) {
+                addCard(card);
+            }
+        }
+    }
+
+    /**
+     * Interns a card and adds it to the pool.
+     *
+     * @param card the card
+     */
+    private void addCard(final CardInput card) {
+        cards.add(CardDefinition.of(card));
+    }
+}
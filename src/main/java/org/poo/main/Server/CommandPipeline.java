@@ -0,0 +1,417 @@
+package org.poo.main.Server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.poo.fileio.ActionsInput;
+import org.poo.fileio.ArrayOutputSink;
+import org.poo.fileio.DecksInput;
+import org.poo.fileio.StartGameInput;
+import org.poo.main.Game;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Plays the commands of many sessions through a preallocated ring of slots, in the style
+ * of the LMAX Disruptor. Readers publish decoded commands into the slots, the engine
+ * thread plays them in order on their games, and the serializer thread encodes the result
+ * nodes and hands the bytes to the reply of each command. The slots, their result arrays
+ * and their output sinks are made once and reused lap after lap.
+ *
+ * <p>Each stage follows the sequence of the one before it, and readers may only claim a
+ * slot the serializer is done with. When the ring is full, {@link #tryPublish} refuses
+ * the command and {@link #publish} waits for a slot; either way the ring never grows, and
+ * a reader that waits stops reading its connection, which pushes back on the client.</p>
+ *
+ * <p>Searches ({@code suggestMove} and {@code solveEndgame}) run for their whole time
+ * budget, and on the engine they would hold up the commands of every session. They are
+ * played by {@link #search} instead, on a pool of platform threads of their own, so the
+ * operating system shares the cores between them and the engine.</p>
+ *
+ * <p>The games given to a pipeline must only be played by its threads from then on: a
+ * session publishes all of its commands, including the start of its games, and waits for
+ * the reply of each before sending the next.</p>
+ */
+public final class CommandPipeline implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+
+    private static final int SPINS = 100;
+    private static final int YIELDS = 100;
+    private static final long PARK_NANOS = 1_000_000;
+
+    private final Slot[] slots;
+    private final int mask;
+    private final int shift;
+    private final AtomicIntegerArray published;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicLong played = new AtomicLong(-1);
+    private final AtomicLong serialized = new AtomicLong(-1);
+    private final AtomicLong refused = new AtomicLong();
+    private final LatencyHistogram engineBatches = new LatencyHistogram();
+    private final Thread engine;
+    private final Thread serializer;
+    private final ExecutorService searches = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            Thread.ofPlatform().name("pipeline-search-", 0).daemon().factory());
+    private volatile boolean running = true;
+    private volatile boolean engineParked;
+    private volatile boolean serializerParked;
+
+    /**
+     * Constructs a {@code CommandPipeline} and starts its engine and serializer threads.
+     *
+     * @param capacity the number of slots of the ring, a power of two
+     */
+    public CommandPipeline(final int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a power of two");
+        }
+        slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        mask = capacity - 1;
+        shift = Integer.numberOfTrailingZeros(capacity);
+        published = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        engine = Thread.ofPlatform().name("pipeline-engine").daemon()
+                .unstarted(this::runEngine);
+        serializer = Thread.ofPlatform().name("pipeline-serializer").daemon()
+                .unstarted(this::runSerializer);
+        engine.start();
+        serializer.start();
+    }
+
+    /**
+     * Publishes a command if the ring has room.
+     *
+     * @param game           the game to play the command on
+     * @param playerOneDecks the decks of the first player, if a game is started
+     * @param playerTwoDecks the decks of the second player, if a game is started
+     * @param startGameInput the setup of a new game to start first, or {@code null}
+     * @param action         the action to play, or {@code null}
+     * @param reply          receives the encoded result line, on the serializer thread
+     * @return {@code false} if the ring is full and nothing was published
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    public boolean tryPublish(final Game game, final DecksInput playerOneDecks,
+                              final DecksInput playerTwoDecks,
+                              final StartGameInput startGameInput, final ActionsInput action,
+                              final Consumer<byte[]> reply) {
+        if (!offer(game, playerOneDecks, playerTwoDecks, startGameInput, action, reply)) {
+            refused.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Publishes a command, waiting for a free slot while the ring is full.
+     *
+     * @param game           the game to play the command on
+     * @param playerOneDecks the decks of the first player, if a game is started
+     * @param playerTwoDecks the decks of the second player, if a game is started
+     * @param startGameInput the setup of a new game to start first, or {@code null}
+     * @param action         the action to play, or {@code null}
+     * @param reply          receives the encoded result line, on the serializer thread
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    public void publish(final Game game, final DecksInput playerOneDecks,
+                        final DecksInput playerTwoDecks, final StartGameInput startGameInput,
+                        final ActionsInput action, final Consumer<byte[]> reply) {
+        if (tryPublish(game, playerOneDecks, playerTwoDecks, startGameInput, action, reply)) {
+            return;
+        }
+        int idle = 0;
+        while (!offer(game, playerOneDecks, playerTwoDecks, startGameInput, action, reply)) {
+            idle = backOff(idle);
+            if (idle == SPINS + YIELDS) {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Plays a search command on the search pool, off the engine, and waits for its reply.
+     *
+     * @param game           the game to play the command on
+     * @param playerOneDecks the decks of the first player, if a game is started
+     * @param playerTwoDecks the decks of the second player, if a game is started
+     * @param startGameInput the setup of a new game to start first, or {@code null}
+     * @param action         the search to play
+     * @return the encoded result line
+     * @throws IllegalStateException if the pipeline is closed, or the caller is
+     *                               interrupted while waiting
+     */
+    public byte[] search(final Game game, final DecksInput playerOneDecks,
+                         final DecksInput playerTwoDecks, final StartGameInput startGameInput,
+                         final ActionsInput action) {
+        Future<byte[]> reply;
+        try {
+            reply = searches.submit(() -> MatchSession.encode(MatchSession.play(game,
+                    playerOneDecks, playerTwoDecks, startGameInput, action,
+                    new ArrayOutputSink(JsonNodeFactory.instance.arrayNode()))));
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("The pipeline is closed", e);
+        }
+        try {
+            return reply.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The search failed", e.getCause());
+        }
+    }
+
+    /**
+     * Gets the number of commands that found the ring full, refused by
+     * {@link #tryPublish} or kept waiting by {@link #publish}.
+     *
+     * @return the count
+     */
+    public long getRefused() {
+        return refused.get();
+    }
+
+    /**
+     * Gets the number of commands published and not yet replied to.
+     *
+     * @return the slots in use
+     */
+    public long getInFlight() {
+        return claimed.get() - serialized.get();
+    }
+
+    /**
+     * Gets the number of commands the engine played each time it caught up.
+     *
+     * @return the histogram of the batch sizes
+     */
+    public LatencyHistogram getEngineBatches() {
+        return engineBatches;
+    }
+
+    /**
+     * Checks if the pipeline is closed and its threads are done, so a command that has
+     * no reply by then will never get one.
+     *
+     * @return {@code true} once the serializer thread has ended
+     */
+    public boolean isTerminated() {
+        return !running && !serializer.isAlive();
+    }
+
+    /**
+     * Stops the threads once every command published is replied to. A command published
+     * while the pipeline closes may be left without a reply.
+     */
+    @Override
+    public void close() {
+        running = false;
+        searches.shutdown();
+        try {
+            engine.join();
+            serializer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Fills and publishes the next slot, if the ring has room.
+     *
+     * @param game           the game to play the command on
+     * @param playerOneDecks the decks of the first player, if a game is started
+     * @param playerTwoDecks the decks of the second player, if a game is started
+     * @param startGameInput the setup of a new game to start first, or {@code null}
+     * @param action         the action to play, or {@code null}
+     * @param reply          receives the encoded result line
+     * @return {@code false} if the ring is full
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    private boolean offer(final Game game, final DecksInput playerOneDecks,
+                          final DecksInput playerTwoDecks, final StartGameInput startGameInput,
+                          final ActionsInput action, final Consumer<byte[]> reply) {
+        if (!running) {
+            throw new IllegalStateException("The pipeline is closed");
+        }
+        long sequence = tryClaim();
+        if (sequence < 0) {
+            return false;
+        }
+        Slot slot = slots[(int) sequence & mask];
+        slot.game = game;
+        slot.playerOneDecks = playerOneDecks;
+        slot.playerTwoDecks = playerTwoDecks;
+        slot.startGameInput = startGameInput;
+        slot.action = action;
+        slot.reply = reply;
+        published.set((int) sequence & mask, (int) (sequence >>> shift));
+        if (engineParked) {
+            LockSupport.unpark(engine);
+        }
+        return true;
+    }
+
+    /**
+     * Claims the next sequence, if the serializer is done with its slot.
+     *
+     * @return the sequence, or -1 if the ring is full
+     */
+    private long tryClaim() {
+        while (true) {
+            long current = claimed.get();
+            long next = current + 1;
+            if (next - slots.length > serialized.get()) {
+                return -1;
+            }
+            if (claimed.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Finds how far the slots are published without a gap. Readers may fill their slots
+     * out of order, so the engine stops at the first one still being written.
+     *
+     * @param from the first sequence to check
+     * @return the last published sequence of the run, or {@code from - 1} if none is
+     */
+    private long publishedUpTo(final long from) {
+        long last = claimed.get();
+        long sequence = from;
+        while (sequence <= last
+                && published.get((int) sequence & mask) == (int) (sequence >>> shift)) {
+            sequence++;
+        }
+        return sequence - 1;
+    }
+
+    /**
+     * Plays the published commands in order until the pipeline is closed and drained.
+     */
+    private void runEngine() {
+        int idle = 0;
+        while (true) {
+            long next = played.get() + 1;
+            long last = publishedUpTo(next);
+            if (last < next) {
+                if (!running && claimed.get() < next) {
+                    return;
+                }
+                idle = backOff(idle);
+                if (idle == SPINS + YIELDS) {
+                    engineParked = true;
+                    if (publishedUpTo(next) < next) {
+                        LockSupport.parkNanos(PARK_NANOS);
+                    }
+                    engineParked = false;
+                }
+                continue;
+            }
+            idle = 0;
+            for (long sequence = next; sequence <= last; sequence++) {
+                Slot slot = slots[(int) sequence & mask];
+                slot.result = MatchSession.play(slot.game, slot.playerOneDecks,
+                        slot.playerTwoDecks, slot.startGameInput, slot.action, slot.sink);
+            }
+            engineBatches.record(last - next + 1);
+            played.set(last);
+            if (serializerParked) {
+                LockSupport.unpark(serializer);
+            }
+        }
+    }
+
+    /**
+     * Encodes the results played by the engine and delivers them, until the pipeline is
+     * closed and drained.
+     */
+    private void runSerializer() {
+        int idle = 0;
+        while (true) {
+            long next = serialized.get() + 1;
+            long last = played.get();
+            if (last < next) {
+                if (!running && claimed.get() < next && !engine.isAlive()) {
+                    return;
+                }
+                idle = backOff(idle);
+                if (idle == SPINS + YIELDS) {
+                    serializerParked = true;
+                    if (played.get() < next) {
+                        LockSupport.parkNanos(PARK_NANOS);
+                    }
+                    serializerParked = false;
+                }
+                continue;
+            }
+            idle = 0;
+            for (long sequence = next; sequence <= last; sequence++) {
+                Slot slot = slots[(int) sequence & mask];
+                byte[] line = MatchSession.encode(slot.result);
+                Consumer<byte[]> reply = slot.reply;
+                slot.clear();
+                reply.accept(line);
+            }
+            serialized.set(last);
+        }
+    }
+
+    /**
+     * Waits a little for another thread: spins first, then yields. Once both are used
+     * up, the caller parks until it is woken or {@code PARK_NANOS} pass.
+     *
+     * @param idle the number of times in a row the caller found nothing to do
+     * @return the new count, {@code SPINS + YIELDS} once the caller should park
+     */
+    private static int backOff(final int idle) {
+        if (idle < SPINS) {
+            Thread.onSpinWait();
+        } else if (idle < SPINS + YIELDS) {
+            Thread.yield();
+        }
+        return Math.min(idle + 1, SPINS + YIELDS);
+    }
+
+    /**
+     * A slot of the ring, holding one command from its publication to its reply.
+     */
+    private static final class Slot {
+        private final ArrayNode output = JsonNodeFactory.instance.arrayNode();
+        private final ArrayOutputSink sink = new ArrayOutputSink(output);
+        private Game game;
+        private DecksInput playerOneDecks;
+        private DecksInput playerTwoDecks;
+        private StartGameInput startGameInput;
+        private ActionsInput action;
+        private Consumer<byte[]> reply;
+        private JsonNode result;
+
+        /**
+         * Forgets the command, so the slot keeps nothing alive until its next lap.
+         */
+        void clear() {
+            output.removeAll();
+            game = null;
+            playerOneDecks = null;
+            playerTwoDecks = null;
+            startGameInput = null;
+            action = null;
+            reply = null;
+            result = null;
+        }
+    }
+}
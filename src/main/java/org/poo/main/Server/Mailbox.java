@@ -0,0 +1,83 @@
+package org.poo.main.Server;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free queue with any number of producers and a single consumer, the mailbox of a
+ * {@link MatchActor}. Producers swap themselves in as the tail with a single atomic
+ * exchange and then link the previous tail to their node; the consumer walks the links
+ * from a head only it touches, so taking an item costs no atomic operation at all.
+ *
+ * <p>Between the exchange and the link, an item is enqueued but not yet visible to the
+ * consumer. The actor handles this by letting the producer, once linked, schedule the
+ * drain itself.</p>
+ *
+ * @param <T> the type of the items
+ */
+final class Mailbox<T> {
+    private final AtomicReference<Node<T>> tail;
+    private Node<T> head;
+
+    /**
+     * Constructs an empty {@code Mailbox}.
+     */
+    Mailbox() {
+        head = new Node<>(null);
+        tail = new AtomicReference<>(head);
+    }
+
+    /**
+     * Adds an item at the end of the mailbox. Safe to call from any thread.
+     *
+     * @param item the item
+     */
+    void offer(final T item) {
+        Node<T> node = new Node<>(item);
+        tail.getAndSet(node).next = node;
+    }
+
+    /**
+     * Takes the first item of the mailbox. Only the consumer may call this.
+     *
+     * @return the item, or {@code null} if no item is visible yet
+     */
+    T poll() {
+        Node<T> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        T item = next.item;
+        next.item = null;
+        head = next;
+        return item;
+    }
+
+    /**
+     * Checks if an item is visible to the consumer. Only the consumer may call this.
+     *
+     * @return {@code true} if {@link #poll()} would return nothing
+     */
+    boolean isEmpty() {
+        return head.next == null;
+    }
+
+    /**
+     * Link of the mailbox; the head is always an empty node whose successor holds the
+     * first item.
+     *
+     * @param <T> the type of the item
+     */
+    private static final class Node<T> {
+        private T item;
+        private volatile Node<T> next;
+
+        /**
+         * Constructs a {@code Node}.
+         *
+         * @param item the item, or {@code null} for the first head
+         */
+        Node(final T item) {
+            this.item = item;
+        }
+    }
+}
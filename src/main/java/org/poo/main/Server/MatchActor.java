@@ -0,0 +1,202 @@
+package org.poo.main.Server;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.poo.fileio.ActionsInput;
+import org.poo.fileio.ArrayOutputSink;
+import org.poo.fileio.DecksInput;
+import org.poo.fileio.StartGameInput;
+import org.poo.main.Game;
+import org.poo.main.GameMechanics.SpectatorView;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A match that any number of threads may send commands to without a lock. Commands go
+ * into a lock-free {@link Mailbox}, and the actor is scheduled on the threads of its
+ * {@link MatchExecutor} whenever its mailbox stops being empty. A drain plays at most one
+ * batch of commands on the {@link Game}, one at a time, then puts the actor back at the
+ * end of the queue of the executor if more are waiting, so a busy match cannot keep a
+ * thread from the idle ones.
+ *
+ * <p>Each command answers with a future of the result nodes it produced, the same nodes
+ * {@code Game} writes to an output file. The futures are completed on the thread of the
+ * drain, so callbacks attached to them should be short or asynchronous. Once the executor
+ * is closed, the commands it no longer runs are completed exceptionally with an
+ * {@link IllegalStateException}.</p>
+ */
+public final class MatchActor {
+    private final MatchExecutor executor;
+    private final Game game = new Game();
+    private final SpectatorView spectators = game.watch();
+    private final Mailbox<Command> mailbox = new Mailbox<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Runnable drain = this::drain;
+
+    /**
+     * Constructs a {@code MatchActor}; actors are made by {@link MatchExecutor#newMatch()}.
+     *
+     * @param executor the executor the actor runs on
+     */
+    MatchActor(final MatchExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a new game, keeping the totals of the previous ones as in an input file.
+     *
+     * @param playerOneDecks the decks of the first player
+     * @param playerTwoDecks the decks of the second player
+     * @param startGameInput the setup of the game
+     * @return a future of the result nodes, always empty
+     */
+    public CompletableFuture<ArrayNode> startGame(final DecksInput playerOneDecks,
+                                                  final DecksInput playerTwoDecks,
+                                                  final StartGameInput startGameInput) {
+        return tell(new Command(null, playerOneDecks, playerTwoDecks, startGameInput));
+    }
+
+    /**
+     * Plays a command on the current game.
+     *
+     * @param action the command
+     * @return a future of the result nodes, completed exceptionally if the game failed
+     */
+    public CompletableFuture<ArrayNode> play(final ActionsInput action) {
+        return tell(new Command(action, null, null, null));
+    }
+
+    /**
+     * Gets the view spectators read the match from, from any thread and without waiting
+     * for the commands of the match.
+     *
+     * @return the view
+     */
+    public SpectatorView getSpectatorView() {
+        return spectators;
+    }
+
+    /**
+     * Gets the number of commands sent to the actor and not yet played.
+     *
+     * @return the depth of the mailbox
+     */
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    /**
+     * Queues a command and schedules the actor if it is not already.
+     *
+     * @param command the command
+     * @return the future of its result nodes
+     */
+    private CompletableFuture<ArrayNode> tell(final Command command) {
+        executor.enqueued(depth.incrementAndGet());
+        mailbox.offer(command);
+        schedule();
+        return command.result;
+    }
+
+    /**
+     * Hands the actor to the executor, unless it is already scheduled. If the executor is
+     * closed, the commands waiting in the mailbox are failed instead, so their futures
+     * complete and the actor is not left scheduled forever.
+     */
+    private void schedule() {
+        while (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.schedule(drain);
+                return;
+            } catch (IllegalStateException e) {
+                // While scheduled, no drain runs, so this thread is the only consumer.
+                int failed = 0;
+                for (Command command = mailbox.poll(); command != null;
+                        command = mailbox.poll()) {
+                    command.result.completeExceptionally(e);
+                    failed++;
+                }
+                depth.addAndGet(-failed);
+                executor.refused(failed);
+                scheduled.set(false);
+                if (mailbox.isEmpty()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Plays one batch of commands, then hands the actor back to the executor if more are
+     * waiting.
+     */
+    private void drain() {
+        long start = System.nanoTime();
+        int played = 0;
+        Command command = played < executor.getBatchSize() ? mailbox.poll() : null;
+        while (command != null) {
+            command.playOn(game);
+            played++;
+            command = played < executor.getBatchSize() ? mailbox.poll() : null;
+        }
+        depth.addAndGet(-played);
+        executor.drained(played, System.nanoTime() - start);
+
+        // A producer that linked its command after the last poll either sees the actor
+        // unscheduled and schedules it itself, or is seen here.
+        scheduled.set(false);
+        if (!mailbox.isEmpty()) {
+            schedule();
+        }
+    }
+
+    /**
+     * A command waiting in the mailbox: a new game if the action is {@code null}, the
+     * action otherwise.
+     */
+    private static final class Command {
+        private final ActionsInput action;
+        private final DecksInput playerOneDecks;
+        private final DecksInput playerTwoDecks;
+        private final StartGameInput startGameInput;
+        private final CompletableFuture<ArrayNode> result = new CompletableFuture<>();
+
+        /**
+         * Constructs a {@code Command}.
+         *
+         * @param action         the action to play, or {@code null} to start a game
+         * @param playerOneDecks the decks of the first player of the new game
+         * @param playerTwoDecks the decks of the second player of the new game
+         * @param startGameInput the setup of the new game
+         */
+        Command(final ActionsInput action, final DecksInput playerOneDecks,
+                final DecksInput playerTwoDecks, final StartGameInput startGameInput) {
+            this.action = action;
+            this.playerOneDecks = playerOneDecks;
+            this.playerTwoDecks = playerTwoDecks;
+            this.startGameInput = startGameInput;
+        }
+
+        /**
+         * Plays the command and completes its future.
+         *
+         * @param game the game of the actor
+         */
+        void playOn(final Game game) {
+            ArrayNode output = JsonNodeFactory.instance.arrayNode();
+            try {
+                if (action == null) {
+                    game.startGame(playerOneDecks, playerTwoDecks, startGameInput);
+                } else {
+                    game.playAction(new ArrayOutputSink(output), action);
+                }
+                result.complete(output);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
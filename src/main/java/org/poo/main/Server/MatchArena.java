@@ -0,0 +1,703 @@
+package org.poo.main.Server;
+
+import org.poo.main.Cards.CardDefinition;
+import org.poo.main.Cards.HeroEffect;
+import org.poo.main.Cards.MagicNumbers;
+import org.poo.main.Cards.Minion;
+import org.poo.main.Cards.MinionEffect;
+import org.poo.main.Game;
+import org.poo.main.GameMechanics.Board;
+import org.poo.main.GameMechanics.Deck;
+import org.poo.main.GameMechanics.Move;
+import org.poo.main.GameMechanics.Player;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Holds live matches off the heap, each as a fixed-layout record of 32-bit words in a
+ * direct buffer, so hundreds of thousands of matches cost the garbage collector a few
+ * buffers instead of a graph of cards each. The rules of {@link Game#applyMove(int)} run
+ * directly on the record.
+ *
+ * <p>A record holds the current player, turn and round, then for each player the mana,
+ * the hero's card id, health and has-attacked flag, the hand and the deck as card ids,
+ * then the board: for each of the {@link #SLOTS} slots, row by row, the card id, attack
+ * damage, health and flags. Card ids are {@link CardDefinition#getId()}; the static data of
+ * a card is looked up from its definition. The deck is stored bottom first, so the next
+ * card drawn is the last one.</p>
+ *
+ * <p>Records are handed out by {@link #allocate()} and given back by {@link #free(int)}.
+ * Free records are chained through their first word, and the arena grows by a chunk of
+ * records when the chain is empty. Allocating and freeing are thread safe; a match itself
+ * must be played by one thread at a time.</p>
+ */
+public final class MatchArena {
+    public static final int SLOTS = MagicNumbers.TABLE_ROWS * MagicNumbers.ROW_LENGTH;
+    public static final int HAND_CAPACITY = 32;
+    public static final int DECK_CAPACITY = 32;
+
+    public static final int OCCUPIED = 1;
+    public static final int TANK = 1 << 1;
+    public static final int FROZEN = 1 << 2;
+    public static final int HAS_ATTACKED = 1 << 3;
+
+    private static final int LIVE = -2;
+    private static final int END_OF_CHAIN = -1;
+
+    private static final int STATE = 0;
+    private static final int CURRENT_PLAYER = 1;
+    private static final int TURN = 2;
+    private static final int ROUND = 3;
+    private static final int PLAYERS = 4;
+
+    private static final int MANA = 0;
+    private static final int HERO = 1;
+    private static final int HERO_HEALTH = 2;
+    private static final int HERO_ATTACKED = 3;
+    private static final int HAND_SIZE = 4;
+    private static final int DECK_SIZE = 5;
+    private static final int HAND = 6;
+    private static final int DECK = HAND + HAND_CAPACITY;
+    private static final int PLAYER_WORDS = DECK + DECK_CAPACITY;
+
+    private static final int CARD = 0;
+    private static final int ATTACK = 1;
+    private static final int HEALTH = 2;
+    private static final int FLAGS = 3;
+    private static final int SLOT_WORDS = 4;
+    private static final int BOARD = PLAYERS + 2 * PLAYER_WORDS;
+
+    private static final int RECORD_WORDS = BOARD + SLOTS * SLOT_WORDS;
+
+    /** The rows each player unfreezes at the end of its turn, by player index. */
+    private static final int[][] OWN_ROWS = {
+        {MagicNumbers.FRONT_ROW_2_ID, MagicNumbers.BACK_ROW_2_ID},
+        {MagicNumbers.BACK_ROW_1_ID, MagicNumbers.FRONT_ROW_1_ID}};
+
+    /** The size of a match record, in bytes. */
+    public static final int RECORD_SIZE = RECORD_WORDS * Integer.BYTES;
+
+    private static final int DEFAULT_CHUNK_SHIFT = 12;
+
+    private final int chunkShift;
+    private final int chunkMask;
+    private volatile ByteBuffer[] chunks;
+    private int freeHead;
+    private int live;
+
+    /**
+     * Constructs an empty {@code MatchArena} growing by 4096 records at a time.
+     */
+    public MatchArena() {
+        this(DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * Constructs an empty {@code MatchArena}.
+     *
+     * @param chunkShift the arena grows by {@code 1 << chunkShift} records at a time
+     * @throws IllegalArgumentException if a chunk would not fit in a buffer
+     */
+    public MatchArena(final int chunkShift) {
+        if (chunkShift < 0 || ((long) RECORD_SIZE << chunkShift) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid chunk size");
+        }
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1 << chunkShift) - 1;
+        this.chunks = new ByteBuffer[0];
+        this.freeHead = END_OF_CHAIN;
+    }
+
+    /**
+     * Takes a record for a new match. Its content is undefined until
+     * {@link #store(int, Game)} is called.
+     *
+     * @return the handle of the record
+     */
+    public synchronized int allocate() {
+        if (freeHead == END_OF_CHAIN) {
+            grow();
+        }
+        int match = freeHead;
+        ByteBuffer buffer = chunk(match);
+        int base = base(match);
+        freeHead = buffer.getInt(base + STATE * Integer.BYTES);
+        buffer.putInt(base + STATE * Integer.BYTES, LIVE);
+        live++;
+        return match;
+    }
+
+    /**
+     * Gives back the record of a match that ended.
+     *
+     * @param match the handle of the record
+     * @throws IllegalArgumentException if the record is not in use
+     */
+    public synchronized void free(final int match) {
+        ByteBuffer buffer = checkLive(match);
+        buffer.putInt(base(match) + STATE * Integer.BYTES, freeHead);
+        freeHead = match;
+        live--;
+    }
+
+    /**
+     * Gets the number of records in use.
+     *
+     * @return the live matches
+     */
+    public synchronized int size() {
+        return live;
+    }
+
+    /**
+     * Gets the number of records the arena holds, in use or free.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return chunks.length << chunkShift;
+    }
+
+    /**
+     * Copies the state of a game into a record.
+     *
+     * @param match the handle of the record
+     * @param game  the game to copy
+     * @throws IllegalArgumentException if the record is not in use, or a player holds more
+     *                                  cards than the record has room for
+     */
+    public void store(final int match, final Game game) {
+        ByteBuffer buffer = checkLive(match);
+        int base = base(match);
+        for (int p = 0; p < 2; p++) {
+            Player player = game.getPlayer(p);
+            if (player.getHand().size() + player.getDeck().size() > DECK_CAPACITY) {
+                throw new IllegalArgumentException("Too many cards for a match record");
+            }
+        }
+
+        for (int word = STATE + 1; word < RECORD_WORDS; word++) {
+            put(buffer, base, word, 0);
+        }
+        put(buffer, base, CURRENT_PLAYER, game.getCurrentPlayer());
+        put(buffer, base, TURN, game.getTurn());
+        put(buffer, base, ROUND, game.getRound());
+        for (int p = 0; p < 2; p++) {
+            Player player = game.getPlayer(p);
+            int pb = PLAYERS + p * PLAYER_WORDS;
+            put(buffer, base, pb + MANA, player.getMana());
+            put(buffer, base, pb + HERO, player.getHeroNormal().getDefinition().getId());
+            put(buffer, base, pb + HERO_HEALTH, player.getHeroNormal().getHealthPoints());
+            put(buffer, base, pb + HERO_ATTACKED, player.getHeroNormal().hasAttacked() ? 1 : 0);
+            put(buffer, base, pb + HAND_SIZE, player.getHand().size());
+            for (int i = 0; i < player.getHand().size(); i++) {
+                put(buffer, base, pb + HAND + i, player.getHand().get(i).getDefinition().getId());
+            }
+            Deck deck = player.getDeck();
+            put(buffer, base, pb + DECK_SIZE, deck.size());
+            for (int i = 0; i < deck.size(); i++) {
+                put(buffer, base, pb + DECK + deck.size() - 1 - i, deck.get(i).getId());
+            }
+        }
+        Board board = game.getBoard();
+        for (int slot = 0; slot < SLOTS; slot++) {
+            Minion card = board.getCardFromRow(slot / MagicNumbers.ROW_LENGTH,
+                    slot % MagicNumbers.ROW_LENGTH);
+            if (card != null) {
+                int sb = BOARD + slot * SLOT_WORDS;
+                put(buffer, base, sb + CARD, card.getDefinition().getId());
+                put(buffer, base, sb + ATTACK, card.getAttackDamage());
+                put(buffer, base, sb + HEALTH, card.getHealthPoints());
+                put(buffer, base, sb + FLAGS, OCCUPIED | (card.getTank() ? TANK : 0)
+                        | (card.isFrozen() ? FROZEN : 0)
+                        | (card.hasAttacked() ? HAS_ATTACKED : 0));
+            }
+        }
+    }
+
+    /**
+     * Plays a legal move in a match, as {@link Game#applyMove(int)} does. The move is not
+     * checked.
+     *
+     * @param match the handle of the record
+     * @param move  the move, encoded with {@link Move}
+     * @throws IllegalArgumentException if the record is not in use
+     */
+    public void applyMove(final int match, final int move) {
+        ByteBuffer buffer = checkLive(match);
+        int base = base(match);
+        switch (Move.getKind(move)) {
+            case Move.END_TURN -> endPlayerTurn(buffer, base);
+            case Move.PLACE_CARD -> placeCard(buffer, base, Move.getHandIdx(move));
+            case Move.CARD_ATTACK -> attackCard(buffer, base,
+                    slot(Move.getAttackerX(move), Move.getAttackerY(move)),
+                    slot(Move.getAttackedX(move), Move.getAttackedY(move)));
+            case Move.CARD_ABILITY -> cardUseAbility(buffer, base,
+                    slot(Move.getAttackerX(move), Move.getAttackerY(move)),
+                    slot(Move.getAttackedX(move), Move.getAttackedY(move)));
+            case Move.ATTACK_HERO -> useAttackHero(buffer, base,
+                    slot(Move.getAttackerX(move), Move.getAttackerY(move)));
+            case Move.HERO_ABILITY -> useHeroAbility(buffer, base, Move.getAffectedRow(move));
+            default -> { }
+        }
+    }
+
+    /**
+     * Copies a record into an array, such as to compare two matches.
+     *
+     * @param match the handle of the record
+     * @param words the array the words are written to, {@link #RECORD_SIZE} / 4 long
+     * @throws IllegalArgumentException if the record is not in use
+     */
+    public void copyTo(final int match, final int[] words) {
+        ByteBuffer buffer = checkLive(match);
+        int base = base(match);
+        for (int word = 0; word < RECORD_WORDS; word++) {
+            words[word] = get(buffer, base, word);
+        }
+    }
+
+    /**
+     * Gets the player to act in a match.
+     *
+     * @param match the handle of the record
+     * @return the index of the current player (0 or 1)
+     */
+    public int getCurrentPlayer(final int match) {
+        return get(checkLive(match), base(match), CURRENT_PLAYER);
+    }
+
+    /**
+     * Gets the number of turns played in a match.
+     *
+     * @param match the handle of the record
+     * @return the turn
+     */
+    public int getTurn(final int match) {
+        return get(checkLive(match), base(match), TURN);
+    }
+
+    /**
+     * Gets the round being played in a match.
+     *
+     * @param match the handle of the record
+     * @return the round
+     */
+    public int getRound(final int match) {
+        return get(checkLive(match), base(match), ROUND);
+    }
+
+    /**
+     * Gets the mana of a player.
+     *
+     * @param match     the handle of the record
+     * @param playerIdx the index of the player (0 or 1)
+     * @return the mana
+     */
+    public int getMana(final int match, final int playerIdx) {
+        return get(checkLive(match), base(match), PLAYERS + playerIdx * PLAYER_WORDS + MANA);
+    }
+
+    /**
+     * Gets the health of a player's hero.
+     *
+     * @param match     the handle of the record
+     * @param playerIdx the index of the player (0 or 1)
+     * @return the health points
+     */
+    public int getHeroHealth(final int match, final int playerIdx) {
+        return get(checkLive(match), base(match),
+                PLAYERS + playerIdx * PLAYER_WORDS + HERO_HEALTH);
+    }
+
+    /**
+     * Gets the number of cards in a player's hand.
+     *
+     * @param match     the handle of the record
+     * @param playerIdx the index of the player (0 or 1)
+     * @return the cards in hand
+     */
+    public int getHandSize(final int match, final int playerIdx) {
+        return get(checkLive(match), base(match), PLAYERS + playerIdx * PLAYER_WORDS + HAND_SIZE);
+    }
+
+    /**
+     * Gets the number of cards left in a player's deck.
+     *
+     * @param match     the handle of the record
+     * @param playerIdx the index of the player (0 or 1)
+     * @return the cards left
+     */
+    public int getDeckSize(final int match, final int playerIdx) {
+        return get(checkLive(match), base(match), PLAYERS + playerIdx * PLAYER_WORDS + DECK_SIZE);
+    }
+
+    /**
+     * Gets the card of a slot of the board.
+     *
+     * @param match the handle of the record
+     * @param x     the row (0-3)
+     * @param y     the column
+     * @return the id of the card's definition, or -1 if the slot is empty
+     */
+    public int getCardId(final int match, final int x, final int y) {
+        ByteBuffer buffer = checkLive(match);
+        int sb = BOARD + slot(x, y) * SLOT_WORDS;
+        return (get(buffer, base(match), sb + FLAGS) & OCCUPIED) != 0
+                ? get(buffer, base(match), sb + CARD) : -1;
+    }
+
+    /**
+     * Finds the winner of a match, if it is over.
+     *
+     * @param match the handle of the record
+     * @return the index of the player whose enemy hero is dead (0 or 1), or -1 if both
+     *         heroes are alive
+     */
+    public int getWinner(final int match) {
+        if (getHeroHealth(match, 1) <= 0) {
+            return 0;
+        }
+        return getHeroHealth(match, 0) <= 0 ? 1 : -1;
+    }
+
+    /**
+     * Places a card from the current player's hand onto its row, as
+     * {@code Game.placeCard} does.
+     *
+     * @param buffer  the chunk of the record
+     * @param base    the position of the record in the chunk
+     * @param handIdx the index of the card in the hand
+     */
+    private void placeCard(final ByteBuffer buffer, final int base, final int handIdx) {
+        int current = get(buffer, base, CURRENT_PLAYER);
+        int pb = PLAYERS + current * PLAYER_WORDS;
+        CardDefinition card = CardDefinition.byId(get(buffer, base, pb + HAND + handIdx));
+        boolean front = card.isTank() || card.isDruid();
+        int row = current == 0
+                ? (front ? MagicNumbers.FRONT_ROW_2_ID : MagicNumbers.BACK_ROW_2_ID)
+                : (front ? MagicNumbers.FRONT_ROW_1_ID : MagicNumbers.BACK_ROW_1_ID);
+
+        int count = rowCount(buffer, base, row);
+        if (count < MagicNumbers.ROW_LENGTH) {
+            int sb = BOARD + slot(row, count) * SLOT_WORDS;
+            put(buffer, base, sb + CARD, card.getId());
+            put(buffer, base, sb + ATTACK, card.getAttackDamage());
+            put(buffer, base, sb + HEALTH, card.getHealthPoints());
+            put(buffer, base, sb + FLAGS, OCCUPIED | (card.isTank() ? TANK : 0));
+        }
+        int mana = get(buffer, base, pb + MANA);
+        if (mana >= card.getManaCost()) {
+            put(buffer, base, pb + MANA, mana - card.getManaCost());
+        }
+
+        int handSize = get(buffer, base, pb + HAND_SIZE);
+        for (int i = handIdx; i < handSize - 1; i++) {
+            put(buffer, base, pb + HAND + i, get(buffer, base, pb + HAND + i + 1));
+        }
+        put(buffer, base, pb + HAND + handSize - 1, 0);
+        put(buffer, base, pb + HAND_SIZE, handSize - 1);
+    }
+
+    /**
+     * Attacks a card with another, as {@code Game.attackCard} does.
+     *
+     * @param buffer   the chunk of the record
+     * @param base     the position of the record in the chunk
+     * @param attacker the slot of the attacker
+     * @param target   the slot of the attacked card
+     */
+    private void attackCard(final ByteBuffer buffer, final int base, final int attacker,
+                            final int target) {
+        int ab = BOARD + attacker * SLOT_WORDS;
+        int tb = BOARD + target * SLOT_WORDS;
+        int health = get(buffer, base, tb + HEALTH) - get(buffer, base, ab + ATTACK);
+        put(buffer, base, tb + HEALTH, health);
+        put(buffer, base, ab + FLAGS, get(buffer, base, ab + FLAGS) | HAS_ATTACKED);
+        if (health <= 0) {
+            removeCard(buffer, base, target);
+        }
+    }
+
+    /**
+     * Uses the ability of a card on another, as {@code Game.cardUseAbility} does. The
+     * caster is marked as having attacked before a dead target is removed, so the mark
+     * moves with the caster when the removal shifts it to the left.
+     *
+     * @param buffer the chunk of the record
+     * @param base   the position of the record in the chunk
+     * @param caster the slot of the card using its ability
+     * @param target the slot of the target
+     */
+    private void cardUseAbility(final ByteBuffer buffer, final int base, final int caster,
+                                final int target) {
+        int cb = BOARD + caster * SLOT_WORDS;
+        int tb = BOARD + target * SLOT_WORDS;
+        MinionEffect effect = CardDefinition.byId(get(buffer, base, cb + CARD))
+                .getMinionEffect();
+        if (effect == null) {
+            return;
+        }
+
+        int targetAttack = get(buffer, base, tb + ATTACK);
+        int targetHealth = get(buffer, base, tb + HEALTH);
+        if (effect == MinionEffect.WEAK_KNEES) {
+            put(buffer, base, tb + ATTACK, Math.max(0, targetAttack - 2));
+        } else if (effect == MinionEffect.GODS_PLAN) {
+            put(buffer, base, tb + HEALTH, targetHealth + 2);
+        } else if (effect == MinionEffect.SKYJACK) {
+            put(buffer, base, tb + HEALTH, get(buffer, base, cb + HEALTH));
+            put(buffer, base, cb + HEALTH, targetHealth);
+        } else if (effect == MinionEffect.SHAPESHIFT) {
+            put(buffer, base, tb + ATTACK, targetHealth);
+            put(buffer, base, tb + HEALTH, targetHealth == 0 ? 0 : targetAttack);
+        } else {
+            throw new IllegalStateException("Unknown card ability");
+        }
+
+        put(buffer, base, cb + FLAGS, get(buffer, base, cb + FLAGS) | HAS_ATTACKED);
+        if (get(buffer, base, tb + HEALTH) <= 0) {
+            removeCard(buffer, base, target);
+        }
+    }
+
+    /**
+     * Attacks the enemy hero, as {@code Game.useAttackHero} does.
+     *
+     * @param buffer   the chunk of the record
+     * @param base     the position of the record in the chunk
+     * @param attacker the slot of the attacker
+     */
+    private void useAttackHero(final ByteBuffer buffer, final int base, final int attacker) {
+        int ab = BOARD + attacker * SLOT_WORDS;
+        int enemy = PLAYERS + (1 - get(buffer, base, CURRENT_PLAYER)) * PLAYER_WORDS;
+        put(buffer, base, enemy + HERO_HEALTH,
+                get(buffer, base, enemy + HERO_HEALTH) - get(buffer, base, ab + ATTACK));
+        put(buffer, base, ab + FLAGS, get(buffer, base, ab + FLAGS) | HAS_ATTACKED);
+    }
+
+    /**
+     * Uses the current player's hero ability on a row, as {@code Game.useHeroAbility} does.
+     *
+     * @param buffer the chunk of the record
+     * @param base   the position of the record in the chunk
+     * @param row    the affected row
+     */
+    private void useHeroAbility(final ByteBuffer buffer, final int base, final int row) {
+        int pb = PLAYERS + get(buffer, base, CURRENT_PLAYER) * PLAYER_WORDS;
+        CardDefinition hero = CardDefinition.byId(get(buffer, base, pb + HERO));
+        HeroEffect effect = hero.getHeroEffect();
+        int first = BOARD + slot(row, 0) * SLOT_WORDS;
+        int count = rowCount(buffer, base, row);
+
+        if (effect == HeroEffect.SUB_ZERO) {
+            for (int i = 0; i < count; i++) {
+                int sb = first + i * SLOT_WORDS;
+                put(buffer, base, sb + FLAGS, get(buffer, base, sb + FLAGS) | FROZEN);
+            }
+        } else if (effect == HeroEffect.LOW_BLOW && count > 0) {
+            int highest = 0;
+            for (int i = 1; i < count; i++) {
+                if (get(buffer, base, first + i * SLOT_WORDS + HEALTH)
+                        > get(buffer, base, first + highest * SLOT_WORDS + HEALTH)) {
+                    highest = i;
+                }
+            }
+            removeCard(buffer, base, slot(row, highest));
+        } else if (effect == HeroEffect.EARTH_BORN || effect == HeroEffect.BLOOD_THIRST) {
+            int field = effect == HeroEffect.EARTH_BORN ? HEALTH : ATTACK;
+            for (int i = 0; i < count; i++) {
+                int sb = first + i * SLOT_WORDS;
+                put(buffer, base, sb + field, get(buffer, base, sb + field) + 1);
+            }
+        }
+
+        put(buffer, base, pb + HERO_ATTACKED, 1);
+        put(buffer, base, pb + MANA, get(buffer, base, pb + MANA) - hero.getManaCost());
+    }
+
+    /**
+     * Ends the current player's turn, as {@code Game.endPlayerTurn} does.
+     *
+     * @param buffer the chunk of the record
+     * @param base   the position of the record in the chunk
+     */
+    private void endPlayerTurn(final ByteBuffer buffer, final int base) {
+        int current = get(buffer, base, CURRENT_PLAYER);
+        int turn = get(buffer, base, TURN) + 1;
+        put(buffer, base, TURN, turn);
+        for (int row : OWN_ROWS[current]) {
+            for (int i = 0; i < MagicNumbers.ROW_LENGTH; i++) {
+                int sb = BOARD + slot(row, i) * SLOT_WORDS;
+                put(buffer, base, sb + FLAGS, get(buffer, base, sb + FLAGS) & ~FROZEN);
+            }
+        }
+        put(buffer, base, CURRENT_PLAYER, 1 - current);
+        if (turn % 2 == 0) {
+            startRound(buffer, base);
+        }
+    }
+
+    /**
+     * Starts a new round, as {@code Game.startRound} does: the cards and heroes may attack
+     * again, and each player, the current one first, draws a card and gains the mana of
+     * the round.
+     *
+     * @param buffer the chunk of the record
+     * @param base   the position of the record in the chunk
+     */
+    private void startRound(final ByteBuffer buffer, final int base) {
+        int round = get(buffer, base, ROUND) + 1;
+        put(buffer, base, ROUND, round);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int sb = BOARD + slot * SLOT_WORDS;
+            put(buffer, base, sb + FLAGS, get(buffer, base, sb + FLAGS) & ~HAS_ATTACKED);
+        }
+        int current = get(buffer, base, CURRENT_PLAYER);
+        for (int k = 0; k < 2; k++) {
+            int p = k == 0 ? current : 1 - current;
+            int pb = PLAYERS + p * PLAYER_WORDS;
+            put(buffer, base, pb + HERO_ATTACKED, 0);
+            int deckSize = get(buffer, base, pb + DECK_SIZE);
+            if (deckSize > 0) {
+                int handSize = get(buffer, base, pb + HAND_SIZE);
+                int top = pb + DECK + deckSize - 1;
+                put(buffer, base, pb + HAND + handSize, get(buffer, base, top));
+                put(buffer, base, top, 0);
+                put(buffer, base, pb + DECK_SIZE, deckSize - 1);
+                put(buffer, base, pb + HAND_SIZE, handSize + 1);
+            }
+            put(buffer, base, pb + MANA,
+                    get(buffer, base, pb + MANA) + Math.min(round, MagicNumbers.MAX_MANA));
+        }
+    }
+
+    /**
+     * Removes a card from its row and shifts the cards after it to the left, as
+     * {@link Board#removeCardFromRow(int, int)} does.
+     *
+     * @param buffer the chunk of the record
+     * @param base   the position of the record in the chunk
+     * @param slot   the slot of the card
+     */
+    private void removeCard(final ByteBuffer buffer, final int base, final int slot) {
+        int last = slot(slot / MagicNumbers.ROW_LENGTH, MagicNumbers.ROW_LENGTH - 1);
+        for (int word = BOARD + slot * SLOT_WORDS; word < BOARD + last * SLOT_WORDS; word++) {
+            put(buffer, base, word, get(buffer, base, word + SLOT_WORDS));
+        }
+        for (int field = 0; field < SLOT_WORDS; field++) {
+            put(buffer, base, BOARD + last * SLOT_WORDS + field, 0);
+        }
+    }
+
+    /**
+     * Counts the cards of a row, which are always packed from the left.
+     *
+     * @param buffer the chunk of the record
+     * @param base   the position of the record in the chunk
+     * @param row    the row
+     * @return the number of cards
+     */
+    private int rowCount(final ByteBuffer buffer, final int base, final int row) {
+        int count = 0;
+        while (count < MagicNumbers.ROW_LENGTH
+                && (get(buffer, base, BOARD + slot(row, count) * SLOT_WORDS + FLAGS)
+                & OCCUPIED) != 0) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Adds a chunk of free records to the arena.
+     */
+    private void grow() {
+        int first = capacity();
+        ByteBuffer chunk = ByteBuffer.allocateDirect(RECORD_SIZE << chunkShift)
+                .order(ByteOrder.nativeOrder());
+        ByteBuffer[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+        grown[chunks.length] = chunk;
+        chunks = grown;
+        for (int match = first + chunkMask; match >= first; match--) {
+            chunk.putInt(base(match) + STATE * Integer.BYTES, freeHead);
+            freeHead = match;
+        }
+    }
+
+    /**
+     * Gets the chunk of a record, checking that the record is in use.
+     *
+     * @param match the handle of the record
+     * @return the chunk
+     * @throws IllegalArgumentException if the record is not in use
+     */
+    private ByteBuffer checkLive(final int match) {
+        ByteBuffer[] current = chunks;
+        if (match < 0 || (match >>> chunkShift) >= current.length) {
+            throw new IllegalArgumentException("No match record " + match);
+        }
+        ByteBuffer buffer = current[match >>> chunkShift];
+        if (buffer.getInt(base(match) + STATE * Integer.BYTES) != LIVE) {
+            throw new IllegalArgumentException("Match record " + match + " is not in use");
+        }
+        return buffer;
+    }
+
+    /**
+     * Gets the chunk of a record.
+     *
+     * @param match the handle of the record
+     * @return the chunk
+     */
+    private ByteBuffer chunk(final int match) {
+        return chunks[match >>> chunkShift];
+    }
+
+    /**
+     * Gets the position of a record in its chunk, in bytes.
+     *
+     * @param match the handle of the record
+     * @return the position
+     */
+    private int base(final int match) {
+        return (match & chunkMask) * RECORD_SIZE;
+    }
+
+    /**
+     * Reads a word of a record.
+     *
+     * @param buffer the chunk of the record
+     * @param base   the position of the record in the chunk
+     * @param word   the index of the word in the record
+     * @return the value
+     */
+    private static int get(final ByteBuffer buffer, final int base, final int word) {
+        return buffer.getInt(base + word * Integer.BYTES);
+    }
+
+    /**
+     * Writes a word of a record.
+     *
+     * @param buffer the chunk of the record
+     * @param base   the position of the record in the chunk
+     * @param word   the index of the word in the record
+     * @param value  the value
+     */
+    private static void put(final ByteBuffer buffer, final int base, final int word,
+                            final int value) {
+        buffer.putInt(base + word * Integer.BYTES, value);
+    }
+
+    /**
+     * Gets the slot of a position of the board.
+     *
+     * @param x the row
+     * @param y the column
+     * @return the slot
+     */
+    private static int slot(final int x, final int y) {
+        return x * MagicNumbers.ROW_LENGTH + y;
+    }
+}
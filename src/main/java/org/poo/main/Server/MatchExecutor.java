@@ -0,0 +1,180 @@
+package org.poo.main.Server;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs {@link MatchActor}s on a shared pool of threads. No match is ever locked: each is
+ * played by at most one thread at a time because it is scheduled at most once, and a
+ * thread plays at most one batch of a match before moving on to the next scheduled one.
+ *
+ * <p>The executor keeps the metrics of the actors: the number of commands waiting in all
+ * the mailboxes and the deepest a mailbox has been, the number of commands played per
+ * drain and the time spent on each drain.</p>
+ */
+public final class MatchExecutor implements AutoCloseable {
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final long NANOS_PER_MICRO = 1000;
+    private static final double P50 = 50;
+    private static final double P99 = 99;
+
+    private final ExecutorService pool;
+    private final int batchSize;
+    private final LongAdder queueDepth = new LongAdder();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+    private final LatencyHistogram batchSizes = new LatencyHistogram();
+    private final LatencyHistogram drainTimes = new LatencyHistogram();
+
+    /**
+     * Constructs a {@code MatchExecutor} playing batches of up to 64 commands.
+     *
+     * @param threads the number of threads playing the matches
+     */
+    public MatchExecutor(final int threads) {
+        this(threads, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a {@code MatchExecutor}.
+     *
+     * @param threads   the number of threads playing the matches
+     * @param batchSize the most commands of one match played before the thread moves on
+     */
+    public MatchExecutor(final int threads, final int batchSize) {
+        if (threads < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Invalid executor configuration");
+        }
+        this.batchSize = batchSize;
+        this.pool = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Creates a match played on this executor.
+     *
+     * @return the actor of the match, before its first game
+     */
+    public MatchActor newMatch() {
+        return new MatchActor(this);
+    }
+
+    /**
+     * Gets the most commands of one match played in a drain.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Gets the number of commands waiting in the mailboxes of all the matches.
+     *
+     * @return the queue depth
+     */
+    public long getQueueDepth() {
+        return queueDepth.sum();
+    }
+
+    /**
+     * Gets the most commands that have waited in the mailbox of one match.
+     *
+     * @return the deepest mailbox depth
+     */
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Gets the number of commands played by each drain.
+     *
+     * @return the histogram of the batch sizes
+     */
+    public LatencyHistogram getBatchSizes() {
+        return batchSizes;
+    }
+
+    /**
+     * Gets the time spent on each drain.
+     *
+     * @return the histogram, in nanoseconds
+     */
+    public LatencyHistogram getDrainTimes() {
+        return drainTimes;
+    }
+
+    /**
+     * Describes the metrics of the executor.
+     *
+     * @return one line of text
+     */
+    public String report() {
+        return String.format("queue depth %d (max per match %d), drains %d, batch size:"
+                        + " p50 %d, p99 %d, max %d; drain time us: p50 %d, p99 %d, max %d",
+                getQueueDepth(), getMaxQueueDepth(), drainTimes.getCount(),
+                batchSizes.getPercentile(P50), batchSizes.getPercentile(P99),
+                batchSizes.getMax(), drainTimes.getPercentile(P50) / NANOS_PER_MICRO,
+                drainTimes.getPercentile(P99) / NANOS_PER_MICRO,
+                drainTimes.getMax() / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Stops the threads once the drains already scheduled are done. Commands sent
+     * afterwards are refused.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Queues the drain of an actor.
+     *
+     * @param drain the drain
+     * @throws IllegalStateException if the executor is closed
+     */
+    void schedule(final Runnable drain) {
+        try {
+            pool.execute(drain);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("The executor is closed", e);
+        }
+    }
+
+    /**
+     * Counts a command sent to an actor.
+     *
+     * @param depth the depth of the mailbox of the actor, with the command
+     */
+    void enqueued(final int depth) {
+        queueDepth.increment();
+        if (depth > maxQueueDepth.get()) {
+            maxQueueDepth.accumulateAndGet(depth, Math::max);
+        }
+    }
+
+    /**
+     * Counts a drain of an actor.
+     *
+     * @param played the number of commands played
+     * @param nanos  the time spent
+     */
+    void drained(final int played, final long nanos) {
+        queueDepth.add(-played);
+        batchSizes.record(played);
+        drainTimes.record(nanos);
+    }
+
+    /**
+     * Counts the commands of an actor that were failed instead of played, because the
+     * executor was closed.
+     *
+     * @param failed the number of commands failed
+     */
+    void refused(final int failed) {
+        queueDepth.add(-failed);
+    }
+}
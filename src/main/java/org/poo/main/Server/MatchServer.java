@@ -0,0 +1,314 @@
+package org.poo.main.Server;
+
+import org.poo.checker.CheckerConstants;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves matches over a TCP or Unix-domain socket. Every connection is a
+ * {@link MatchSession} with its own game, run on a virtual thread of its own, so tens of
+ * thousands of idle or waiting sessions cost no platform threads. The time spent on each
+ * command is recorded in a {@link LatencyHistogram} shared by the sessions. Clients may
+ * only play the cards of the {@link CardPool} of the server.
+ */
+public final class MatchServer implements AutoCloseable {
+    public static final String DEFAULT_ADDRESS = "tcp:localhost:7070";
+    public static final long DEFAULT_P99_TARGET_MICROS = 1000;
+    /** The longest a client may let a {@code suggestMove} or {@code solveEndgame} run. */
+    public static final int MAX_TIME_BUDGET_MILLIS = 1000;
+
+    private static final int BACKLOG = 4096;
+    private static final long ACCEPT_BACKOFF_MILLIS = 100;
+    private static final int DEFAULT_REPORT_SECONDS = 10;
+    private static final long NANOS_PER_MICRO = 1000;
+    private static final long MILLIS_PER_SECOND = 1000;
+    private static final double P50 = 50;
+    private static final double P99 = 99;
+    private static final double P999 = 99.9;
+
+    private final ServerSocketChannel server;
+    private final SocketAddress address;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final Set<SocketChannel> sessions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong accepted = new AtomicLong();
+    private final CardPool cards;
+    private final CommandPipeline pipeline;
+    private Thread acceptor;
+
+    /**
+     * Opens the socket of a {@code MatchServer} whose sessions play their own games.
+     * Sessions are accepted once it is started.
+     *
+     * @param address the address to listen on, an {@link InetSocketAddress} or a
+     *                {@link UnixDomainSocketAddress}
+     * @param cards   the cards the clients may play
+     * @throws IOException in case of exceptions to binding
+     */
+    public MatchServer(final SocketAddress address, final CardPool cards) throws IOException {
+        this(address, cards, null);
+    }
+
+    /**
+     * Opens the socket of a {@code MatchServer}. Sessions are accepted once it is started.
+     *
+     * @param address  the address to listen on, an {@link InetSocketAddress} or a
+     *                 {@link UnixDomainSocketAddress}
+     * @param cards    the cards the clients may play
+     * @param pipeline the pipeline playing the commands of every session, or {@code null}
+     *                 for each session to play its own; it is left open on close
+     * @throws IOException in case of exceptions to binding
+     */
+    public MatchServer(final SocketAddress address, final CardPool cards,
+                       final CommandPipeline pipeline) throws IOException {
+        this.cards = cards;
+        this.pipeline = pipeline;
+        server = address instanceof UnixDomainSocketAddress
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+        try {
+            server.bind(address, BACKLOG);
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+        this.address = server.getLocalAddress();
+    }
+
+    /**
+     * Entry point for the server.
+     * Usage: {@code MatchServer [address] [p99TargetMicros] [reportSeconds] [ringSize]
+     * [cardsDirectory]}, the address being {@code tcp:[host:]port} or {@code unix:path}.
+     * With a ring size other than 0, the commands of all the sessions are played through a
+     * {@link CommandPipeline} of that many slots. Clients may play the cards of the input
+     * files of the cards directory, the tests directory by default. The server runs until
+     * it is killed, printing the number of sessions and the percentiles of the command
+     * latency against the target at every report.
+     *
+     * @param args from command line
+     * @throws IOException          in case of exceptions to binding
+     * @throws InterruptedException if interrupted while running
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        SocketAddress address = parseAddress(args.length > 0 ? args[0] : DEFAULT_ADDRESS);
+        long target = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_P99_TARGET_MICROS;
+        int report = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_REPORT_SECONDS;
+        int ringSize = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        CardPool cards = CardPool.fromDirectory(
+                new File(args.length > 4 ? args[4] : CheckerConstants.TESTS_PATH));
+        CommandPipeline pipeline = ringSize > 0 ? new CommandPipeline(ringSize) : null;
+
+        MatchServer matchServer = new MatchServer(address, cards, pipeline);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            matchServer.close();
+            if (pipeline != null) {
+                pipeline.close();
+            }
+        }));
+        matchServer.start();
+        System.out.println("Serving matches on " + matchServer.getAddress());
+        while (true) {
+            Thread.sleep(report * MILLIS_PER_SECOND);
+            System.out.println(matchServer.report(target));
+        }
+    }
+
+    /**
+     * Parses an address of the form {@code tcp:[host:]port} or {@code unix:path}.
+     *
+     * @param text the address
+     * @return the socket address
+     * @throws IllegalArgumentException if the address is not of either form
+     */
+    public static SocketAddress parseAddress(final String text) {
+        if (text.startsWith("unix:")) {
+            return UnixDomainSocketAddress.of(text.substring("unix:".length()));
+        }
+        if (text.startsWith("tcp:")) {
+            String rest = text.substring("tcp:".length());
+            int colon = rest.lastIndexOf(':');
+            try {
+                if (colon < 0) {
+                    return new InetSocketAddress(Integer.parseInt(rest));
+                }
+                return new InetSocketAddress(rest.substring(0, colon),
+                        Integer.parseInt(rest.substring(colon + 1)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid port in " + text, e);
+            }
+        }
+        throw new IllegalArgumentException("Expected tcp:[host:]port or unix:path, got " + text);
+    }
+
+    /**
+     * Starts accepting sessions, on a thread of the server.
+     *
+     * @throws IllegalStateException if the server was already started
+     */
+    public synchronized void start() {
+        if (acceptor != null) {
+            throw new IllegalStateException("The server is already started");
+        }
+        acceptor = Thread.ofPlatform().name("match-server-acceptor").daemon().start(this::accept);
+    }
+
+    /**
+     * Gets the address the server listens on.
+     *
+     * @return the address, with the port chosen by the system if it was 0
+     */
+    public SocketAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * Gets the latencies of the commands played so far.
+     *
+     * @return the histogram, in nanoseconds
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Gets the number of sessions connected.
+     *
+     * @return the open sessions
+     */
+    public int getOpenSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Describes the sessions and the command latency, in microseconds.
+     *
+     * @param p99TargetMicros the p99 latency the server aims for
+     * @return one line of text
+     */
+    public String report(final long p99TargetMicros) {
+        long p99 = latencies.getPercentile(P99) / NANOS_PER_MICRO;
+        return String.format("sessions %d open / %d accepted, commands %d, latency us:"
+                        + " p50 %d, p99 %d, p99.9 %d, max %d; p99 target %d us %s",
+                getOpenSessions(), accepted.get(), latencies.getCount(),
+                latencies.getPercentile(P50) / NANOS_PER_MICRO, p99,
+                latencies.getPercentile(P999) / NANOS_PER_MICRO,
+                latencies.getMax() / NANOS_PER_MICRO, p99TargetMicros,
+                p99 <= p99TargetMicros ? "met" : "MISSED")
+                + (pipeline == null ? "" : String.format("; pipeline in flight %d, refused %d",
+                        pipeline.getInFlight(), pipeline.getRefused()));
+    }
+
+    /**
+     * Stops accepting sessions and closes the open ones. A Unix-domain socket file is
+     * removed.
+     */
+    @Override
+    public void close() {
+        try {
+            server.close();
+        } catch (IOException e) {
+            // Closing the listening socket cannot fail in a way worth reporting.
+        }
+        for (SocketChannel session : sessions) {
+            try {
+                session.close();
+            } catch (IOException e) {
+                // The session ends either way.
+            }
+        }
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            try {
+                Files.deleteIfExists(unixAddress.getPath());
+            } catch (IOException e) {
+                // A stale socket file is replaced by the next server.
+            }
+        }
+    }
+
+    /**
+     * Accepts connections until the server is closed, starting a virtual thread per
+     * session. A failure to accept, such as running out of file descriptors, is reported
+     * and retried after a pause; a connection that cannot be set up is reported and
+     * closed. Neither stops the server.
+     */
+    private void accept() {
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = server.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("Could not accept a session: " + e);
+                backOff();
+                continue;
+            }
+            try {
+                startSession(channel);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Could not start a session: " + e);
+                sessions.remove(channel);
+                closeChannel(channel);
+            }
+        }
+    }
+
+    /**
+     * Starts the session of an accepted connection on a virtual thread.
+     *
+     * @param channel the connection
+     * @throws IOException in case of exceptions to configuring the socket
+     */
+    private void startSession(final SocketChannel channel) throws IOException {
+        if (!(address instanceof UnixDomainSocketAddress)) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        }
+        sessions.add(channel);
+        long id = accepted.incrementAndGet();
+        MatchSession session = new MatchSession(channel, latencies, cards, pipeline);
+        Thread.ofVirtual().name("match-session-" + id).start(() -> {
+            try {
+                session.run();
+            } finally {
+                sessions.remove(channel);
+            }
+        });
+    }
+
+    /**
+     * Pauses the acceptor after a failed accept, so a lasting failure does not spin. An
+     * interrupt is kept, which makes the next accept throw and end the acceptor.
+     */
+    private static void backOff() {
+        try {
+            Thread.sleep(ACCEPT_BACKOFF_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Closes a connection whose session could not be started.
+     *
+     * @param channel the connection
+     */
+    private static void closeChannel(final SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // The connection is dropped either way.
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package org.poo.main.Server;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.poo.fileio.ActionsInput;
+import org.poo.fileio.ArrayOutputSink;
+import org.poo.fileio.CardInput;
+import org.poo.fileio.DecksInput;
+import org.poo.fileio.StartGameInput;
+import org.poo.main.Game;
+import org.poo.main.GameMechanics.Opcode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Plays the matches of one connection of the {@link MatchServer}, with a {@link Game} of
+ * its own, on the thread that runs it.
+ *
+ * <p>The client sends one JSON object per line, shaped like the parts of an input file:
+ * {@code playerOneDecks} and {@code playerTwoDecks} set the decks of the session,
+ * {@code startGame} starts a new game with them, and an object with a {@code command} is
+ * an {@code ActionsInput} played on the current game. A line may hold the decks and a
+ * {@code startGame} at once. Every line is answered with one line: the JSON array of the
+ * result nodes the command produced, the same nodes {@code Game} writes to an output file,
+ * empty if it produced none; or an object with an {@code error} if the line could not be
+ * played. As in an input file, the games of a session share their totals.</p>
+ *
+ * <p>A line is checked whole before any of it is kept: if any part is refused, the reply
+ * is an error and the session is left as it was. Decks and heroes may only hold the cards
+ * of the {@link CardPool} of the server, and a {@code startGame} must pick existing decks
+ * and a starting player of 1 or 2. A command whose {@code timeBudget} is over
+ * {@link MatchServer#MAX_TIME_BUDGET_MILLIS} is refused with an error rather than played.
+ * Commands are refused until a game was started and dealt.</p>
+ *
+ * <p>The game is played on the thread of the session, or, if the server has a
+ * {@link CommandPipeline}, by the threads of the pipeline.</p>
+ */
+public final class MatchSession implements Runnable {
+    /** Shares its parsing buffers between sessions, rather than keeping some per thread. */
+    private static final ObjectMapper MAPPER = new ObjectMapper(JsonFactory.builder()
+            .recyclerPool(JsonRecyclerPools.sharedLockFreePool()).build());
+    private static final int INITIAL_BUFFER = 512;
+    private static final int MAX_LINE = 1 << 20;
+    private static final long REPLY_WAIT_NANOS = 10_000_000;
+
+    private final SocketChannel channel;
+    private final LatencyHistogram latencies;
+    private final CardPool cards;
+    private final CommandPipeline pipeline;
+    private final Consumer<byte[]> deliver = this::deliver;
+    private final Game game = new Game();
+    private DecksInput playerOneDecks;
+    private DecksInput playerTwoDecks;
+    private ByteBuffer input = ByteBuffer.allocate(INITIAL_BUFFER);
+    private Thread reader;
+    private volatile byte[] pendingReply;
+
+    /**
+     * Constructs a {@code MatchSession}.
+     *
+     * @param channel   the connection of the client
+     * @param latencies the histogram the time spent on each line is recorded in
+     * @param cards     the cards the client may play
+     */
+    public MatchSession(final SocketChannel channel, final LatencyHistogram latencies,
+                        final CardPool cards) {
+        this(channel, latencies, cards, null);
+    }
+
+    /**
+     * Constructs a {@code MatchSession} whose commands are played by a pipeline. The
+     * thread of the session only reads, decodes and publishes them, then waits for the
+     * reply.
+     *
+     * @param channel   the connection of the client
+     * @param latencies the histogram the time spent on each line is recorded in
+     * @param cards     the cards the client may play
+     * @param pipeline  the pipeline playing the commands, or {@code null} to play them
+     *                  on the thread of the session
+     */
+    public MatchSession(final SocketChannel channel, final LatencyHistogram latencies,
+                        final CardPool cards, final CommandPipeline pipeline) {
+        this.channel = channel;
+        this.latencies = latencies;
+        this.cards = cards;
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * Answers the lines of the client until it disconnects, then closes the connection.
+     */
+    @Override
+    public void run() {
+        reader = Thread.currentThread();
+        try (channel) {
+            String line = readLine();
+            while (line != null) {
+                long start = System.nanoTime();
+                if (!line.isBlank()) {
+                    write(answer(line));
+                    latencies.record(System.nanoTime() - start);
+                }
+                line = readLine();
+            }
+        } catch (IOException e) {
+            // The client went away; there is no one left to answer.
+        }
+    }
+
+    /**
+     * Reads the next line of the client. The buffer starts small, so idle sessions stay
+     * cheap, and grows for the few lines that need it, such as the decks.
+     *
+     * @return the line, without its line break, or {@code null} once the client is done
+     * @throws IOException in case of exceptions to reading
+     */
+    private String readLine() throws IOException {
+        int scanned = 0;
+        while (true) {
+            for (int i = scanned; i < input.position(); i++) {
+                if (input.get(i) == '\n') {
+                    String line = new String(input.array(), 0, i, StandardCharsets.UTF_8);
+                    input.flip().position(i + 1);
+                    if (input.capacity() > INITIAL_BUFFER && input.remaining() <= INITIAL_BUFFER) {
+                        input = ByteBuffer.allocate(INITIAL_BUFFER).put(input);
+                    } else {
+                        input.compact();
+                    }
+                    return line;
+                }
+            }
+            scanned = input.position();
+            if (!input.hasRemaining()) {
+                if (input.capacity() >= MAX_LINE) {
+                    throw new IOException("Line longer than " + MAX_LINE + " bytes");
+                }
+                input = ByteBuffer.allocate(input.capacity() * 2).put(input.flip());
+            }
+            if (channel.read(input) < 0) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Sends a reply to the client.
+     *
+     * @param reply the bytes of the reply
+     * @throws IOException in case of exceptions to writing
+     */
+    private void write(final byte[] reply) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(reply);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Plays a line of the client.
+     *
+     * @param line the JSON object sent by the client
+     * @return the reply, ending with a line break
+     */
+    byte[] answer(final String line) {
+        DecksInput oneDecks = playerOneDecks;
+        DecksInput twoDecks = playerTwoDecks;
+        StartGameInput startGameInput = null;
+        ActionsInput action = null;
+        try {
+            JsonNode request = MAPPER.readTree(line);
+            if (!request.isObject()) {
+                return encode(error("Expected a JSON object"));
+            }
+            if (request.path("timeBudget").asLong() > MatchServer.MAX_TIME_BUDGET_MILLIS) {
+                return encode(error("The time budget is over the server maximum of "
+                        + MatchServer.MAX_TIME_BUDGET_MILLIS + " ms"));
+            }
+            if (request.has("playerOneDecks")) {
+                oneDecks = MAPPER.treeToValue(request.get("playerOneDecks"), DecksInput.class);
+                String invalid = checkDecks(oneDecks);
+                if (invalid != null) {
+                    return encode(error(invalid));
+                }
+            }
+            if (request.has("playerTwoDecks")) {
+                twoDecks = MAPPER.treeToValue(request.get("playerTwoDecks"), DecksInput.class);
+                String invalid = checkDecks(twoDecks);
+                if (invalid != null) {
+                    return encode(error(invalid));
+                }
+            }
+            if (request.has("startGame")) {
+                if (oneDecks == null || twoDecks == null) {
+                    return encode(error("The decks are not set"));
+                }
+                startGameInput = MAPPER.treeToValue(request.get("startGame"),
+                        StartGameInput.class);
+                String invalid = checkStart(oneDecks, twoDecks, startGameInput);
+                if (invalid != null) {
+                    return encode(error(invalid));
+                }
+            }
+            if (request.has("command")) {
+                if (!game.isStarted()) {
+                    return encode(error("No game was started"));
+                }
+                action = MAPPER.treeToValue(request, ActionsInput.class);
+            }
+        } catch (JsonProcessingException e) {
+            return encode(error("Invalid request: " + e.getOriginalMessage()));
+        }
+
+        playerOneDecks = oneDecks;
+        playerTwoDecks = twoDecks;
+        if (pipeline == null) {
+            return encode(play(game, playerOneDecks, playerTwoDecks, startGameInput, action,
+                    new ArrayOutputSink(MAPPER.createArrayNode())));
+        }
+        try {
+            if (action != null && Opcode.fromCommand(action.getCommand()).isSearch()) {
+                return pipeline.search(game, playerOneDecks, playerTwoDecks, startGameInput,
+                        action);
+            }
+            pipeline.publish(game, playerOneDecks, playerTwoDecks, startGameInput, action,
+                    deliver);
+        } catch (IllegalStateException e) {
+            return encode(error("The server is closing"));
+        }
+        byte[] reply = pendingReply;
+        while (reply == null) {
+            if (pipeline.isTerminated()) {
+                // The pipeline closed before playing the command; no reply will come.
+                reply = pendingReply;
+                if (reply == null) {
+                    return encode(error("The server is closing"));
+                }
+                break;
+            }
+            LockSupport.parkNanos(this, REPLY_WAIT_NANOS);
+            reply = pendingReply;
+        }
+        pendingReply = null;
+        return reply;
+    }
+
+    /**
+     * Checks a set of decks sent by the client.
+     *
+     * @param decks the decks
+     * @return the reason to refuse them, or {@code null} if they may be played
+     */
+    private String checkDecks(final DecksInput decks) {
+        if (decks == null || decks.getDecks() == null) {
+            return "The decks are missing";
+        }
+        for (List<CardInput> deck : decks.getDecks()) {
+            if (deck == null) {
+                return "A deck is missing";
+            }
+        }
+        String unknown = cards.findUnknown(decks);
+        return unknown == null ? null : "Unknown card: " + unknown;
+    }
+
+    /**
+     * Checks the setup of a game sent by the client, against the decks it is played with,
+     * so that a game is never started from a setup the engine cannot deal.
+     *
+     * @param oneDecks       the decks of the first player, already checked
+     * @param twoDecks       the decks of the second player, already checked
+     * @param startGameInput the setup of the game
+     * @return the reason to refuse it, or {@code null} if it may be played
+     */
+    private String checkStart(final DecksInput oneDecks, final DecksInput twoDecks,
+                              final StartGameInput startGameInput) {
+        if (startGameInput == null) {
+            return "The game setup is missing";
+        }
+        int oneDeckIdx = startGameInput.getPlayerOneDeckIdx();
+        if (oneDeckIdx < 0 || oneDeckIdx >= oneDecks.getDecks().size()) {
+            return "Invalid deck index for player one: " + oneDeckIdx;
+        }
+        int twoDeckIdx = startGameInput.getPlayerTwoDeckIdx();
+        if (twoDeckIdx < 0 || twoDeckIdx >= twoDecks.getDecks().size()) {
+            return "Invalid deck index for player two: " + twoDeckIdx;
+        }
+        int startingPlayer = startGameInput.getStartingPlayer();
+        if (startingPlayer != 1 && startingPlayer != 2) {
+            return "Invalid starting player: " + startingPlayer;
+        }
+        String unknown = cards.findUnknown(startGameInput);
+        return unknown == null ? null : "Unknown hero: " + unknown;
+    }
+
+    /**
+     * Hands the reply played by the pipeline to the thread of the session.
+     *
+     * @param reply the encoded reply
+     */
+    private void deliver(final byte[] reply) {
+        pendingReply = reply;
+        LockSupport.unpark(reader);
+    }
+
+    /**
+     * Plays a request on a game: starts a new game first if asked, then plays the action.
+     *
+     * @param game           the game
+     * @param playerOneDecks the decks of the first player
+     * @param playerTwoDecks the decks of the second player
+     * @param startGameInput the setup of the new game, or {@code null} to keep the current
+     * @param action         the action, or {@code null} if there is none
+     * @param sink           the sink the result nodes are written to
+     * @return the output of the sink, or an error if the game could not be started or the
+     *         action failed
+     */
+    static JsonNode play(final Game game, final DecksInput playerOneDecks,
+                         final DecksInput playerTwoDecks, final StartGameInput startGameInput,
+                         final ActionsInput action, final ArrayOutputSink sink) {
+        if (startGameInput != null) {
+            try {
+                game.startGame(playerOneDecks, playerTwoDecks, startGameInput);
+            } catch (RuntimeException e) {
+                return error("The game could not be started");
+            }
+        }
+        try {
+            if (action != null) {
+                game.playAction(sink, action);
+            }
+            return sink.getOutput();
+        } catch (RuntimeException e) {
+            return error("Command failed: " + e);
+        }
+    }
+
+    /**
+     * Serializes a reply on one line.
+     *
+     * @param node the reply
+     * @return the bytes of the line
+     */
+    static byte[] encode(final JsonNode node) {
+        try {
+            return (MAPPER.writeValueAsString(node) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Builds the reply to a line that could not be played.
+     *
+     * @param message what went wrong
+     * @return the reply
+     */
+    private static ObjectNode error(final String message) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("error", message);
+        return node;
+    }
+}
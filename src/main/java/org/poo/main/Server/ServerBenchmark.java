@@ -0,0 +1,188 @@
+package org.poo.main.Server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.poo.checker.CheckerConstants;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the {@link MatchServer} under load: many sessions connect at once, each on a
+ * virtual thread of its own, and replay the input files found in the tests directory line
+ * by line, waiting for every reply. The round trip latency seen by the clients is printed
+ * against the p99 target, next to the latency measured by the server.
+ */
+public final class ServerBenchmark {
+    private static final int DEFAULT_SESSIONS = 1000;
+    private static final int DEFAULT_ROUNDS = 1;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final long NANOS_PER_MICRO = 1000;
+    private static final double P50 = 50;
+    private static final double P99 = 99;
+    private static final double P999 = 99.9;
+
+    private ServerBenchmark() {
+        throw new UnsupportedOperationException("This class is static");
+    }
+
+    /**
+     * Entry point for the benchmark.
+     * Usage: {@code ServerBenchmark [sessions] [rounds] [p99TargetMicros] [address]}. The
+     * sessions default to 1000, each replaying one input file per round, and the target
+     * to 1000 us. Without an address, a server is started in this process on a free
+     * local port.
+     *
+     * @param args from command line
+     * @throws IOException          in case of exceptions to reading or connecting
+     * @throws InterruptedException if interrupted while waiting for the sessions
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SESSIONS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        long target = args.length > 2 ? Long.parseLong(args[2])
+                : MatchServer.DEFAULT_P99_TARGET_MICROS;
+
+        List<List<byte[]>> scripts = readScripts();
+        MatchServer server = null;
+        SocketAddress address;
+        if (args.length > 3) {
+            address = MatchServer.parseAddress(args[3]);
+        } else {
+            server = new MatchServer(new InetSocketAddress("localhost", 0),
+                    CardPool.fromDirectory(new File(CheckerConstants.TESTS_PATH)));
+            server.start();
+            address = server.getAddress();
+        }
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                int first = i;
+                executor.submit(() -> {
+                    replay(address, scripts, first, rounds, latencies, errors);
+                    return null;
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long p99 = latencies.getPercentile(P99) / NANOS_PER_MICRO;
+        System.out.printf("Ran %d sessions: %d commands (%.0f commands/s), %d errors%n",
+                sessions, latencies.getCount(),
+                latencies.getCount() * NANOS_PER_SECOND / elapsed, errors.get());
+        System.out.printf("Round trip latency us: p50 %d, p99 %d, p99.9 %d, max %d;"
+                        + " p99 target %d us %s%n",
+                latencies.getPercentile(P50) / NANOS_PER_MICRO, p99,
+                latencies.getPercentile(P999) / NANOS_PER_MICRO,
+                latencies.getMax() / NANOS_PER_MICRO, target,
+                p99 <= target ? "met" : "MISSED");
+        if (server != null) {
+            System.out.println("Server: " + server.report(target));
+            server.close();
+        }
+    }
+
+    /**
+     * Turns every input file of the tests directory into the lines a client sends.
+     *
+     * @return the lines of each file
+     * @throws IOException in case of exceptions to reading
+     */
+    private static List<List<byte[]>> readScripts() throws IOException {
+        File[] files = Objects.requireNonNull(new File(CheckerConstants.TESTS_PATH).listFiles());
+        Arrays.sort(files);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        List<List<byte[]>> scripts = new ArrayList<>();
+        for (File file : files) {
+            JsonNode input = objectMapper.readTree(file);
+            List<byte[]> lines = new ArrayList<>();
+            ObjectNode decks = objectMapper.createObjectNode();
+            decks.set("playerOneDecks", input.get("playerOneDecks"));
+            decks.set("playerTwoDecks", input.get("playerTwoDecks"));
+            lines.add(line(objectMapper, decks));
+            for (JsonNode game : input.get("games")) {
+                ObjectNode startGame = objectMapper.createObjectNode();
+                startGame.set("startGame", game.get("startGame"));
+                lines.add(line(objectMapper, startGame));
+                for (JsonNode action : game.get("actions")) {
+                    lines.add(line(objectMapper, action));
+                }
+            }
+            scripts.add(lines);
+        }
+        return scripts;
+    }
+
+    /**
+     * Serializes a request on one line.
+     *
+     * @param objectMapper the mapper to write with
+     * @param node         the request
+     * @return the bytes of the line
+     * @throws IOException in case of exceptions to writing
+     */
+    private static byte[] line(final ObjectMapper objectMapper, final JsonNode node)
+            throws IOException {
+        return (objectMapper.writeValueAsString(node) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Plays the scripts of one session, recording the round trip of every line.
+     *
+     * @param address   the address of the server
+     * @param scripts   the lines of each input file
+     * @param first     the index of the first script to play
+     * @param rounds    the number of scripts to play
+     * @param latencies the histogram the round trips are recorded in
+     * @param errors    the count of error replies
+     * @throws IOException in case of exceptions to connecting
+     */
+    private static void replay(final SocketAddress address, final List<List<byte[]>> scripts,
+                               final int first, final int rounds,
+                               final LatencyHistogram latencies, final AtomicLong errors)
+            throws IOException {
+        try (SocketChannel channel = address instanceof UnixDomainSocketAddress
+                ? SocketChannel.open(StandardProtocolFamily.UNIX) : SocketChannel.open()) {
+            channel.connect(address);
+            BufferedReader in = new BufferedReader(new InputStreamReader(
+                    Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            OutputStream out = Channels.newOutputStream(channel);
+            for (int round = 0; round < rounds; round++) {
+                for (byte[] request : scripts.get((first + round) % scripts.size())) {
+                    long start = System.nanoTime();
+                    out.write(request);
+                    String reply = in.readLine();
+                    latencies.record(System.nanoTime() - start);
+                    if (reply == null) {
+                        throw new IOException("The server closed the session");
+                    }
+                    if (reply.startsWith("{\"error\"")) {
+                        errors.incrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+}
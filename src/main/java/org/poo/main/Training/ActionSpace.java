@@ -0,0 +1,113 @@
+package org.poo.main.Training;
+
+import org.poo.main.Cards.MagicNumbers;
+import org.poo.main.GameMechanics.Move;
+
+/**
+ * Numbers every move a player can make with a fixed range of action ids, so a policy can
+ * pick one of {@link #SIZE} outputs. In order, the ids are: ending the turn, placing the
+ * card at each of the first {@link #HAND_SLOTS} hand indices, every card attacking every
+ * card, every card using its ability on every card, every card attacking the enemy hero,
+ * and the hero using its ability on every row. Cards are numbered by slot, {@code x * 5
+ * + y}, in the coordinates of the game.
+ */
+public final class ActionSpace {
+    public static final int HAND_SLOTS = 16;
+    public static final int SLOTS = MagicNumbers.TABLE_ROWS * MagicNumbers.ROW_LENGTH;
+
+    private static final int END_TURN_ID = 0;
+    private static final int PLACE_CARD_BASE = END_TURN_ID + 1;
+    private static final int CARD_ATTACK_BASE = PLACE_CARD_BASE + HAND_SLOTS;
+    private static final int CARD_ABILITY_BASE = CARD_ATTACK_BASE + SLOTS * SLOTS;
+    private static final int ATTACK_HERO_BASE = CARD_ABILITY_BASE + SLOTS * SLOTS;
+    private static final int HERO_ABILITY_BASE = ATTACK_HERO_BASE + SLOTS;
+
+    public static final int SIZE = HERO_ABILITY_BASE + MagicNumbers.TABLE_ROWS;
+
+    private ActionSpace() {
+        throw new UnsupportedOperationException("This class is static");
+    }
+
+    /**
+     * Finds the action id of a move.
+     *
+     * @param move the move, encoded with {@link Move}
+     * @return the action id, or -1 if the move places a card beyond the first
+     *         {@link #HAND_SLOTS} of the hand
+     */
+    public static int toActionId(final int move) {
+        return switch (Move.getKind(move)) {
+            case Move.END_TURN -> END_TURN_ID;
+            case Move.PLACE_CARD -> Move.getHandIdx(move) < HAND_SLOTS
+                    ? PLACE_CARD_BASE + Move.getHandIdx(move) : -1;
+            case Move.CARD_ATTACK -> CARD_ATTACK_BASE + attackerSlot(move) * SLOTS
+                    + attackedSlot(move);
+            case Move.CARD_ABILITY -> CARD_ABILITY_BASE + attackerSlot(move) * SLOTS
+                    + attackedSlot(move);
+            case Move.ATTACK_HERO -> ATTACK_HERO_BASE + attackerSlot(move);
+            default -> HERO_ABILITY_BASE + Move.getAffectedRow(move);
+        };
+    }
+
+    /**
+     * Finds the move of an action id.
+     *
+     * @param actionId the action id
+     * @return the move, encoded with {@link Move}
+     * @throws IllegalArgumentException if the id is outside of the action space
+     */
+    public static int toMove(final int actionId) {
+        if (actionId < 0 || actionId >= SIZE) {
+            throw new IllegalArgumentException("Invalid action id: " + actionId);
+        }
+        if (actionId < PLACE_CARD_BASE) {
+            return Move.endTurn();
+        }
+        if (actionId < CARD_ATTACK_BASE) {
+            return Move.placeCard(actionId - PLACE_CARD_BASE);
+        }
+        if (actionId < CARD_ABILITY_BASE) {
+            int pair = actionId - CARD_ATTACK_BASE;
+            return Move.cardAttack(row(pair / SLOTS), column(pair / SLOTS),
+                    row(pair % SLOTS), column(pair % SLOTS));
+        }
+        if (actionId < ATTACK_HERO_BASE) {
+            int pair = actionId - CARD_ABILITY_BASE;
+            return Move.cardAbility(row(pair / SLOTS), column(pair / SLOTS),
+                    row(pair % SLOTS), column(pair % SLOTS));
+        }
+        if (actionId < HERO_ABILITY_BASE) {
+            int slot = actionId - ATTACK_HERO_BASE;
+            return Move.attackHero(row(slot), column(slot));
+        }
+        return Move.heroAbility(actionId - HERO_ABILITY_BASE);
+    }
+
+    /**
+     * Gets the slot of the card making a move.
+     */
+    private static int attackerSlot(final int move) {
+        return Move.getAttackerX(move) * MagicNumbers.ROW_LENGTH + Move.getAttackerY(move);
+    }
+
+    /**
+     * Gets the slot of the card targeted by a move.
+     */
+    private static int attackedSlot(final int move) {
+        return Move.getAttackedX(move) * MagicNumbers.ROW_LENGTH + Move.getAttackedY(move);
+    }
+
+    /**
+     * Gets the row of a slot.
+     */
+    private static int row(final int slot) {
+        return slot / MagicNumbers.ROW_LENGTH;
+    }
+
+    /**
+     * Gets the column of a slot.
+     */
+    private static int column(final int slot) {
+        return slot % MagicNumbers.ROW_LENGTH;
+    }
+}
@@ -0,0 +1,659 @@
+package org.poo.main.Training;
+
+import org.poo.main.Cards.Hero;
+import org.poo.main.Cards.HeroEffect;
+import org.poo.main.Cards.MagicNumbers;
+import org.poo.main.Cards.Minion;
+import org.poo.main.Game;
+import org.poo.main.GameMechanics.Board;
+import org.poo.main.GameMechanics.Move;
+import org.poo.main.GameMechanics.Player;
+
+/**
+ * Plays many games in lockstep, with the board, mana and heroes of every game held as
+ * arrays of primitives instead of a graph of cards.
+ *
+ * <p>The state is struct-of-arrays: each field of each slot, and of each player, is an
+ * array with the value of game {@code g} at index {@code g}. Each call applies one step to
+ * every game at once, with an operand per game; {@link #NONE} leaves a game untouched. The
+ * rules are written without branches on the games, as selects of masks, and every array
+ * of a loop is read at the same index, so the loops over the games are simple enough for
+ * the JIT to vectorize.</p>
+ *
+ * <p>The simulator follows {@link Game} for ending turns, the boosts, freezes and
+ * destroys of the hero abilities, the attacks on cards and heroes and the mana of a new
+ * round. Hands and decks are not held, so placing a card, the abilities of cards and the
+ * draws of a new round are left to the {@code Game}: a game is copied in with
+ * {@link #load(int, Game)} after such a step.</p>
+ */
+public final class BatchSimulator {
+    /** The operand of a game that takes no part in a step. */
+    public static final int NONE = Integer.MAX_VALUE;
+
+    public static final int SLOTS = MagicNumbers.TABLE_ROWS * MagicNumbers.ROW_LENGTH;
+
+    public static final int OCCUPIED = 1;
+    public static final int TANK = 1 << 1;
+    public static final int FROZEN = 1 << 2;
+    public static final int HAS_ATTACKED = 1 << 3;
+
+    private static final int FREEZES = 1;
+    private static final int DESTROYS = 1 << 1;
+    private static final int BOOSTS_HEALTH = 1 << 2;
+    private static final int BOOSTS_ATTACK = 1 << 3;
+    private static final int[] HERO_EFFECTS = {FREEZES, DESTROYS, BOOSTS_HEALTH, BOOSTS_ATTACK};
+
+    private static final int SIGN_SHIFT = Integer.SIZE - 1;
+
+    private final int size;
+
+    private final int[][] attack;
+    private final int[][] health;
+    private final int[][] flags;
+
+    private final int[][] mana;
+    private final int[][] heroHealth;
+    private final int[][] heroAttacked;
+    private final int[][] heroEffect;
+    private final int[][] heroCost;
+
+    private final int[] currentPlayer;
+    private final int[] turn;
+    private final int[] round;
+
+    private final int[] damage;
+    private final int[] best;
+    private final int[] removed;
+    private final int[] rows;
+    private final int[] columns;
+    private final int[] starting;
+    private final int[] effects;
+    private final int[] selected;
+    private final int[] empty;
+
+    private final int[] ending;
+    private final int[] attackers;
+    private final int[] targets;
+    private final int[] heroAttackers;
+    private final int[] abilityRows;
+
+    /**
+     * Constructs a {@code BatchSimulator} of empty games.
+     *
+     * @param size the number of games
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    public BatchSimulator(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Invalid batch size");
+        }
+        this.size = size;
+        attack = new int[SLOTS][size];
+        health = new int[SLOTS][size];
+        flags = new int[SLOTS][size];
+        mana = new int[2][size];
+        heroHealth = new int[2][size];
+        heroAttacked = new int[2][size];
+        heroEffect = new int[2][size];
+        heroCost = new int[2][size];
+        currentPlayer = new int[size];
+        turn = new int[size];
+        round = new int[size];
+        damage = new int[size];
+        best = new int[size];
+        removed = new int[size];
+        rows = new int[size];
+        columns = new int[size];
+        starting = new int[size];
+        effects = new int[size];
+        selected = new int[size];
+        empty = new int[size];
+        ending = new int[size];
+        attackers = new int[size];
+        targets = new int[size];
+        heroAttackers = new int[size];
+        abilityRows = new int[size];
+    }
+
+    /**
+     * Gets the number of games.
+     *
+     * @return the games
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the state of a game into the batch.
+     *
+     * @param lane the index of the game in the batch
+     * @param game the game to copy
+     */
+    public void load(final int lane, final Game game) {
+        Board board = game.getBoard();
+        for (int slot = 0; slot < SLOTS; slot++) {
+            Minion card = board.getCardFromRow(slot / MagicNumbers.ROW_LENGTH,
+                    slot % MagicNumbers.ROW_LENGTH);
+            if (card == null) {
+                attack[slot][lane] = 0;
+                health[slot][lane] = 0;
+                flags[slot][lane] = 0;
+            } else {
+                attack[slot][lane] = card.getAttackDamage();
+                health[slot][lane] = card.getHealthPoints();
+                flags[slot][lane] = OCCUPIED | (card.getTank() ? TANK : 0)
+                        | (card.isFrozen() ? FROZEN : 0)
+                        | (card.hasAttacked() ? HAS_ATTACKED : 0);
+            }
+        }
+        for (int p = 0; p < 2; p++) {
+            Player player = game.getPlayer(p);
+            Hero hero = player.getHeroNormal();
+            mana[p][lane] = player.getMana();
+            heroHealth[p][lane] = hero.getHealthPoints();
+            heroAttacked[p][lane] = hero.hasAttacked() ? 1 : 0;
+            heroEffect[p][lane] = effectBits(hero.getEffect());
+            heroCost[p][lane] = hero.getManaCost();
+        }
+        currentPlayer[lane] = game.getCurrentPlayer();
+        turn[lane] = game.getTurn();
+        round[lane] = game.getRound();
+    }
+
+    /**
+     * Plays a move in every game, as {@link Game#applyMove(int)} does. Moves are not
+     * checked; each must be legal in its game.
+     *
+     * @param moves a move per game, encoded with {@link Move}, or {@link #NONE}
+     * @throws IllegalArgumentException if a move places a card or uses the ability of a
+     *                                  card, which need the {@code Game}; nothing is played
+     */
+    public void applyMoves(final int[] moves) {
+        checkOperands(moves);
+        for (int g = 0; g < size; g++) {
+            int kind = Move.getKind(moves[g]);
+            if (moves[g] != NONE && (kind == Move.PLACE_CARD || kind == Move.CARD_ABILITY)) {
+                throw new IllegalArgumentException("Move " + moves[g] + " of game " + g
+                        + " cannot be played by the batch");
+            }
+        }
+        for (int g = 0; g < size; g++) {
+            int move = moves[g];
+            ending[g] = 0;
+            attackers[g] = NONE;
+            targets[g] = NONE;
+            heroAttackers[g] = NONE;
+            abilityRows[g] = NONE;
+            if (move == NONE) {
+                continue;
+            }
+            int attacker = Move.getAttackerX(move) * MagicNumbers.ROW_LENGTH
+                    + Move.getAttackerY(move);
+            switch (Move.getKind(move)) {
+                case Move.END_TURN -> ending[g] = 1;
+                case Move.CARD_ATTACK -> {
+                    attackers[g] = attacker;
+                    targets[g] = Move.getAttackedX(move) * MagicNumbers.ROW_LENGTH
+                            + Move.getAttackedY(move);
+                }
+                case Move.ATTACK_HERO -> heroAttackers[g] = attacker;
+                case Move.HERO_ABILITY -> abilityRows[g] = Move.getAffectedRow(move);
+                default -> { }
+            }
+        }
+        attackCards(attackers, targets);
+        attackHeroes(heroAttackers);
+        useHeroAbilities(abilityRows);
+        endTurns(ending);
+    }
+
+    /**
+     * Ends the turn of the current player in the chosen games: their cards are unfrozen,
+     * the other player acts, and after both players a new round starts. The cards of the
+     * new round are not drawn.
+     *
+     * @param endingByGame 1 for the games whose turn ends, 0 for the others
+     */
+    public void endTurns(final int[] endingByGame) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int owner = ownerOf(slot);
+            int[] slotFlags = flags[slot];
+            for (int g = 0; g < size; g++) {
+                int unfreeze = -(endingByGame[g] & equal(currentPlayer[g], owner));
+                slotFlags[g] &= ~(FROZEN & unfreeze);
+            }
+        }
+        for (int g = 0; g < size; g++) {
+            turn[g] += endingByGame[g];
+            currentPlayer[g] ^= endingByGame[g];
+            starting[g] = endingByGame[g] & ~turn[g] & 1;
+        }
+        startRounds(starting);
+    }
+
+    /**
+     * Starts a new round in the chosen games, as {@code Game.startRound} does, without the
+     * draws: the cards and heroes may attack again and both players gain the mana of the
+     * round, up to {@link MagicNumbers#MAX_MANA}.
+     *
+     * @param startingByGame 1 for the games starting a round, 0 for the others
+     */
+    public void startRounds(final int[] startingByGame) {
+        for (int g = 0; g < size; g++) {
+            round[g] += startingByGame[g];
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int[] slotFlags = flags[slot];
+            for (int g = 0; g < size; g++) {
+                slotFlags[g] &= ~(HAS_ATTACKED & -startingByGame[g]);
+            }
+        }
+        for (int p = 0; p < 2; p++) {
+            int[] playerMana = mana[p];
+            int[] attacked = heroAttacked[p];
+            for (int g = 0; g < size; g++) {
+                playerMana[g] += Math.min(round[g], MagicNumbers.MAX_MANA) & -startingByGame[g];
+                attacked[g] &= ~-startingByGame[g];
+            }
+        }
+    }
+
+    /**
+     * Boosts the attack damage of every card of a row by 1, as {@link Board#boostAttack(int)}
+     * does.
+     *
+     * @param rowsByGame the row of each game, or {@link #NONE}
+     */
+    public void boostAttack(final int[] rowsByGame) {
+        checkOperands(rowsByGame);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int row = slot / MagicNumbers.ROW_LENGTH;
+            int[] slotAttack = attack[slot];
+            int[] slotFlags = flags[slot];
+            for (int g = 0; g < size; g++) {
+                slotAttack[g] += equal(rowsByGame[g], row) & slotFlags[g] & OCCUPIED;
+            }
+        }
+    }
+
+    /**
+     * Boosts the health of every card of a row by 1, as {@link Board#boostHealth(int)} does.
+     *
+     * @param rowsByGame the row of each game, or {@link #NONE}
+     */
+    public void boostHealth(final int[] rowsByGame) {
+        checkOperands(rowsByGame);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int row = slot / MagicNumbers.ROW_LENGTH;
+            int[] slotHealth = health[slot];
+            int[] slotFlags = flags[slot];
+            for (int g = 0; g < size; g++) {
+                slotHealth[g] += equal(rowsByGame[g], row) & slotFlags[g] & OCCUPIED;
+            }
+        }
+    }
+
+    /**
+     * Freezes every card of a row, as {@link Board#freezeAllCards(int)} does.
+     *
+     * @param rowsByGame the row of each game, or {@link #NONE}
+     */
+    public void freezeAllCards(final int[] rowsByGame) {
+        checkOperands(rowsByGame);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int row = slot / MagicNumbers.ROW_LENGTH;
+            int[] slotFlags = flags[slot];
+            for (int g = 0; g < size; g++) {
+                int hit = -(equal(rowsByGame[g], row) & slotFlags[g] & OCCUPIED);
+                slotFlags[g] |= FROZEN & hit;
+            }
+        }
+    }
+
+    /**
+     * Destroys the card with the highest health of a row, the leftmost on a tie, as
+     * {@link Board#destroyHighestHealthCard(int)} does.
+     *
+     * @param rowsByGame the row of each game, or {@link #NONE}
+     */
+    public void destroyHighestHealthCard(final int[] rowsByGame) {
+        checkOperands(rowsByGame);
+        for (int g = 0; g < size; g++) {
+            best[g] = 0;
+            removed[g] = NONE;
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int row = slot / MagicNumbers.ROW_LENGTH;
+            int[] slotHealth = health[slot];
+            int[] slotFlags = flags[slot];
+            for (int g = 0; g < size; g++) {
+                int candidate = -(equal(rowsByGame[g], row) & slotFlags[g] & OCCUPIED);
+                int first = -equal(removed[g], NONE);
+                int higher = (best[g] - slotHealth[g]) >> SIGN_SHIFT;
+                int take = candidate & (first | higher);
+                best[g] = select(best[g], slotHealth[g], take);
+                removed[g] = select(removed[g], slot, take);
+            }
+        }
+        removeCards(removed);
+    }
+
+    /**
+     * Attacks a card with another in every chosen game, as {@code Game.attackCard} does:
+     * the target loses the attack damage of the attacker, the attacker is marked as having
+     * attacked, and the target is removed if its health drops to 0.
+     *
+     * @param attackersByGame the slot of the attacker of each game, or {@link #NONE}
+     * @param targetsByGame   the slot of the target of each game, or {@link #NONE}
+     */
+    public void attackCards(final int[] attackersByGame, final int[] targetsByGame) {
+        checkOperands(attackersByGame);
+        checkOperands(targetsByGame);
+        gatherDamage(attackersByGame);
+        for (int g = 0; g < size; g++) {
+            removed[g] = NONE;
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int[] slotHealth = health[slot];
+            int[] slotFlags = flags[slot];
+            for (int g = 0; g < size; g++) {
+                int hit = -equal(targetsByGame[g], slot);
+                slotHealth[g] -= damage[g] & hit;
+                int dead = hit & (slotHealth[g] - 1) >> SIGN_SHIFT;
+                removed[g] = select(removed[g], slot, dead);
+                slotFlags[g] |= HAS_ATTACKED & -equal(attackersByGame[g], slot);
+            }
+        }
+        removeCards(removed);
+    }
+
+    /**
+     * Attacks the enemy hero in every chosen game, as {@code Game.useAttackHero} does: the
+     * hero of the player who is not acting loses the attack damage of the attacker, and the
+     * attacker is marked as having attacked.
+     *
+     * @param attackersByGame the slot of the attacker of each game, or {@link #NONE}
+     */
+    public void attackHeroes(final int[] attackersByGame) {
+        checkOperands(attackersByGame);
+        gatherDamage(attackersByGame);
+        int[] firstHero = heroHealth[0];
+        int[] secondHero = heroHealth[1];
+        for (int g = 0; g < size; g++) {
+            firstHero[g] -= damage[g] & -currentPlayer[g];
+            secondHero[g] -= damage[g] & (currentPlayer[g] - 1);
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int[] slotFlags = flags[slot];
+            for (int g = 0; g < size; g++) {
+                slotFlags[g] |= HAS_ATTACKED & -equal(attackersByGame[g], slot);
+            }
+        }
+    }
+
+    /**
+     * Uses the ability of the current player's hero on a row in every chosen game, as
+     * {@code Game.useHeroAbility} does: the row is frozen, loses its healthiest card or
+     * is boosted depending on the hero, which then pays its mana cost and cannot act again
+     * this round.
+     *
+     * @param rowsByGame the affected row of each game, or {@link #NONE}
+     */
+    public void useHeroAbilities(final int[] rowsByGame) {
+        checkOperands(rowsByGame);
+        for (int p = 0; p < 2; p++) {
+            int[] playerMana = mana[p];
+            int[] attacked = heroAttacked[p];
+            int[] effect = heroEffect[p];
+            int[] cost = heroCost[p];
+            for (int g = 0; g < size; g++) {
+                int acting = (1 - equal(rowsByGame[g], NONE)) & equal(currentPlayer[g], p);
+                effects[g] = select(effects[g], effect[g], -equal(currentPlayer[g], p));
+                playerMana[g] -= cost[g] & -acting;
+                attacked[g] |= acting;
+            }
+        }
+        for (int effect : HERO_EFFECTS) {
+            for (int g = 0; g < size; g++) {
+                selected[g] = select(NONE, rowsByGame[g], -equal(effects[g] & effect, effect));
+            }
+            switch (effect) {
+                case FREEZES -> freezeAllCards(selected);
+                case DESTROYS -> destroyHighestHealthCard(selected);
+                case BOOSTS_HEALTH -> boostHealth(selected);
+                default -> boostAttack(selected);
+            }
+        }
+    }
+
+    /**
+     * Removes a card from its row in every chosen game and shifts the cards after it to the
+     * left, as {@link Board#removeCardFromRow(int, int)} does.
+     *
+     * @param slots the slot of the card of each game, or {@link #NONE}
+     */
+    public void removeCards(final int[] slots) {
+        checkOperands(slots);
+        for (int g = 0; g < size; g++) {
+            int inBoard = -(1 - equal(slots[g], NONE));
+            rows[g] = select(NONE, slots[g] / MagicNumbers.ROW_LENGTH, inBoard);
+            columns[g] = slots[g] % MagicNumbers.ROW_LENGTH & inBoard;
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int row = slot / MagicNumbers.ROW_LENGTH;
+            int column = slot % MagicNumbers.ROW_LENGTH;
+            boolean last = column == MagicNumbers.ROW_LENGTH - 1;
+            int[] slotAttack = attack[slot];
+            int[] slotHealth = health[slot];
+            int[] slotFlags = flags[slot];
+            int[] nextAttack = last ? empty : attack[slot + 1];
+            int[] nextHealth = last ? empty : health[slot + 1];
+            int[] nextFlags = last ? empty : flags[slot + 1];
+            for (int g = 0; g < size; g++) {
+                int after = 1 - ((column - columns[g]) >>> SIGN_SHIFT);
+                int shift = -(equal(rows[g], row) & after);
+                slotAttack[g] = select(slotAttack[g], nextAttack[g], shift);
+                slotHealth[g] = select(slotHealth[g], nextHealth[g], shift);
+                slotFlags[g] = select(slotFlags[g], nextFlags[g], shift);
+            }
+        }
+    }
+
+    /**
+     * Gets the attack damage of a card.
+     *
+     * @param lane the index of the game
+     * @param slot the slot of the card, {@code row * ROW_LENGTH + column}
+     * @return the attack damage, or 0 if the slot is empty
+     */
+    public int getAttack(final int lane, final int slot) {
+        return attack[slot][lane];
+    }
+
+    /**
+     * Gets the health of a card.
+     *
+     * @param lane the index of the game
+     * @param slot the slot of the card, {@code row * ROW_LENGTH + column}
+     * @return the health points, or 0 if the slot is empty
+     */
+    public int getHealth(final int lane, final int slot) {
+        return health[slot][lane];
+    }
+
+    /**
+     * Gets the flags of a slot.
+     *
+     * @param lane the index of the game
+     * @param slot the slot, {@code row * ROW_LENGTH + column}
+     * @return the {@link #OCCUPIED}, {@link #TANK}, {@link #FROZEN} and
+     *         {@link #HAS_ATTACKED} bits of the slot
+     */
+    public int getFlags(final int lane, final int slot) {
+        return flags[slot][lane];
+    }
+
+    /**
+     * Gets the mana of a player.
+     *
+     * @param lane      the index of the game
+     * @param playerIdx the index of the player (0 or 1)
+     * @return the mana
+     */
+    public int getMana(final int lane, final int playerIdx) {
+        return mana[playerIdx][lane];
+    }
+
+    /**
+     * Gets the health of a player's hero.
+     *
+     * @param lane      the index of the game
+     * @param playerIdx the index of the player (0 or 1)
+     * @return the health points
+     */
+    public int getHeroHealth(final int lane, final int playerIdx) {
+        return heroHealth[playerIdx][lane];
+    }
+
+    /**
+     * Checks if a player's hero used its ability this round.
+     *
+     * @param lane      the index of the game
+     * @param playerIdx the index of the player (0 or 1)
+     * @return {@code true} if the hero cannot act again this round
+     */
+    public boolean heroHasAttacked(final int lane, final int playerIdx) {
+        return heroAttacked[playerIdx][lane] != 0;
+    }
+
+    /**
+     * Gets the player to act.
+     *
+     * @param lane the index of the game
+     * @return the index of the current player (0 or 1)
+     */
+    public int getCurrentPlayer(final int lane) {
+        return currentPlayer[lane];
+    }
+
+    /**
+     * Gets the number of turns played.
+     *
+     * @param lane the index of the game
+     * @return the turn
+     */
+    public int getTurn(final int lane) {
+        return turn[lane];
+    }
+
+    /**
+     * Gets the round being played.
+     *
+     * @param lane the index of the game
+     * @return the round
+     */
+    public int getRound(final int lane) {
+        return round[lane];
+    }
+
+    /**
+     * Gets the winner of a game.
+     *
+     * @param lane the index of the game
+     * @return the index of the player whose enemy hero is dead, or -1 if both live
+     */
+    public int getWinner(final int lane) {
+        if (heroHealth[0][lane] <= 0) {
+            return 1;
+        }
+        return heroHealth[1][lane] <= 0 ? 0 : -1;
+    }
+
+    /**
+     * Loads the attack damage of the attacker of every game into the damage buffer.
+     *
+     * @param attackersByGame the slot of the attacker of each game, or {@link #NONE}
+     */
+    private void gatherDamage(final int[] attackersByGame) {
+        for (int g = 0; g < size; g++) {
+            damage[g] = 0;
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int[] slotAttack = attack[slot];
+            for (int g = 0; g < size; g++) {
+                damage[g] += slotAttack[g] & -equal(attackersByGame[g], slot);
+            }
+        }
+    }
+
+    /**
+     * Checks that there is an operand per game, each non-negative.
+     *
+     * @param operands the operands
+     * @throws IllegalArgumentException if the operands do not fit the batch
+     */
+    private void checkOperands(final int[] operands) {
+        if (operands.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " operands");
+        }
+        for (int operand : operands) {
+            if (operand < 0) {
+                throw new IllegalArgumentException("Invalid operand " + operand);
+            }
+        }
+    }
+
+    /**
+     * Compares two non-negative values without a branch.
+     *
+     * @param a the first value
+     * @param b the second value
+     * @return 1 if they are equal, 0 otherwise
+     */
+    private static int equal(final int a, final int b) {
+        return ((a ^ b) - 1) >>> SIGN_SHIFT;
+    }
+
+    /**
+     * Chooses between two values without a branch.
+     *
+     * @param a    the value kept when the mask is 0
+     * @param b    the value taken when the mask is -1
+     * @param mask 0 or -1
+     * @return {@code a} or {@code b}
+     */
+    private static int select(final int a, final int b, final int mask) {
+        return a ^ ((a ^ b) & mask);
+    }
+
+    /**
+     * Gets the player owning the row of a slot.
+     *
+     * @param slot the slot
+     * @return the index of the player (0 or 1)
+     */
+    private static int ownerOf(final int slot) {
+        int row = slot / MagicNumbers.ROW_LENGTH;
+        return row == MagicNumbers.BACK_ROW_1_ID || row == MagicNumbers.FRONT_ROW_1_ID ? 1 : 0;
+    }
+
+    /**
+     * Encodes what a hero ability does as bits.
+     *
+     * @param effect the ability, or {@code null}
+     * @return the bits of the ability
+     */
+    private static int effectBits(final HeroEffect effect) {
+        if (effect == HeroEffect.SUB_ZERO) {
+            return FREEZES;
+        } else if (effect == HeroEffect.LOW_BLOW) {
+            return DESTROYS;
+        } else if (effect == HeroEffect.EARTH_BORN) {
+            return BOOSTS_HEALTH;
+        } else if (effect == HeroEffect.BLOOD_THIRST) {
+            return BOOSTS_ATTACK;
+        }
+        return 0;
+    }
+}
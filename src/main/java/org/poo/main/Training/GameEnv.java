@@ -0,0 +1,191 @@
+package org.poo.main.Training;
+
+import org.poo.main.Game;
+import org.poo.main.Opening;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A reinforcement-learning environment over a {@link Game}, in the style of Gym: an
+ * episode is started with {@link #reset(long)} and played with {@link #step(int)}, one
+ * action id of the {@link ActionSpace} at a time, by whichever player is to act.
+ *
+ * <p>After every call the state can be read as an {@link Observation} and a mask of the
+ * legal action ids, both written into arrays given by the caller. Actions are played
+ * with {@code Game.applyMove}, so a step writes no output and creates no JSON objects;
+ * the buffers of the environment are reused from one step to the next.</p>
+ *
+ * <p>Rewards go to the player who acted: 1 for the action that kills the enemy hero, 0
+ * otherwise. The game is zero-sum, so the other player then loses as much. An episode
+ * is terminated when a hero dies and truncated after {@link #MAX_STEPS} actions, since
+ * both players may end their turns forever.</p>
+ */
+public final class GameEnv {
+    public static final int MAX_STEPS = 2000;
+    public static final float WIN_REWARD = 1;
+
+    private final List<Opening> openings;
+    private final Game game;
+    private final boolean[] legal;
+    private final int[] legalIds;
+    private int[] moves;
+    private int legalCount;
+    private int steps;
+
+    /**
+     * Constructs a {@code GameEnv}. It has to be reset before the first step.
+     *
+     * @param openings the decks and heroes the episodes are dealt from
+     * @throws IllegalArgumentException if there is no opening
+     */
+    public GameEnv(final List<Opening> openings) {
+        if (openings.isEmpty()) {
+            throw new IllegalArgumentException("No game to deal from");
+        }
+        this.openings = List.copyOf(openings);
+        this.game = new Game();
+        this.legal = new boolean[ActionSpace.SIZE];
+        this.legalIds = new int[ActionSpace.SIZE];
+        this.moves = new int[0];
+    }
+
+    /**
+     * Starts a new episode. The seed picks the opening, the shuffle of the decks and the
+     * player to act first, so equal seeds start equal episodes.
+     *
+     * @param seed the seed of the episode
+     */
+    public void reset(final long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Opening opening = openings.get(random.nextInt(openings.size()));
+        int shuffleSeed = random.nextInt();
+        opening.deal(game, shuffleSeed, 1 + random.nextInt(2));
+        steps = 0;
+        refreshLegal();
+    }
+
+    /**
+     * Plays an action of the player to act.
+     *
+     * @param actionId the action id, which must be legal
+     * @return the reward of the player who acted
+     * @throws IllegalStateException    if the episode is over
+     * @throws IllegalArgumentException if the action is not legal
+     */
+    public float step(final int actionId) {
+        if (isDone()) {
+            throw new IllegalStateException("The episode is over");
+        }
+        if (actionId < 0 || actionId >= ActionSpace.SIZE || !legal[actionId]) {
+            throw new IllegalArgumentException("Illegal action: " + actionId);
+        }
+        int actor = game.getCurrentPlayer();
+        game.applyMove(ActionSpace.toMove(actionId));
+        steps++;
+        refreshLegal();
+        return game.getWinner() == actor ? WIN_REWARD : 0;
+    }
+
+    /**
+     * Writes the observation of the player to act.
+     *
+     * @param out    the array the observation is written to
+     * @param offset the index of the first of its {@link Observation#SIZE} floats
+     */
+    public void observe(final float[] out, final int offset) {
+        Observation.write(game, out, offset);
+    }
+
+    /**
+     * Writes the mask of the legal actions of the player to act.
+     *
+     * @param out    the array the mask is written to
+     * @param offset the index of the first of its {@link ActionSpace#SIZE} flags
+     */
+    public void legalActions(final boolean[] out, final int offset) {
+        System.arraycopy(legal, 0, out, offset, ActionSpace.SIZE);
+    }
+
+    /**
+     * Checks if the episode ended with a hero dying.
+     *
+     * @return {@code true} if the game has a winner; {@code false} otherwise
+     */
+    public boolean isTerminated() {
+        return game.getWinner() != -1;
+    }
+
+    /**
+     * Checks if the episode was cut off after {@link #MAX_STEPS} actions.
+     *
+     * @return {@code true} if the episode is over without a winner; {@code false}
+     *         otherwise
+     */
+    public boolean isTruncated() {
+        return steps >= MAX_STEPS && !isTerminated();
+    }
+
+    /**
+     * Checks if the episode is over, either way.
+     *
+     * @return {@code true} if no more steps can be played; {@code false} otherwise
+     */
+    public boolean isDone() {
+        return isTerminated() || steps >= MAX_STEPS;
+    }
+
+    /**
+     * Gets the player to act.
+     *
+     * @return the current player (0 or 1)
+     */
+    public int getCurrentPlayer() {
+        return game.getCurrentPlayer();
+    }
+
+    /**
+     * Gets the winner of the episode.
+     *
+     * @return the winner (0 or 1), or -1 if both heroes are alive
+     */
+    public int getWinner() {
+        return game.getWinner();
+    }
+
+    /**
+     * Gets the number of actions played in the episode.
+     *
+     * @return the steps
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /**
+     * Lists the legal moves of the player to act and marks their action ids. Moves that
+     * have no action id, placing a card beyond the first hand slots, are left out.
+     */
+    private void refreshLegal() {
+        for (int i = 0; i < legalCount; i++) {
+            legal[legalIds[i]] = false;
+        }
+        legalCount = 0;
+        if (game.getWinner() != -1) {
+            return;
+        }
+
+        int capacity = game.getMoveCapacity();
+        if (moves.length < capacity) {
+            moves = new int[2 * capacity];
+        }
+        int count = game.generateMoves(moves);
+        for (int i = 0; i < count; i++) {
+            int actionId = ActionSpace.toActionId(moves[i]);
+            if (actionId != -1) {
+                legal[actionId] = true;
+                legalIds[legalCount++] = actionId;
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.poo.main.Training;
+
+import org.poo.main.Cards.Hero;
+import org.poo.main.Cards.MagicNumbers;
+import org.poo.main.Cards.Minion;
+import org.poo.main.Game;
+import org.poo.main.GameMechanics.Board;
+import org.poo.main.GameMechanics.Player;
+
+import java.util.List;
+
+/**
+ * Writes what the player to act can see of a game as {@link #SIZE} floats, always in the
+ * same layout, so a policy can read it as a fixed input.
+ *
+ * <p>The layout is: the player to act and the round; for each player, the index of the
+ * hero, its health, whether its ability was used this turn, the mana, the cards in hand
+ * and the cards in the deck; the first {@link ActionSpace#HAND_SLOTS} cards in the hand of
+ * the player to act, as their index plus one, mana cost, attack and health; and the 20
+ * board slots, in the coordinates of the game, as the index of the card plus one, its
+ * attack, its health and whether it is frozen, has attacked or is a tank. Empty hand
+ * slots and board slots are all zeros. The hand of the other player is hidden: only its
+ * size is written.</p>
+ *
+ * <p>Cards are written as their {@link org.poo.main.Cards.CardCatalog} index, not their
+ * definition id: ids depend on the order cards are first seen, which differs between
+ * runs and thread counts, while the index is the same for a card in every run.</p>
+ */
+public final class Observation {
+    private static final int HEADER_SIZE = 2;
+    private static final int PLAYER_SIZE = 6;
+    private static final int HAND_CARD_SIZE = 4;
+    private static final int BOARD_CARD_SIZE = 6;
+
+    public static final int SIZE = HEADER_SIZE + 2 * PLAYER_SIZE
+            + ActionSpace.HAND_SLOTS * HAND_CARD_SIZE + ActionSpace.SLOTS * BOARD_CARD_SIZE;
+
+    private Observation() {
+        throw new UnsupportedOperationException("This class is static");
+    }
+
+    /**
+     * Writes the observation of the player to act.
+     *
+     * @param game   the game
+     * @param out    the array the observation is written to
+     * @param offset the index of the first float to write
+     */
+    public static void write(final Game game, final float[] out, final int offset) {
+        int i = offset;
+        int toMove = game.getCurrentPlayer();
+        out[i++] = toMove;
+        out[i++] = game.getRound();
+        for (int playerIdx = 0; playerIdx < 2; playerIdx++) {
+            Player player = game.getPlayer(playerIdx);
+            Hero hero = player.getHeroNormal();
+            out[i++] = hero.getDefinition().getCatalogIndex();
+            out[i++] = hero.getHealthPoints();
+            out[i++] = hero.hasAttacked() ? 1 : 0;
+            out[i++] = player.getMana();
+            out[i++] = player.getHand().size();
+            out[i++] = player.getDeck().size();
+        }
+
+        List<Minion> hand = game.getPlayer(toMove).getHand();
+        for (int handIdx = 0; handIdx < ActionSpace.HAND_SLOTS; handIdx++) {
+            if (handIdx < hand.size()) {
+                Minion card = hand.get(handIdx);
+                out[i++] = card.getDefinition().getCatalogIndex() + 1;
+                out[i++] = card.getManaCost();
+                out[i++] = card.getAttackDamage();
+                out[i++] = card.getHealthPoints();
+            } else {
+                for (int k = 0; k < HAND_CARD_SIZE; k++) {
+                    out[i++] = 0;
+                }
+            }
+        }
+
+        Board board = game.getBoard();
+        for (int x = 0; x < MagicNumbers.TABLE_ROWS; x++) {
+            for (int y = 0; y < MagicNumbers.ROW_LENGTH; y++) {
+                Minion card = board.getCardFromRow(x, y);
+                if (card != null) {
+                    out[i++] = card.getDefinition().getCatalogIndex() + 1;
+                    out[i++] = card.getAttackDamage();
+                    out[i++] = card.getHealthPoints();
+                    out[i++] = card.isFrozen() ? 1 : 0;
+                    out[i++] = card.hasAttacked() ? 1 : 0;
+                    out[i++] = card.getTank() ? 1 : 0;
+                } else {
+                    for (int k = 0; k < BOARD_CARD_SIZE; k++) {
+                        out[i++] = 0;
+                    }
+                }
+            }
+        }
+    }
+}
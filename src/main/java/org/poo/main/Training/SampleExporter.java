@@ -0,0 +1,191 @@
+package org.poo.main.Training;
+
+import org.poo.checker.CheckerConstants;
+import org.poo.main.Opening;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Exports (state, action, outcome) samples for offline learning. Episodes of a
+ * {@link GameEnv} are played in parallel with random legal actions, and every step is
+ * written with a {@link SampleWriter}: each thread writes a shard of its own,
+ * {@code shard-<thread>.samples}, so the threads never wait for each other.
+ *
+ * <p>Episode {@code i} is reset with the seed plus {@code i} and picks its actions from a
+ * generator seeded the same way, so an episode is the same whichever shard it lands in.
+ * When it ends, the outcome of each of its records is set from the side of the player of
+ * the record.</p>
+ */
+public final class SampleExporter implements AutoCloseable {
+    public static final int DEFAULT_EPISODES = 1000;
+
+    private static final String SHARD_PREFIX = "shard-";
+    private static final String SHARD_SUFFIX = ".samples";
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final int threads;
+    private final List<Opening> openings;
+    private final ExecutorService pool;
+
+    /**
+     * Constructs a {@code SampleExporter}.
+     *
+     * @param threads  the number of threads playing episodes, and of shards
+     * @param openings the decks and heroes the episodes are dealt from
+     * @throws IllegalArgumentException if there is no thread or no opening
+     */
+    public SampleExporter(final int threads, final List<Opening> openings) {
+        if (threads < 1 || openings.isEmpty()) {
+            throw new IllegalArgumentException("Invalid exporter configuration");
+        }
+        this.threads = threads;
+        this.openings = List.copyOf(openings);
+        this.pool = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Entry point for the exporter.
+     * Usage: {@code SampleExporter [outputDir] [episodes] [threads] [seed]}. The episodes
+     * are dealt from the inputs of the tests directory. The defaults are the current
+     * directory, 1000 episodes, a thread per processor and seed 0.
+     *
+     * @param args from command line
+     * @throws IOException in case of exceptions to reading or writing
+     */
+    public static void main(final String[] args) throws IOException {
+        Path directory = Path.of(args.length > 0 ? args[0] : ".");
+        int episodes = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_EPISODES;
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+
+        List<Opening> openings = Opening.fromDirectory(new File(CheckerConstants.TESTS_PATH));
+        long start = System.nanoTime();
+        long samples;
+        try (SampleExporter exporter = new SampleExporter(threads, openings)) {
+            samples = exporter.export(directory, episodes, seed);
+        }
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        System.out.printf("Exported %d samples from %d episodes to %d shards (%.0f samples/s)%n",
+                samples, episodes, threads, seconds == 0 ? 0 : samples / seconds);
+    }
+
+    /**
+     * Plays episodes and writes their samples to the shards of a directory, replacing
+     * them.
+     *
+     * @param directory the directory of the shards, created if missing
+     * @param episodes  the number of episodes
+     * @param seed      the seed of the first episode
+     * @return the number of samples written
+     * @throws IOException in case of exceptions to writing
+     */
+    public long export(final Path directory, final int episodes, final long seed)
+            throws IOException {
+        Files.createDirectories(directory);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            Path shard = directory.resolve(SHARD_PREFIX + t + SHARD_SUFFIX);
+            results.add(pool.submit(() -> exportShard(shard, first, episodes, seed)));
+        }
+        long samples = 0;
+        for (Future<Long> result : results) {
+            samples += await(result);
+        }
+        return samples;
+    }
+
+    /**
+     * Stops the threads of the exporter.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Plays every n-th episode and writes its samples to a shard.
+     *
+     * @param shard    the path of the shard
+     * @param first    the index of the first episode of the shard
+     * @param episodes the number of episodes of the whole export
+     * @param seed     the seed of episode 0
+     * @return the number of samples written
+     */
+    private long exportShard(final Path shard, final int first, final int episodes,
+                             final long seed) {
+        GameEnv env = new GameEnv(openings);
+        float[] observation = new float[Observation.SIZE];
+        boolean[] mask = new boolean[ActionSpace.SIZE];
+        int[] legal = new int[ActionSpace.SIZE];
+        try (SampleWriter writer = new SampleWriter(shard)) {
+            for (int episode = first; episode < episodes; episode += threads) {
+                long episodeSeed = seed + episode;
+                SplittableRandom random = new SplittableRandom(episodeSeed);
+                env.reset(episodeSeed);
+                long firstRecord = writer.size();
+                while (!env.isDone()) {
+                    env.observe(observation, 0);
+                    env.legalActions(mask, 0);
+                    int count = 0;
+                    for (int actionId = 0; actionId < ActionSpace.SIZE; actionId++) {
+                        if (mask[actionId]) {
+                            legal[count++] = actionId;
+                        }
+                    }
+                    int action = legal[random.nextInt(count)];
+                    writer.append(observation, 0, action, env.getCurrentPlayer(),
+                            env.getSteps(), episodeSeed);
+                    env.step(action);
+                }
+
+                int winner = env.getWinner();
+                if (winner != -1) {
+                    for (long record = firstRecord; record < writer.size(); record++) {
+                        writer.setOutcome(record, writer.getPlayer(record) == winner
+                                ? SampleFormat.WIN : SampleFormat.LOSS);
+                    }
+                }
+            }
+            return writer.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Waits for a shard to be written, rethrowing any failure raised while writing it.
+     *
+     * @param future the pending shard
+     * @return the number of samples of the shard
+     * @throws IOException if the shard could not be written
+     */
+    private static long await(final Future<Long> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while exporting", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException ioException) {
+                throw ioException.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.poo.main.Training;
+
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The layout of the sample files written by {@link SampleWriter} and read by
+ * {@link SampleReader}. Everything is little-endian, so the files can be mapped as they
+ * are by numpy and by Java.
+ *
+ * <p>A file starts with a header of {@link #HEADER_SIZE} bytes: the magic
+ * {@code GWSAMPLE}, then as 32-bit integers the format version, the header size, the
+ * record size, the number of observation floats, the number of action ids and the byte
+ * offsets of the action, player, outcome, step and episode fields, then the number of
+ * records as a 64-bit integer. The records follow, one every {@link #RECORD_SIZE} bytes:
+ * the {@link Observation} of the player to act as 32-bit floats, the action id it played,
+ * the player, the outcome for that player (1 won, -1 lost, 0 not finished) and the index
+ * of the step in its episode as 32-bit integers, and the seed of the episode as a 64-bit
+ * integer.</p>
+ *
+ * <p>Version 2 writes the cards of the observations as their stable catalog index, so
+ * the files of every run and thread count agree; version 1 wrote card definition ids,
+ * which depend on the run, and is no longer read.</p>
+ */
+public final class SampleFormat {
+    public static final byte[] MAGIC = "GWSAMPLE".getBytes(StandardCharsets.US_ASCII);
+    public static final int FORMAT_VERSION = 2;
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    public static final int HEADER_SIZE = 64;
+    public static final int OBSERVATION_OFFSET = 0;
+    public static final int ACTION_OFFSET = OBSERVATION_OFFSET + Float.BYTES * Observation.SIZE;
+    public static final int PLAYER_OFFSET = ACTION_OFFSET + Integer.BYTES;
+    public static final int OUTCOME_OFFSET = PLAYER_OFFSET + Integer.BYTES;
+    public static final int STEP_OFFSET = OUTCOME_OFFSET + Integer.BYTES;
+    public static final int EPISODE_OFFSET = STEP_OFFSET + Integer.BYTES;
+    public static final int RECORD_SIZE = EPISODE_OFFSET + Long.BYTES;
+
+    public static final int WIN = 1;
+    public static final int LOSS = -1;
+    public static final int UNFINISHED = 0;
+
+    static final int VERSION_POSITION = 8;
+    static final int HEADER_SIZE_POSITION = 12;
+    static final int RECORD_SIZE_POSITION = 16;
+    static final int OBSERVATION_SIZE_POSITION = 20;
+    static final int ACTION_SPACE_POSITION = 24;
+    static final int FIELD_OFFSETS_POSITION = 28;
+    static final int COUNT_POSITION = 48;
+
+    /**
+     * The number of records mapped at once. Files grow by this many records, and no
+     * mapping gets near the 2 GB limit of a buffer.
+     */
+    static final int CHUNK_RECORDS = 1 << 13;
+
+    private SampleFormat() {
+        throw new UnsupportedOperationException("This class is static");
+    }
+}
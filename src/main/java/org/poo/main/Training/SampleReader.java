@@ -0,0 +1,170 @@
+package org.poo.main.Training;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a file written by {@link SampleWriter}. The records are mapped read-only and read
+ * in place, a chunk of records per mapping, so nothing is copied until a field is asked
+ * for.
+ */
+public final class SampleReader implements Closeable {
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final long count;
+
+    /**
+     * Opens a sample file.
+     *
+     * @param file the path of the file
+     * @throws IOException              in case of exceptions to reading
+     * @throws IllegalArgumentException if the file is not a sample file of this format
+     */
+    public SampleReader(final Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    SampleFormat.HEADER_SIZE);
+            header.order(SampleFormat.ORDER);
+            byte[] magic = new byte[SampleFormat.MAGIC.length];
+            header.get(0, magic);
+            if (!Arrays.equals(magic, SampleFormat.MAGIC)
+                    || header.getInt(SampleFormat.VERSION_POSITION)
+                    != SampleFormat.FORMAT_VERSION
+                    || header.getInt(SampleFormat.RECORD_SIZE_POSITION)
+                    != SampleFormat.RECORD_SIZE) {
+                throw new IllegalArgumentException("Not a sample file of version "
+                        + SampleFormat.FORMAT_VERSION + ": " + file);
+            }
+            count = header.getLong(SampleFormat.COUNT_POSITION);
+
+            int chunkCount = (int) ((count + SampleFormat.CHUNK_RECORDS - 1)
+                    / SampleFormat.CHUNK_RECORDS);
+            chunks = new MappedByteBuffer[chunkCount];
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                long first = (long) chunk * SampleFormat.CHUNK_RECORDS;
+                long records = Math.min(SampleFormat.CHUNK_RECORDS, count - first);
+                chunks[chunk] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        SampleFormat.HEADER_SIZE + first * SampleFormat.RECORD_SIZE,
+                        records * SampleFormat.RECORD_SIZE);
+                chunks[chunk].order(SampleFormat.ORDER);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of records in the file.
+     *
+     * @return the records
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Copies the observation of a record.
+     *
+     * @param index  the index of the record
+     * @param out    the array the {@link Observation#SIZE} floats are copied to
+     * @param offset the index of the first float to write
+     */
+    public void getObservation(final long index, final float[] out, final int offset) {
+        MappedByteBuffer chunk = chunk(index);
+        int base = position(index) + SampleFormat.OBSERVATION_OFFSET;
+        for (int i = 0; i < Observation.SIZE; i++) {
+            out[offset + i] = chunk.getFloat(base + i * Float.BYTES);
+        }
+    }
+
+    /**
+     * Gets the action id of a record.
+     *
+     * @param index the index of the record
+     * @return the action id played
+     */
+    public int getAction(final long index) {
+        return chunk(index).getInt(position(index) + SampleFormat.ACTION_OFFSET);
+    }
+
+    /**
+     * Gets the player of a record.
+     *
+     * @param index the index of the record
+     * @return the player who played the action
+     */
+    public int getPlayer(final long index) {
+        return chunk(index).getInt(position(index) + SampleFormat.PLAYER_OFFSET);
+    }
+
+    /**
+     * Gets the outcome of a record.
+     *
+     * @param index the index of the record
+     * @return the outcome for the player of the record
+     */
+    public int getOutcome(final long index) {
+        return chunk(index).getInt(position(index) + SampleFormat.OUTCOME_OFFSET);
+    }
+
+    /**
+     * Gets the index of the step of a record in its episode.
+     *
+     * @param index the index of the record
+     * @return the step
+     */
+    public int getStep(final long index) {
+        return chunk(index).getInt(position(index) + SampleFormat.STEP_OFFSET);
+    }
+
+    /**
+     * Gets the episode of a record.
+     *
+     * @param index the index of the record
+     * @return the seed of the episode
+     */
+    public long getEpisode(final long index) {
+        return chunk(index).getLong(position(index) + SampleFormat.EPISODE_OFFSET);
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException in case of exceptions to closing
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Finds the mapping holding a record.
+     *
+     * @param index the index of the record
+     * @return the mapping
+     * @throws IndexOutOfBoundsException if there is no such record
+     */
+    private MappedByteBuffer chunk(final long index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("No record " + index);
+        }
+        return chunks[(int) (index / SampleFormat.CHUNK_RECORDS)];
+    }
+
+    /**
+     * Gets the position of a record in its mapping.
+     *
+     * @param index the index of the record
+     * @return the byte position
+     */
+    private static int position(final long index) {
+        return (int) (index % SampleFormat.CHUNK_RECORDS) * SampleFormat.RECORD_SIZE;
+    }
+}
@@ -0,0 +1,169 @@
+package org.poo.main.Training;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends samples to a file in the {@link SampleFormat}, through memory mappings: the file
+ * is mapped a chunk of records at a time and records are written straight into the
+ * mapping, with no stream and no object per record. Records already written can still be
+ * changed, so the outcome of an episode is filled in once it ends.
+ *
+ * <p>The record count in the header is updated by {@link #flush()} and {@link #close()};
+ * a file that is not closed reads as holding the records of the last flush. A writer is
+ * not thread safe: parallel simulations write one file each.</p>
+ */
+public final class SampleWriter implements Closeable {
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> chunks;
+    private long count;
+
+    /**
+     * Creates a sample file, replacing any file at the path.
+     *
+     * @param file the path of the file
+     * @throws IOException in case of exceptions to writing
+     */
+    public SampleWriter(final Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, SampleFormat.HEADER_SIZE);
+        header.order(SampleFormat.ORDER);
+        header.put(0, SampleFormat.MAGIC);
+        header.putInt(SampleFormat.VERSION_POSITION, SampleFormat.FORMAT_VERSION);
+        header.putInt(SampleFormat.HEADER_SIZE_POSITION, SampleFormat.HEADER_SIZE);
+        header.putInt(SampleFormat.RECORD_SIZE_POSITION, SampleFormat.RECORD_SIZE);
+        header.putInt(SampleFormat.OBSERVATION_SIZE_POSITION, Observation.SIZE);
+        header.putInt(SampleFormat.ACTION_SPACE_POSITION, ActionSpace.SIZE);
+        int position = SampleFormat.FIELD_OFFSETS_POSITION;
+        for (int offset : new int[] {SampleFormat.ACTION_OFFSET, SampleFormat.PLAYER_OFFSET,
+                SampleFormat.OUTCOME_OFFSET, SampleFormat.STEP_OFFSET,
+                SampleFormat.EPISODE_OFFSET}) {
+            header.putInt(position, offset);
+            position += Integer.BYTES;
+        }
+        header.putLong(SampleFormat.COUNT_POSITION, 0);
+        chunks = new ArrayList<>();
+    }
+
+    /**
+     * Appends a sample, with an {@link SampleFormat#UNFINISHED} outcome.
+     *
+     * @param observation the array holding the observation
+     * @param offset      the index of its first float
+     * @param action      the action id played
+     * @param player      the player who played it
+     * @param step        the index of the step in its episode
+     * @param episode     the seed of the episode
+     * @return the index of the record
+     * @throws IOException in case of exceptions to growing the file
+     */
+    public long append(final float[] observation, final int offset, final int action,
+                       final int player, final int step, final long episode)
+            throws IOException {
+        long index = count;
+        int chunk = (int) (index / SampleFormat.CHUNK_RECORDS);
+        if (chunk == chunks.size()) {
+            long start = SampleFormat.HEADER_SIZE
+                    + (long) chunk * SampleFormat.CHUNK_RECORDS * SampleFormat.RECORD_SIZE;
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, start,
+                    (long) SampleFormat.CHUNK_RECORDS * SampleFormat.RECORD_SIZE);
+            mapping.order(SampleFormat.ORDER);
+            chunks.add(mapping);
+        }
+
+        MappedByteBuffer mapping = chunks.get(chunk);
+        int base = recordPosition(index);
+        for (int i = 0; i < Observation.SIZE; i++) {
+            mapping.putFloat(base + SampleFormat.OBSERVATION_OFFSET + i * Float.BYTES,
+                    observation[offset + i]);
+        }
+        mapping.putInt(base + SampleFormat.ACTION_OFFSET, action);
+        mapping.putInt(base + SampleFormat.PLAYER_OFFSET, player);
+        mapping.putInt(base + SampleFormat.OUTCOME_OFFSET, SampleFormat.UNFINISHED);
+        mapping.putInt(base + SampleFormat.STEP_OFFSET, step);
+        mapping.putLong(base + SampleFormat.EPISODE_OFFSET, episode);
+        count++;
+        return index;
+    }
+
+    /**
+     * Sets the outcome of a record already written.
+     *
+     * @param index   the index of the record
+     * @param outcome {@link SampleFormat#WIN}, {@link SampleFormat#LOSS} or
+     *                {@link SampleFormat#UNFINISHED}
+     * @throws IndexOutOfBoundsException if there is no such record
+     */
+    public void setOutcome(final long index, final int outcome) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("No record " + index);
+        }
+        chunks.get((int) (index / SampleFormat.CHUNK_RECORDS))
+                .putInt(recordPosition(index) + SampleFormat.OUTCOME_OFFSET, outcome);
+    }
+
+    /**
+     * Gets the player of a record already written.
+     *
+     * @param index the index of the record
+     * @return the player
+     * @throws IndexOutOfBoundsException if there is no such record
+     */
+    public int getPlayer(final long index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("No record " + index);
+        }
+        return chunks.get((int) (index / SampleFormat.CHUNK_RECORDS))
+                .getInt(recordPosition(index) + SampleFormat.PLAYER_OFFSET);
+    }
+
+    /**
+     * Gets the number of records written.
+     *
+     * @return the records
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Writes the record count to the header and the mapped pages to the disk.
+     */
+    public void flush() {
+        header.putLong(SampleFormat.COUNT_POSITION, count);
+        for (MappedByteBuffer mapping : chunks) {
+            mapping.force();
+        }
+        header.force();
+    }
+
+    /**
+     * Flushes the file and closes it. The file keeps the size of its last chunk; the
+     * record count tells how many records are valid.
+     *
+     * @throws IOException in case of exceptions to closing
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    /**
+     * Gets the position of a record in its chunk.
+     *
+     * @param index the index of the record
+     * @return the byte position
+     */
+    private static int recordPosition(final long index) {
+        return (int) (index % SampleFormat.CHUNK_RECORDS) * SampleFormat.RECORD_SIZE;
+    }
+}
@@ -0,0 +1,245 @@
+package org.poo.main.Training;
+
+import org.poo.main.Opening;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Steps many {@link GameEnv}s at once, split between the threads of a pool, so a policy
+ * can act on a whole batch per call.
+ *
+ * <p>The results of a call are written into flat arrays owned by the vector, one block per
+ * environment: {@link Observation#SIZE} floats of observation, {@link ActionSpace#SIZE}
+ * flags of legal actions, and a reward and the end flags. The arrays are overwritten by
+ * every call, so nothing is allocated per environment.</p>
+ *
+ * <p>An environment whose episode ends is reset in the same step: its reward and end
+ * flags belong to the episode that ended, its observation and mask to the next one. The
+ * episodes of environment {@code i} are seeded from the seed of the vector, {@code i} and
+ * the number of episodes it played, and the {@link Observation}s encode cards by their
+ * catalog index rather than their run-dependent id, so the results do not depend on the
+ * threads.</p>
+ */
+public final class VectorEnv implements AutoCloseable {
+    private final GameEnv[] envs;
+    private final long[] episodes;
+    private final long seed;
+    private final int threads;
+    private final ExecutorService pool;
+
+    private final float[] observations;
+    private final boolean[] actionMasks;
+    private final float[] rewards;
+    private final boolean[] terminated;
+    private final boolean[] truncated;
+    private final int[] currentPlayers;
+
+    /**
+     * Constructs a {@code VectorEnv} and resets all of its environments.
+     *
+     * @param size     the number of environments
+     * @param threads  the number of threads stepping them
+     * @param openings the decks and heroes the episodes are dealt from
+     * @param seed     the seed of the episodes
+     * @throws IllegalArgumentException if the size or the thread count is not positive, or
+     *                                  there is no opening
+     */
+    public VectorEnv(final int size, final int threads, final List<Opening> openings,
+                     final long seed) {
+        if (size < 1 || threads < 1) {
+            throw new IllegalArgumentException("Invalid vector configuration");
+        }
+        this.envs = new GameEnv[size];
+        for (int i = 0; i < size; i++) {
+            envs[i] = new GameEnv(openings);
+        }
+        this.episodes = new long[size];
+        this.seed = seed;
+        this.threads = Math.min(threads, size);
+        this.pool = Executors.newFixedThreadPool(this.threads);
+
+        this.observations = new float[size * Observation.SIZE];
+        this.actionMasks = new boolean[size * ActionSpace.SIZE];
+        this.rewards = new float[size];
+        this.terminated = new boolean[size];
+        this.truncated = new boolean[size];
+        this.currentPlayers = new int[size];
+        reset();
+    }
+
+    /**
+     * Starts a new episode in every environment.
+     */
+    public void reset() {
+        run(null);
+    }
+
+    /**
+     * Plays an action in every environment, resetting those whose episode ends.
+     *
+     * @param actions one legal action id per environment
+     * @throws IllegalArgumentException if there is not one action per environment, or an
+     *                                  action is not legal
+     */
+    public void step(final int[] actions) {
+        if (actions.length != envs.length) {
+            throw new IllegalArgumentException("Expected " + envs.length + " actions");
+        }
+        run(actions);
+    }
+
+    /**
+     * Gets the number of environments.
+     *
+     * @return the size of the vector
+     */
+    public int size() {
+        return envs.length;
+    }
+
+    /**
+     * Gets the observations of the players to act, {@link Observation#SIZE} floats per
+     * environment. The array is overwritten by the next call.
+     *
+     * @return the observations
+     */
+    public float[] getObservations() {
+        return observations;
+    }
+
+    /**
+     * Gets the masks of the legal actions, {@link ActionSpace#SIZE} flags per environment.
+     * The array is overwritten by the next call.
+     *
+     * @return the action masks
+     */
+    public boolean[] getActionMasks() {
+        return actionMasks;
+    }
+
+    /**
+     * Gets the reward of the player who acted in each environment at the last step.
+     *
+     * @return the rewards
+     */
+    public float[] getRewards() {
+        return rewards;
+    }
+
+    /**
+     * Gets, for each environment, whether the last step ended its episode with a winner.
+     *
+     * @return the terminated flags
+     */
+    public boolean[] getTerminated() {
+        return terminated;
+    }
+
+    /**
+     * Gets, for each environment, whether the last step cut its episode off.
+     *
+     * @return the truncated flags
+     */
+    public boolean[] getTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Gets the player to act in each environment.
+     *
+     * @return the current players (0 or 1)
+     */
+    public int[] getCurrentPlayers() {
+        return currentPlayers;
+    }
+
+    /**
+     * Stops the threads of the vector.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Steps or resets every environment, each thread taking a contiguous range.
+     *
+     * @param actions the action of each environment, or {@code null} to reset them all
+     */
+    private void run(final int[] actions) {
+        int chunk = (envs.length + threads - 1) / threads;
+        List<Future<?>> results = new ArrayList<>(threads);
+        for (int first = 0; first < envs.length; first += chunk) {
+            int from = first;
+            int to = Math.min(envs.length, first + chunk);
+            results.add(pool.submit(() -> run(actions, from, to)));
+        }
+        for (Future<?> result : results) {
+            await(result);
+        }
+    }
+
+    /**
+     * Steps or resets a range of environments and writes their results.
+     *
+     * @param actions the action of each environment, or {@code null} to reset them
+     * @param from    the first environment
+     * @param to      the environment after the last
+     */
+    private void run(final int[] actions, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            GameEnv env = envs[i];
+            if (actions == null) {
+                rewards[i] = 0;
+                terminated[i] = false;
+                truncated[i] = false;
+                env.reset(episodeSeed(i));
+            } else {
+                rewards[i] = env.step(actions[i]);
+                terminated[i] = env.isTerminated();
+                truncated[i] = env.isTruncated();
+                if (env.isDone()) {
+                    episodes[i]++;
+                    env.reset(episodeSeed(i));
+                }
+            }
+            env.observe(observations, i * Observation.SIZE);
+            env.legalActions(actionMasks, i * ActionSpace.SIZE);
+            currentPlayers[i] = env.getCurrentPlayer();
+        }
+    }
+
+    /**
+     * Gets the seed of the current episode of an environment.
+     *
+     * @param envIdx the index of the environment
+     * @return the seed
+     */
+    private long episodeSeed(final int envIdx) {
+        return seed + episodes[envIdx] * envs.length + envIdx;
+    }
+
+    /**
+     * Waits for a thread to finish its range, rethrowing any failure raised in it.
+     *
+     * @param future the pending range
+     */
+    private static void await(final Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stepping", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}